@@ -0,0 +1,246 @@
+package cloud.alchemy.fabut;
+
+import cloud.alchemy.fabut.snapshot.ValueReader;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Get method, set method and constructor accessors generated with {@link LambdaMetafactory}, cached per class.
+ * A generated accessor calls its method directly, so the JIT can inline it where {@link Method#invoke} cannot.
+ * Methods that cannot be bound this way, e.g. because their class is not open to Fabut, are called through
+ * reflection instead. Fields have no method to bind and are written through method handles.
+ * <p>
+ * Accessors throw whatever the called method throws, unwrapped. {@link #get}, {@link #set} and
+ * {@link #newInstance} wrap it in an {@link InvocationTargetException}, as reflection does.
+ * </p>
+ */
+final class Accessors {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType FIELD_WRITER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final ClassValue<ClassAccessors> CLASS_ACCESSORS = new ClassValue<>() {
+        @Override
+        protected ClassAccessors computeValue(final Class<?> type) {
+            return new ClassAccessors();
+        }
+    };
+
+    private Accessors() {
+        // Utility class should not be instantiated
+    }
+
+    /**
+     * @param method get method
+     * @return function calling the get method on its argument
+     */
+    static Function<Object, Object> getter(final Method method) {
+        return CLASS_ACCESSORS.get(method.getDeclaringClass()).getters.computeIfAbsent(method, Accessors::createGetter);
+    }
+
+    /**
+     * @param method get method
+     * @return reader calling the get method through its generated accessor, failing like {@link #get} does
+     */
+    static ValueReader reader(final Method method) {
+        final Function<Object, Object> getter = getter(method);
+        return target -> get(getter, target);
+    }
+
+    /**
+     * Looks up a method handle with the same access the generated accessors have.
+     *
+     * @param method method to look up
+     * @return direct method handle of the method
+     * @throws IllegalAccessException if the method is not accessible to Fabut
+     */
+    static MethodHandle unreflect(final Method method) throws IllegalAccessException {
+        try {
+            return MethodHandles.privateLookupIn(method.getDeclaringClass(), LOOKUP).unreflect(method);
+        } catch (final IllegalAccessException e) {
+            // the class is not open to Fabut; public methods of exported packages are still accessible
+            return LOOKUP.unreflect(method);
+        }
+    }
+
+    /**
+     * @param method set method
+     * @return consumer calling the set method on its first argument with the second one
+     */
+    static BiConsumer<Object, Object> setter(final Method method) {
+        return CLASS_ACCESSORS.get(method.getDeclaringClass()).setters.computeIfAbsent(method, Accessors::createSetter);
+    }
+
+    /**
+     * @param field field to write, already made accessible if it is not public
+     * @return consumer storing its second argument into the field of its first one
+     */
+    static BiConsumer<Object, Object> fieldWriter(final Field field) {
+        return CLASS_ACCESSORS.get(field.getDeclaringClass()).fieldWriters.computeIfAbsent(field, Accessors::createFieldWriter);
+    }
+
+    /**
+     * @param type class to instantiate
+     * @return supplier calling the public no-argument constructor of the class
+     * @throws NoSuchMethodException if the class has no public no-argument constructor
+     */
+    static Supplier<Object> constructor(final Class<?> type) throws NoSuchMethodException {
+        final ClassAccessors accessors = CLASS_ACCESSORS.get(type);
+        Supplier<Object> constructor = accessors.constructor;
+        if (constructor == null) {
+            constructor = createConstructor(type);
+            accessors.constructor = constructor;
+        }
+        return constructor;
+    }
+
+    /**
+     * Calls a getter, failing like {@link Method#invoke(Object, Object...)} does.
+     */
+    static Object get(final Function<Object, Object> getter, final Object target) throws InvocationTargetException {
+        try {
+            return getter.apply(target);
+        } catch (final Throwable e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    /**
+     * Calls a setter or field writer, failing like {@link Method#invoke(Object, Object...)} does.
+     */
+    static void set(final BiConsumer<Object, Object> setter, final Object target, final Object value) throws InvocationTargetException {
+        try {
+            setter.accept(target, value);
+        } catch (final Throwable e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    /**
+     * Calls a constructor, failing like {@link Constructor#newInstance(Object...)} does.
+     */
+    static Object newInstance(final Supplier<Object> constructor) throws InvocationTargetException {
+        try {
+            return constructor.get();
+        } catch (final Throwable e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> createGetter(final Method method) {
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(), LOOKUP);
+            final MethodHandle handle = lookup.unreflect(method);
+            return (Function<Object, Object>) LambdaMetafactory.metafactory(lookup, "apply",
+                    MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class),
+                    handle, handle.type().wrap()).getTarget().invoke();
+        } catch (final Throwable e) {
+            return target -> {
+                try {
+                    return method.invoke(target);
+                } catch (final InvocationTargetException ex) {
+                    throw sneakyThrow(ex.getCause());
+                } catch (final IllegalAccessException ex) {
+                    throw sneakyThrow(ex);
+                }
+            };
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Object, Object> createSetter(final Method method) {
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(), LOOKUP);
+            final MethodHandle handle = lookup.unreflect(method);
+            return (BiConsumer<Object, Object>) LambdaMetafactory.metafactory(lookup, "accept",
+                    MethodType.methodType(BiConsumer.class),
+                    FIELD_WRITER_TYPE,
+                    handle, handle.type().wrap().changeReturnType(void.class)).getTarget().invoke();
+        } catch (final Throwable e) {
+            return (target, value) -> {
+                try {
+                    method.invoke(target, value);
+                } catch (final InvocationTargetException ex) {
+                    throw sneakyThrow(ex.getCause());
+                } catch (final IllegalAccessException ex) {
+                    throw sneakyThrow(ex);
+                }
+            };
+        }
+    }
+
+    private static BiConsumer<Object, Object> createFieldWriter(final Field field) {
+        final MethodHandle handle;
+        try {
+            handle = MethodHandles.privateLookupIn(field.getDeclaringClass(), LOOKUP).unreflectSetter(field).asType(FIELD_WRITER_TYPE);
+        } catch (final IllegalAccessException e) {
+            return (target, value) -> {
+                try {
+                    field.set(target, value);
+                } catch (final IllegalAccessException ex) {
+                    throw sneakyThrow(ex);
+                }
+            };
+        }
+        return (target, value) -> {
+            try {
+                handle.invokeExact(target, value);
+            } catch (final Throwable e) {
+                throw sneakyThrow(e);
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Supplier<Object> createConstructor(final Class<?> type) throws NoSuchMethodException {
+        final Constructor<?> constructor = type.getConstructor();
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, LOOKUP);
+            final MethodHandle handle = lookup.unreflectConstructor(constructor);
+            return (Supplier<Object>) LambdaMetafactory.metafactory(lookup, "get",
+                    MethodType.methodType(Supplier.class),
+                    MethodType.methodType(Object.class),
+                    handle, handle.type()).getTarget().invoke();
+        } catch (final Throwable e) {
+            return () -> {
+                try {
+                    return constructor.newInstance();
+                } catch (final InvocationTargetException ex) {
+                    throw sneakyThrow(ex.getCause());
+                } catch (final ReflectiveOperationException ex) {
+                    throw sneakyThrow(ex);
+                }
+            };
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Throwable> RuntimeException sneakyThrow(final Throwable e) throws T {
+        throw (T) e;
+    }
+
+    /**
+     * Accessors of the methods, fields and constructor declared by one class.
+     */
+    private static final class ClassAccessors {
+        private final Map<Method, Function<Object, Object>> getters = new ConcurrentHashMap<>();
+        private final Map<Method, BiConsumer<Object, Object>> setters = new ConcurrentHashMap<>();
+        private final Map<Field, BiConsumer<Object, Object>> fieldWriters = new ConcurrentHashMap<>();
+        // a racing thread may generate the constructor twice; either one works
+        private volatile Supplier<Object> constructor;
+    }
+}
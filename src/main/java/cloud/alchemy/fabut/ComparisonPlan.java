@@ -0,0 +1,138 @@
+package cloud.alchemy.fabut;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Immutable description of how objects of one class are compared: one slot per get method, in assertion order,
+ * with everything that does not depend on the compared values worked out once.
+ */
+final class ComparisonPlan {
+
+    /**
+     * How a field value is asserted. Known up front only for final declared types and unordered fields;
+     * {@link #DYNAMIC} values are classified by their runtime class.
+     */
+    enum ValueKind { IGNORED, COMPLEX, ENTITY, LIST, UNORDERED, MAP, OPTIONAL, VALUE, DYNAMIC }
+
+    /**
+     * Primitive return type of a get method, read through a method handle of that exact type.
+     */
+    enum Primitive { BOOLEAN, BYTE, SHORT, CHAR, INT, LONG, FLOAT, DOUBLE }
+
+    /**
+     * One get method of the planned class.
+     *
+     * @param fieldName interned field name
+     * @param method the get method
+     * @param getter generated accessor of the get method
+     * @param ignored true if the field is in the ignored fields of the class
+     * @param kind how values of the field are asserted
+     * @param primitive primitive return type, or null if the get method returns an object
+     * @param primitiveGetter the get method adapted to (Object) of its primitive type, or null
+     */
+    record FieldSlot(String fieldName, Method method, Function<Object, Object> getter, boolean ignored, ValueKind kind,
+                     Primitive primitive, MethodHandle primitiveGetter) {
+
+        /**
+         * Compares the field of two objects of the planned class without boxing, with the semantics of
+         * the wrapper's equals. Only for slots with a primitive getter.
+         *
+         * @return true if the values are equal
+         */
+        boolean primitiveEquals(final Object expected, final Object actual) throws InvocationTargetException {
+            final MethodHandle h = primitiveGetter;
+            try {
+                return switch (primitive) {
+                    case BOOLEAN -> (boolean) h.invokeExact(expected) == (boolean) h.invokeExact(actual);
+                    case BYTE -> (byte) h.invokeExact(expected) == (byte) h.invokeExact(actual);
+                    case SHORT -> (short) h.invokeExact(expected) == (short) h.invokeExact(actual);
+                    case CHAR -> (char) h.invokeExact(expected) == (char) h.invokeExact(actual);
+                    case INT -> (int) h.invokeExact(expected) == (int) h.invokeExact(actual);
+                    case LONG -> (long) h.invokeExact(expected) == (long) h.invokeExact(actual);
+                    case FLOAT -> Float.floatToIntBits((float) h.invokeExact(expected)) == Float.floatToIntBits((float) h.invokeExact(actual));
+                    case DOUBLE -> Double.doubleToLongBits((double) h.invokeExact(expected)) == Double.doubleToLongBits((double) h.invokeExact(actual));
+                };
+            } catch (final Throwable e) {
+                throw new InvocationTargetException(e);
+            }
+        }
+
+        /**
+         * Reads the field, failing like {@link Method#invoke(Object, Object...)} does.
+         */
+        Object read(final Object target) throws IllegalAccessException, InvocationTargetException {
+            return Accessors.get(getter, target);
+        }
+    }
+
+    private final FieldSlot[] slots;
+    private final Map<String, FieldSlot> slotsByMethodName;
+
+    ComparisonPlan(final List<FieldSlot> slots) {
+        this.slots = slots.toArray(new FieldSlot[0]);
+        this.slotsByMethodName = new HashMap<>();
+        for (final FieldSlot slot : slots) {
+            slotsByMethodName.put(slot.method().getName(), slot);
+        }
+    }
+
+    /**
+     * Creates the slot of one get method.
+     */
+    static FieldSlot slot(final Method method, final boolean ignored, final ValueKind kind) {
+        final Primitive primitive = primitive(method.getReturnType());
+        MethodHandle primitiveGetter = null;
+        if (primitive != null) {
+            try {
+                primitiveGetter = Accessors.unreflect(method)
+                        .asType(MethodType.methodType(method.getReturnType(), Object.class));
+            } catch (final IllegalAccessException e) {
+                // compared boxed through the getter
+            }
+        }
+        return new FieldSlot(ReflectionUtil.getFieldNameOfGet(method).intern(), method, Accessors.getter(method), ignored, kind,
+                primitiveGetter != null ? primitive : null, primitiveGetter);
+    }
+
+    private static Primitive primitive(final Class<?> type) {
+        if (!type.isPrimitive()) {
+            return null;
+        } else if (type == int.class) {
+            return Primitive.INT;
+        } else if (type == long.class) {
+            return Primitive.LONG;
+        } else if (type == double.class) {
+            return Primitive.DOUBLE;
+        } else if (type == boolean.class) {
+            return Primitive.BOOLEAN;
+        } else if (type == float.class) {
+            return Primitive.FLOAT;
+        } else if (type == short.class) {
+            return Primitive.SHORT;
+        } else if (type == byte.class) {
+            return Primitive.BYTE;
+        } else if (type == char.class) {
+            return Primitive.CHAR;
+        }
+        return null;
+    }
+
+    FieldSlot[] slots() {
+        return slots;
+    }
+
+    /**
+     * @param methodName name of a get method
+     * @return slot of the get method, or null if the class has no such planned method
+     */
+    FieldSlot slot(final String methodName) {
+        return slotsByMethodName.get(methodName);
+    }
+}
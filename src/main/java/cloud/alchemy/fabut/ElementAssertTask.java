@@ -0,0 +1,51 @@
+package cloud.alchemy.fabut;
+
+import java.util.concurrent.RecursiveTask;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Asserts a range of collection elements, splitting it in halves down to a minimum size. Every leaf writes into
+ * a report forked from the parent report, and halves are appended left to right, so the joined report holds
+ * the same entries in the same order as a sequential run.
+ */
+final class ElementAssertTask extends RecursiveTask<FabutReport> {
+
+    private final FabutReport parent;
+    private final ObjIntConsumer<FabutReport> step;
+    private final int from;
+    private final int to;
+    private final int granularity;
+
+    /**
+     * @param parent report the result will be appended to
+     * @param step asserts the element at an index into the given report
+     * @param from first index, inclusive
+     * @param to last index, exclusive
+     * @param granularity largest range asserted without splitting
+     */
+    ElementAssertTask(final FabutReport parent, final ObjIntConsumer<FabutReport> step, final int from, final int to, final int granularity) {
+        this.parent = parent;
+        this.step = step;
+        this.from = from;
+        this.to = to;
+        this.granularity = granularity;
+    }
+
+    @Override
+    protected FabutReport compute() {
+        if (to - from <= granularity) {
+            final FabutReport report = parent.fork();
+            for (int i = from; i < to; i++) {
+                step.accept(report, i);
+            }
+            return report;
+        }
+        final int middle = (from + to) >>> 1;
+        final ElementAssertTask left = new ElementAssertTask(parent, step, from, middle, granularity);
+        left.fork();
+        final FabutReport right = new ElementAssertTask(parent, step, middle, to, granularity).compute();
+        final FabutReport report = left.join();
+        report.append(right);
+        return report;
+    }
+}
@@ -0,0 +1,172 @@
+package cloud.alchemy.fabut;
+
+import cloud.alchemy.fabut.property.ISingleProperty;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Expected properties of one assertion, indexed by path segment. Each instance is a view of the properties
+ * below one path of the trie; taking a property marks it as consumed instead of removing it from a list,
+ * so lookups cost one step per path segment and the property objects are never modified.
+ */
+final class ExpectedProperties {
+
+    private static final ExpectedProperties EMPTY = new ExpectedProperties(null, 0);
+
+    private final Node node;
+    private final int depth;
+
+    private ExpectedProperties(final Node node, final int depth) {
+        this.node = node;
+        this.depth = depth;
+    }
+
+    /**
+     * @param properties expected properties with paths relative to the asserted object, in the order they were passed
+     * @return view of all the properties
+     */
+    static ExpectedProperties of(final List<ISingleProperty> properties) {
+        if (properties.isEmpty()) {
+            return EMPTY;
+        }
+        final Node root = new Node(null);
+        int order = 0;
+        for (final ISingleProperty property : properties) {
+            final String[] segments = property.getPath().split("\\.", -1);
+            Node current = root;
+            for (final String segment : segments) {
+                current = current.child(key(segment), true);
+            }
+            current.entries.add(new Entry(order++, property, segments));
+            for (Node n = current; n != null; n = n.parent) {
+                n.remaining++;
+            }
+        }
+        return new ExpectedProperties(root, 0);
+    }
+
+    static ExpectedProperties empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Takes the next property for the field.
+     *
+     * @param fieldName field of the asserted object
+     * @return the property, or null if there is none left for the field
+     */
+    ISingleProperty take(final String fieldName) {
+        final Node child = child(fieldName);
+        if (child == null || child.taken == child.entries.size()) {
+            return null;
+        }
+        final Entry entry = child.entries.get(child.taken++);
+        for (Node n = child; n != null; n = n.parent) {
+            n.remaining--;
+        }
+        return entry.property();
+    }
+
+    /**
+     * @return true if a property for the field is left
+     */
+    boolean contains(final String fieldName) {
+        final Node child = child(fieldName);
+        return child != null && child.taken < child.entries.size();
+    }
+
+    /**
+     * @return true if properties of the field's own fields are left
+     */
+    boolean hasInner(final String fieldName) {
+        final Node child = child(fieldName);
+        return child != null && child.remaining > child.entries.size() - child.taken;
+    }
+
+    /**
+     * @return view of the properties below the field, with paths relative to the field value
+     */
+    ExpectedProperties inner(final String fieldName) {
+        final Node child = child(fieldName);
+        return child == null ? EMPTY : new ExpectedProperties(child, depth + 1);
+    }
+
+    boolean isEmpty() {
+        return node == null || node.remaining == 0;
+    }
+
+    /**
+     * Takes all properties left in this view.
+     *
+     * @return their paths relative to this view, in the order the properties were passed
+     */
+    List<String> takeRemainingPaths() {
+        if (isEmpty()) {
+            return List.of();
+        }
+        final List<Entry> remaining = new ArrayList<>();
+        collectRemaining(node, remaining);
+        remaining.sort(Comparator.comparingInt(Entry::order));
+        for (Node n = node; n != null; n = n.parent) {
+            n.remaining -= remaining.size();
+        }
+        final List<String> paths = new ArrayList<>(remaining.size());
+        for (final Entry entry : remaining) {
+            final String[] segments = entry.segments();
+            paths.add(String.join(".", List.of(segments).subList(Math.min(depth, segments.length - 1), segments.length)));
+        }
+        return paths;
+    }
+
+    private static void collectRemaining(final Node node, final List<Entry> remaining) {
+        if (node.remaining == 0) {
+            return;
+        }
+        for (int i = node.taken; i < node.entries.size(); i++) {
+            remaining.add(node.entries.get(i));
+        }
+        node.taken = node.entries.size();
+        for (final Node child : node.children.values()) {
+            collectRemaining(child, remaining);
+            child.remaining = 0;
+        }
+    }
+
+    private Node child(final String fieldName) {
+        return node == null ? null : node.child(key(fieldName), false);
+    }
+
+    private static String key(final String segment) {
+        return segment.toLowerCase(Locale.ROOT);
+    }
+
+    private record Entry(int order, ISingleProperty property, String[] segments) {}
+
+    private static final class Node {
+        private final Node parent;
+        private final Map<String, Node> children = new HashMap<>();
+        private final List<Entry> entries = new ArrayList<>(1);
+        // entries before this index are consumed
+        private int taken;
+        // unconsumed entries in this node and below
+        private int remaining;
+
+        private Node(final Node parent) {
+            this.parent = parent;
+        }
+
+        private Node child(final String key, final boolean create) {
+            Node child = children.get(key);
+            if (child == null && create) {
+                child = new Node(this);
+                children.put(key, child);
+            }
+            return child;
+        }
+    }
+}
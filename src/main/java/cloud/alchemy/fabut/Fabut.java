@@ -1,13 +1,30 @@
 package cloud.alchemy.fabut;
 
+import cloud.alchemy.fabut.copy.Copier;
+import cloud.alchemy.fabut.copy.Copiers;
 import cloud.alchemy.fabut.enums.ReferenceCheckType;
+import cloud.alchemy.fabut.enums.SnapshotMode;
 import cloud.alchemy.fabut.graph.NodesList;
 import cloud.alchemy.fabut.pair.SnapshotPair;
 import cloud.alchemy.fabut.property.*;
+import cloud.alchemy.fabut.ComparisonPlan.ValueKind;
+import cloud.alchemy.fabut.FabutMetadata.TypeCategory;
+import cloud.alchemy.fabut.snapshot.AfterStateCache;
+import cloud.alchemy.fabut.snapshot.ColumnarSnapshotStore;
+import cloud.alchemy.fabut.snapshot.EntityFingerprinter;
+import cloud.alchemy.fabut.snapshot.EntityLayout;
+import cloud.alchemy.fabut.snapshot.LazyCopyAssert;
+import cloud.alchemy.fabut.snapshot.OffHeapSnapshotArena;
+import cloud.alchemy.fabut.snapshot.SnapshotBaseline;
+import cloud.alchemy.fabut.snapshot.SnapshotExecutor;
+import cloud.alchemy.fabut.snapshot.SnapshotSource;
+import cloud.alchemy.fabut.snapshot.ValueReader;
+import cloud.alchemy.fabut.tracking.CopyOnWriteTracker;
 import cloud.alchemy.fabut.tracking.TrackedObject;
 import cloud.alchemy.fabut.tracking.UsageInstrumentation;
 import cloud.alchemy.fabut.tracking.UsageReport;
 import cloud.alchemy.fabut.tracking.UsageTracker;
+import org.apache.commons.lang3.ClassUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
@@ -17,10 +34,19 @@ import org.opentest4j.AssertionFailedError;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.temporal.Temporal;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static cloud.alchemy.fabut.ReflectionUtil.*;
 import static cloud.alchemy.fabut.enums.AssertionContext.*;
@@ -39,6 +65,9 @@ public abstract class Fabut extends Assertions {
     private static final ThreadLocal<Fabut> CURRENT = new ThreadLocal<>();
 
     private final Set<Object> pendingBuilders = Collections.newSetFromMap(new IdentityHashMap<>());
+    // Entities of pending updated()/deleted() builders, loaded together on the first verify()
+    private final Map<Object, Object> pendingAfterStateEntities = new IdentityHashMap<>();
+    private final AfterStateCache afterStateCache = new AfterStateCache();
 
     /**
      * Get the current Fabut instance for this thread.
@@ -58,8 +87,23 @@ public abstract class Fabut extends Assertions {
         pendingBuilders.add(builder);
     }
 
+    /**
+     * Registers a builder that will assert the given entity against the repository. The after state of all
+     * such entities is loaded with one {@link #findByIds(Class, Collection)} call per type when the first of them is verified.
+     *
+     * @param builder the assertion builder
+     * @param entity entity asserted with snapshot or as deleted, or null for created objects
+     */
+    public void registerPendingVerification(Object builder, Object entity) {
+        pendingBuilders.add(builder);
+        if (entity != null) {
+            pendingAfterStateEntities.put(builder, entity);
+        }
+    }
+
     public void markVerified(Object builder) {
         pendingBuilders.remove(builder);
+        pendingAfterStateEntities.remove(builder);
     }
 
     protected final Queue<Class<?>> entityTypes = new ConcurrentLinkedQueue<>();
@@ -68,6 +112,35 @@ public abstract class Fabut extends Assertions {
     protected final Queue<Class<?>> trackedTypes = new ConcurrentLinkedQueue<>();
     protected final Map<Class<?>, List<String>> ignoredFields = new ConcurrentHashMap<>();
 
+    /**
+     * Collection fields per type whose elements are compared regardless of order. Elements are joined
+     * by {@link #collectionElementKey(Object)}, and missing, extra and changed elements are reported one by one.
+     *
+     * Example:
+     * <pre>
+     * unorderedFields.put(Order.class, List.of("lines"));
+     * </pre>
+     */
+    protected final Map<Class<?>, List<String>> unorderedFields = new ConcurrentHashMap<>();
+
+    /**
+     * Element types whose lists and sets are always compared regardless of order, wherever they appear.
+     */
+    protected final Queue<Class<?>> unorderedTypes = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Fields per entity type that change whenever the entity changes, such as a version or updatedAt.
+     * A snapshot entity whose change marker values are all equal and non-null in the after state
+     * is not compared field by field. A timestamp as the first marker also enables
+     * {@link #findChangedSince(Class, Object)}.
+     *
+     * Example:
+     * <pre>
+     * changeMarkerFields.put(Order.class, List.of("version"));
+     * </pre>
+     */
+    protected final Map<Class<?>, List<String>> changeMarkerFields = new ConcurrentHashMap<>();
+
     /**
      * Minimum usage threshold percentage (0-100). When set to a value > 0,
      * tests will fail if any tracked class has average field usage below this threshold.
@@ -87,7 +160,63 @@ public abstract class Fabut extends Assertions {
      */
     protected boolean trackUsage = true;
 
+    /**
+     * Controls whether explicitly asserted fields that still have their expected (snapshot) value
+     * are reported as UNNECESSARY ASSERT. Default is true.
+     *
+     * Set in constructor: {@code checkRedundantAsserts = false;} to skip the check, e.g. for bulk or performance runs.
+     */
+    protected boolean checkRedundantAsserts = true;
+
+    /**
+     * Controls how takeSnapshot() captures entity types. {@link SnapshotMode#EAGER} copies every
+     * entity up front. {@link SnapshotMode#COPY_ON_WRITE} instruments entity setters and copies an
+     * entity only before its first setter call, so snapshot cost scales with the rows a test touches.
+     * Writes that bypass setters on the snapshotted instances are not seen in copy-on-write mode.
+     * {@link SnapshotMode#FINGERPRINT} keeps a 64-bit fingerprint and encoded field values per entity
+     * and builds a full copy only for entities whose fingerprint changed.
+     * {@link SnapshotMode#COLUMNAR} stores each entity type column by column in primitive and
+     * dictionary-encoded arrays.
+     * {@link SnapshotMode#OFF_HEAP} works like FINGERPRINT but keeps the encoded values in native memory
+     * that is released in after().
+     * Default is EAGER.
+     *
+     * Set in constructor: {@code snapshotMode = SnapshotMode.COPY_ON_WRITE;}
+     */
+    protected SnapshotMode snapshotMode = SnapshotMode.EAGER;
+
+    /**
+     * Runs the snapshot of the registered entity types. The default fetches and copies them one after another
+     * on the test thread, so findAll and snapshotSource see state bound to it (e.g. a thread-bound transaction
+     * or a Spring {@code @Transactional} test). If they do not depend on such state, use
+     * {@link SnapshotExecutor#virtualThreads()} to fetch and copy every entity type on its own virtual thread.
+     *
+     * Set in constructor: {@code snapshotExecutor = SnapshotExecutor.virtualThreads();}
+     */
+    protected SnapshotExecutor snapshotExecutor = SnapshotExecutor.callerThread();
+
+    /**
+     * Fork/join pool for asserting the elements of large lists and collections in parallel. Elements are split
+     * into tasks that write into reports of their own, which are joined back in element order, so the report
+     * reads the same as in sequential mode. Used only for collections with at least
+     * {@link #parallelAssertionThreshold} elements, no expected properties for their elements and no entity
+     * elements, and only if customAssertEquals and refreshIfProxy are not overridden. Leave it null when
+     * lazy-loaded values of the elements need a session bound to the test thread.
+     * Default is null (sequential).
+     *
+     * Set in constructor: {@code assertionPool = ForkJoinPool.commonPool();}
+     */
+    protected ForkJoinPool assertionPool;
+
+    /**
+     * Minimum number of collection elements for a parallel assertion on {@link #assertionPool}.
+     */
+    protected int parallelAssertionThreshold = 1000;
+
     private UsageTracker usageTracker;
+    private CopyOnWriteTracker copyOnWriteTracker;
+    private final List<Object> copyOnWriteFailures = Collections.synchronizedList(new ArrayList<>());
+    private OffHeapSnapshotArena offHeapArena;
 
     /**
      * Returns the current usage tracker instance. Available after @BeforeEach.
@@ -132,18 +261,91 @@ public abstract class Fabut extends Assertions {
         return true;
     }
     private final Map<Class<?>, Map<Object, CopyAssert>> dbSnapshot = Collections.synchronizedMap(new LinkedHashMap<>());
+    // Latest shared baseline of the most recently used test classes, see snapshotBaselineKey(); guarded by itself
+    private static final int MAX_SNAPSHOT_BASELINES = 4;
+    private static final Map<Class<?>, SnapshotBaseline> snapshotBaselines = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Class<?>, SnapshotBaseline> eldest) {
+            return size() > MAX_SNAPSHOT_BASELINES;
+        }
+    };
     final List<SnapshotPair> parameterSnapshot = new ArrayList<>();
 
     // Performance caches
-    private enum TypeCategory { ENTITY, COMPLEX, IGNORED }
-    private final Map<Class<?>, EnumSet<TypeCategory>> typeCategoriesCache = new ConcurrentHashMap<>();
-    private final Map<Class<?>, List<Method>> sortedMethodsCache = new ConcurrentHashMap<>();
-    private final Map<String, String> upperUnderscoredCache = new ConcurrentHashMap<>();
+    // shared with every instance of the same type registration, resolved on first use
+    private volatile FabutMetadata metadata;
+    private final Map<Class<?>, Optional<EntityLayout>> entityLayouts = new ConcurrentHashMap<>();
+    private final Map<Class<?>, EntityFingerprinter> fingerprinters = new ConcurrentHashMap<>();
+    private final Map<Class<?>, List<Method>> changeMarkerGetters = new ConcurrentHashMap<>();
+    // Highest first change marker per entity type at snapshot time, empty if it is not known for every entity
+    private final Map<Class<?>, Optional<Comparable<Object>>> changeMarkerWatermarks = new ConcurrentHashMap<>();
+
+    // true unless a subclass overrides customAssertEquals; plain equality is then checked without assertEquals
+    private final boolean plainEquality = overridingClass(getClass(), "customAssertEquals", Object.class, Object.class) == null;
+    // overridden hooks may rely on the test thread, e.g. an ORM session, so elements are then never asserted on the pool
+    private final boolean threadSafeElementAssertions = plainEquality
+            && overridingClass(getClass(), "refreshIfProxy", Object.class) == null;
 
     protected void customAssertEquals(Object expected, Object actual) {
         assertEquals(expected, actual);
     }
 
+    /**
+     * @return the most derived subclass of Fabut declaring the method, or null if only Fabut declares it
+     */
+    private static Class<?> overridingClass(final Class<?> clazz, final String methodName, final Class<?>... parameterTypes) {
+        for (Class<?> c = clazz; c != null && c != Fabut.class; c = c.getSuperclass()) {
+            try {
+                c.getDeclaredMethod(methodName, parameterTypes);
+                return c;
+            } catch (final NoSuchMethodException e) {
+                // not declared here, check the superclass
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Metadata for the current type registration. It is resolved once per instance, so types must be registered
+     * before the first assertion, as with instance caches.
+     */
+    FabutMetadata metadata() {
+        FabutMetadata current = metadata;
+        if (current == null) {
+            current = FabutMetadata.of(FabutMetadata.Registration.of(
+                    entityTypes, complexTypes, ignoredTypes, ignoredFields, unorderedFields, typeClassifier()));
+            metadata = current;
+        }
+        return current;
+    }
+
+    // overridden type checks can classify classes differently, so such subclasses only share with themselves
+    private Class<?> typeClassifier() {
+        Class<?> classifier = Fabut.class;
+        for (final String methodName : List.of("isEntityType", "isComplexType", "isIgnoredType")) {
+            final Class<?> overriding = overridingClass(getClass(), methodName, Class.class);
+            if (overriding != null && classifier.isAssignableFrom(overriding)) {
+                classifier = overriding;
+            }
+        }
+        return classifier;
+    }
+
+    /**
+     * Checks two values with customAssertEquals. Unless it is overridden, no AssertionError is created for different values.
+     */
+    private boolean valuesMatch(final Object expected, final Object actual) {
+        if (plainEquality) {
+            return Objects.equals(expected, actual);
+        }
+        try {
+            customAssertEquals(expected, actual);
+            return true;
+        } catch (final AssertionError e) {
+            return false;
+        }
+    }
+
     protected List<?> findAll(final Class<?> entityClass) {
         throw new IllegalStateException("Override findAll method");
     }
@@ -152,6 +354,92 @@ public abstract class Fabut extends Assertions {
         throw new IllegalStateException("Override findById method");
     }
 
+    /**
+     * Loads the entities of the given type with the given ids in one call. Ids that no longer exist are left out.
+     * Called with at most 1000 ids at a time. The default calls
+     * {@link #findById(Class, Object)} once per id, one query each, so it must be overridden with a single
+     * query (e.g. {@code where id in (...)}) whenever {@link #findAllIds(Class)} is implemented.
+     *
+     * @param entityClass the entity type
+     * @param ids ids to load
+     * @return entities found, in any order
+     */
+    protected List<?> findByIds(final Class<?> entityClass, final Collection<?> ids) {
+        final List<Object> entities = new ArrayList<>(ids.size());
+        for (final Object id : ids) {
+            final Object entity = findById(entityClass, id);
+            if (entity != null) {
+                entities.add(entity);
+            }
+        }
+        return entities;
+    }
+
+    /**
+     * Ids of all current entities of the given type. When implemented, the after-test check finds created and
+     * deleted entities from ids alone and loads full entities through {@link #findByIds(Class, Collection)}
+     * only for created entities and for entities that were not asserted during the test.
+     * Default is null: the after-test check reads every entity from {@link #snapshotSource(Class)}.
+     *
+     * @param entityClass the entity type
+     * @return ids of all current entities, or null if not supported
+     */
+    protected Collection<?> findAllIds(final Class<?> entityClass) {
+        return null;
+    }
+
+    /**
+     * Entities of the given type whose first change marker field is greater than or equal to the given value.
+     * Used together with {@link #findAllIds(Class)}: snapshot entities that were not asserted are loaded only if
+     * returned here. The value is the highest marker at snapshot time. Only called when the first marker is a
+     * timestamp ({@link Temporal} or {@link Date}), such as updatedAt; a per-entity counter such as a JPA version
+     * cannot tell which entities changed since that value.
+     * Default is null: every entity that was not asserted is loaded.
+     *
+     * @param entityClass the entity type
+     * @param marker highest change marker at snapshot time
+     * @return entities changed since the snapshot, or null if not supported
+     */
+    protected Collection<?> findChangedSince(final Class<?> entityClass, final Object marker) {
+        return null;
+    }
+
+    /**
+     * Source of entities of the given type for the repository snapshot and the after-test state.
+     * Defaults to {@link #findAll(Class)}. Override to stream, iterate or page large tables
+     * so that they are never fully materialized.
+     *
+     * @param entityClass the entity type
+     * @return source of all current entities of the type
+     */
+    protected SnapshotSource snapshotSource(final Class<?> entityClass) {
+        return SnapshotSource.fromCollection(() -> findAll(entityClass));
+    }
+
+    /**
+     * Key of the repository fixture shared by the tests of this class. When non-null, the first
+     * takeSnapshot() copies the repository once and later tests of the same class with an equal key
+     * reuse those copies, keeping only their own assertion state on top of them.
+     * <p>
+     * Only valid if every test starts from the same repository state (e.g. transactional tests that
+     * roll back). Return a different key whenever the fixture changes.
+     * The baseline is captured in the selected {@link #snapshotMode}; {@link SnapshotMode#COPY_ON_WRITE}
+     * copies eagerly. Baselines are kept for the four most recently used test classes.
+     * Default is null: every test takes a full snapshot.
+     *
+     * Example:
+     * <pre>
+     * protected Object snapshotBaselineKey() {
+     *     return FIXTURE_VERSION;
+     * }
+     * </pre>
+     *
+     * @return fixture key, or null to disable the shared baseline
+     */
+    protected Object snapshotBaselineKey() {
+        return null;
+    }
+
     /**
      * Refreshes a Hibernate proxy by loading the actual entity from database.
      * If the value is not a proxy or is already initialized, returns as-is.
@@ -222,8 +510,17 @@ public abstract class Fabut extends Assertions {
     public void before() {
         CURRENT.set(this);
         pendingBuilders.clear();
+        pendingAfterStateEntities.clear();
+        afterStateCache.clear();
         parameterSnapshot.clear();
         dbSnapshot.clear();
+        if (copyOnWriteTracker != null) {
+            copyOnWriteTracker.deactivate();
+        }
+        copyOnWriteTracker = new CopyOnWriteTracker();
+        copyOnWriteFailures.clear();
+        changeMarkerWatermarks.clear();
+        releaseOffHeapSnapshot();
         for (final Class<?> entityType : entityTypes) {
             // Use ConcurrentHashMap for thread-safe parallel snapshot taking
             dbSnapshot.put(entityType, new ConcurrentHashMap<>());
@@ -244,6 +541,7 @@ public abstract class Fabut extends Assertions {
             if (!pendingBuilders.isEmpty()) {
                 int count = pendingBuilders.size();
                 pendingBuilders.clear();
+                pendingAfterStateEntities.clear();
                 throw new AssertionFailedError(
                         "UNVERIFIED BUILDER: created " + count
                         + " assertion builder(s) without calling verify()");
@@ -259,6 +557,11 @@ public abstract class Fabut extends Assertions {
                 throw new AssertionFailedError(report.getMessage());
             }
         } finally {
+            afterStateCache.clear();
+            if (copyOnWriteTracker != null) {
+                copyOnWriteTracker.deactivate();
+            }
+            releaseOffHeapSnapshot();
             try {
                 if (usageTracker != null && usageTracker.hasTrackedObjects()) {
                     UsageReport usageReport = usageTracker.getReport();
@@ -311,6 +614,7 @@ public abstract class Fabut extends Assertions {
     // COMMANDS
     public void takeSnapshot(final Object... parameters) {
         final FabutReport report = new FabutReport(() -> "Take snapshot");
+        afterStateCache.clear();
         takeSnapshott(report, parameters);
 
         if (!report.isSuccess()) {
@@ -611,7 +915,7 @@ public abstract class Fabut extends Assertions {
     }
 
     private EnumSet<TypeCategory> getTypeCategories(Class<?> clazz) {
-        return typeCategoriesCache.computeIfAbsent(getRealClass(clazz), this::computeTypeCategories);
+        return metadata().typeCategories.computeIfAbsent(getRealClass(clazz), this::computeTypeCategories);
     }
 
     private EnumSet<TypeCategory> computeTypeCategories(Class<?> c) {
@@ -639,10 +943,15 @@ public abstract class Fabut extends Assertions {
         return fields != null && fields.contains(fieldName);
     }
 
+    private boolean isUnorderedField(Class<?> clazz, String fieldName) {
+        List<String> fields = unorderedFields.get(getRealClass(clazz));
+        return fields != null && fields.contains(fieldName);
+    }
+
     // PROPERTIES
     private List<Method> getGetMethods(final Object object) {
         final Class<?> clazz = object.getClass();
-        return sortedMethodsCache.computeIfAbsent(clazz, c -> {
+        return metadata().sortedMethods.computeIfAbsent(clazz, c -> {
             final List<Method> getMethods = new ArrayList<>();
             final List<Method> getMethodsComplexType = new ArrayList<>();
             final boolean isEntityClass = isEntityType(c);
@@ -666,36 +975,49 @@ public abstract class Fabut extends Assertions {
         });
     }
 
-    List<ISingleProperty> removeParentQualification(final String parentPropertyName, final List<ISingleProperty> properties) {
-
-        final String parentPrefix = parentPropertyName + DOT;
-        for (final ISingleProperty property : properties) {
-            final String path = StringUtils.removeStart(property.getPath(), parentPrefix);
-            property.setPath(path);
-        }
-        return properties;
+    private ComparisonPlan comparisonPlan(final Object object) {
+        return metadata().comparisonPlans.computeIfAbsent(object.getClass(), c -> {
+            final List<ComparisonPlan.FieldSlot> slots = new ArrayList<>();
+            for (final Method method : getGetMethods(object)) {
+                final String fieldName = ReflectionUtil.getFieldNameOfGet(method);
+                final ValueKind kind = isUnorderedField(c, fieldName) && Collection.class.isAssignableFrom(method.getReturnType())
+                        ? ValueKind.UNORDERED
+                        : declaredValueKind(method.getReturnType());
+                slots.add(ComparisonPlan.slot(method, isIgnoredField(c, fieldName), kind));
+            }
+            return new ComparisonPlan(slots);
+        });
     }
 
-    ISingleProperty obtainProperty(final Object field, final String propertyPath, final List<ISingleProperty> properties) {
-
-        final ISingleProperty property = getPropertyFromList(propertyPath, properties);
-        if (property != null) {
-            return property;
+    /**
+     * Values of a final declared type always have that runtime class, so they can be classified up front.
+     */
+    private ValueKind declaredValueKind(final Class<?> declaredType) {
+        final Class<?> type = ClassUtils.primitiveToWrapper(declaredType);
+        if (!Modifier.isFinal(type.getModifiers())) {
+            return ValueKind.DYNAMIC;
         }
-        return value(propertyPath, field);
+        return valueKind(type, type);
     }
 
-    ISingleProperty getPropertyFromList(final String propertyPath, final List<ISingleProperty> properties) {
-
-        final Iterator<ISingleProperty> iterator = properties.iterator();
-        while (iterator.hasNext()) {
-            final ISingleProperty property = iterator.next();
-            if (property.getPath().equalsIgnoreCase(propertyPath)) {
-                iterator.remove();
-                return property;
-            }
-        }
-        return null;
+    /**
+     * Classifies a pair of non-null values by their runtime classes, in the order assertPair checks them.
+     */
+    private ValueKind valueKind(final Class<?> expectedClass, final Class<?> actualClass) {
+        if (isIgnoredType(expectedClass)) {
+            return ValueKind.IGNORED;
+        } else if (isComplexType(expectedClass)) {
+            return ValueKind.COMPLEX;
+        } else if (isEntityType(expectedClass)) {
+            return ValueKind.ENTITY;
+        } else if (isListType(expectedClass) && isListType(actualClass)) {
+            return ValueKind.LIST;
+        } else if (isMapType(expectedClass) && isMapType(actualClass)) {
+            return ValueKind.MAP;
+        } else if (isOptionalType(expectedClass) && isOptionalType(actualClass)) {
+            return ValueKind.OPTIONAL;
+        }
+        return ValueKind.VALUE;
     }
 
     ReferenceCheckType checkByReference(final FabutReport report, Object expected, Object actual, final List<ObjectMethod> parents) {
@@ -728,33 +1050,6 @@ public abstract class Fabut extends Assertions {
         return list;
     }
 
-    List<ISingleProperty> extractPropertiesWithMatchingParent(final String parent, final List<ISingleProperty> properties) {
-
-        final String parentPrefix = parent + DOT;
-        final List<ISingleProperty> extracts = new ArrayList<>();
-        final Iterator<ISingleProperty> iterator = properties.iterator();
-        while (iterator.hasNext()) {
-            final ISingleProperty property = iterator.next();
-            final String path = property.getPath();
-            if (path.startsWith(parentPrefix) || path.equalsIgnoreCase(parent)) {
-                extracts.add(property);
-                iterator.remove();
-            }
-        }
-        return extracts;
-    }
-
-    boolean hasInnerProperties(final String parent, final List<ISingleProperty> properties) {
-
-        final String parentPrefix = parent + DOT;
-        for (final ISingleProperty property : properties) {
-            if (property.getPath().startsWith(parentPrefix)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     // COPY
     protected Object createCopyObject(final Object object, final NodesList nodes) throws CopyException {
 
@@ -763,6 +1058,18 @@ public abstract class Fabut extends Assertions {
             return copy;
         }
 
+        // Types with a generated copier are copied without reflection
+        final Copier<Object> copier = (Copier<Object>) Copiers.find(object.getClass());
+        if (copier != null) {
+            try {
+                copy = copier.copy(object, isEntityType(object.getClass()));
+            } catch (final RuntimeException e) {
+                throw new CopyException(object.getClass().getSimpleName(), e);
+            }
+            nodes.addPair(copy, object);
+            return copy;
+        }
+
         try {
             copy = createEmptyCopyOf(object);
         } catch (NoSuchMethodException | InvocationTargetException | InstantiationException | IllegalAccessException e) {
@@ -779,47 +1086,57 @@ public abstract class Fabut extends Assertions {
         for (final Method getMethod : allGetMethods) {
             if (getMethod.getParameterAnnotations().length == 0 && !(isEntityType && isCollectionClass(getMethod.getReturnType()))) {
 
-                final String getMethodName = getMethod.getName();
-                final String fieldName = getFieldNameOfGet(getMethod);
-
-                final Field objectField = findAccessibleField(object, fieldName);
-
-                final String setMethodName = SET_METHOD_PREFIX + getMethodName.substring(3);
-                final Method setMethod = findSetMethod(copy, setMethodName);
-
-                final Field copyField = findAccessibleField(copy, fieldName);
-
-                if (setMethod == null) {
+                final String setMethodName = SET_METHOD_PREFIX + getMethod.getName().substring(3);
+                if (findSetMethod(copy, setMethodName) == null) {
                     throw new CopyException(object.getClass().getSimpleName());
                 }
 
                 Object value;
                 try {
-                    value = getMethod.invoke(object);
-                } catch (InvocationTargetException | IllegalAccessException e) {
+                    value = Accessors.get(Accessors.getter(getMethod), object);
+                } catch (InvocationTargetException e) {
                     throw new CopyException(object.getClass().getSimpleName());
                 }
 
-                try {
-                    if (getMethodName.equals(GET_ID)) {
-                        setMethod.invoke(copy, value);
-                    } else if (value != null && isOptionalType(value.getClass()) && !isOptionalType(objectField.getType())) {
-                        copyField.set(copy, ((Optional<?>) value).orElse(null));
-                    } else {
-                        copyField.set(copy, value);
-                    }
-                } catch (InvocationTargetException | IllegalAccessException e) {
-                    throw new CopyException(object.getClass().getSimpleName());
-                }
+                writeCopyField(copy, getMethod, value);
             }
         }
 
         return copy;
     }
 
+    /**
+     * Stores a getter value into the copy: the id through its setter, everything else directly into the field.
+     */
+    private void writeCopyField(final Object copy, final Method getMethod, final Object value) throws CopyException {
+        final String getMethodName = getMethod.getName();
+        final Method setMethod = findSetMethod(copy, SET_METHOD_PREFIX + getMethodName.substring(3));
+        final Field copyField = findAccessibleField(copy, getFieldNameOfGet(getMethod));
+
+        if (setMethod == null) {
+            throw new CopyException(copy.getClass().getSimpleName());
+        }
+
+        try {
+            if (getMethodName.equals(GET_ID)) {
+                Accessors.set(Accessors.setter(setMethod), copy, value);
+            } else if (value != null && isOptionalType(value.getClass()) && !isOptionalType(copyField.getType())) {
+                Accessors.set(Accessors.fieldWriter(copyField), copy, ((Optional<?>) value).orElse(null));
+            } else {
+                Accessors.set(Accessors.fieldWriter(copyField), copy, value);
+            }
+        } catch (InvocationTargetException e) {
+            throw new CopyException(copy.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * Creates the empty instance that the reflective copy fills in.
+     * Not used for types with a generated {@link Copier}.
+     */
     protected Object createEmptyCopyOf(final Object object)
             throws NoSuchMethodException, InvocationTargetException, InstantiationException, IllegalAccessException {
-        return object.getClass().getConstructor().newInstance();
+        return Accessors.newInstance(Accessors.constructor(object.getClass()));
     }
 
     protected Object copyProperty(final Object propertyForCopying, final NodesList nodes) throws CopyException {
@@ -906,13 +1223,11 @@ public abstract class Fabut extends Assertions {
             final List<ObjectMethod> parents,
             Object expected,
             Object actual,
-            final List<ISingleProperty> properties,
+            final ExpectedProperties properties,
             final NodesList nodesList) {
 
         if (!parents.isEmpty()) {
-            final List<String> propertyNames = parents.stream().map(ObjectMethod::property).toList();
-            final String propertyName = propertyNames.getLast();
-            assertEntityById(report, propertyName, expected, actual);
+            assertEntityById(report, parents.getLast().property(), expected, actual);
         } else {
             assertSubfields(report, Collections.emptyList(), expected, actual, properties, nodesList);
         }
@@ -922,8 +1237,10 @@ public abstract class Fabut extends Assertions {
 
         ignoreEntity(report, entity);
 
-        final Object findById = findById(entity.getClass(), getIdValue(entity));
-        final boolean isDeletedInRepository = findById == null;
+        final Class<?> entityClass = getRealClass(entity.getClass());
+        final Object id = getIdValue(entity);
+        final boolean isDeletedInRepository = findAfterState(entityClass, id) == null;
+        releaseAfterState(entityClass, id);
 
         if (!isDeletedInRepository) {
             report.notDeletedInRepository(entity);
@@ -944,8 +1261,9 @@ public abstract class Fabut extends Assertions {
 
         if (copyAssert != null) {
             final Object expected = copyAssert.getEntity();
-            final Object freshEntity = findById(entityClass, id);
-            assertObjects(report, expected, freshEntity, properties);
+            final Object freshEntity = findAfterState(entityClass, id);
+            releaseAfterState(entityClass, id);
+            assertObjects(report, expected, freshEntity, ExpectedProperties.of(properties));
             return freshEntity;
         } else {
             report.noEntityInSnapshot(entity);
@@ -953,6 +1271,60 @@ public abstract class Fabut extends Assertions {
         }
     }
 
+    /**
+     * Returns the after state of one entity, loading it together with the entities of pending
+     * builders of the same type if it has not been loaded yet in the current verify batch.
+     */
+    private Object findAfterState(final Class<?> entityClass, final Object id) {
+        if (id == null) {
+            return null;
+        }
+        if (!afterStateCache.contains(entityClass, id)) {
+            final Set<Object> ids = new LinkedHashSet<>();
+            ids.add(id);
+            for (final Object pending : pendingAfterStateEntities.values()) {
+                final Object pendingId = getIdValue(pending);
+                if (pendingId != null && getRealClass(pending.getClass()) == entityClass) {
+                    ids.add(pendingId);
+                }
+            }
+            loadAfterState(entityClass, ids);
+        }
+        return afterStateCache.get(entityClass, id);
+    }
+
+    /**
+     * Forgets a verified entity, and the whole batch once no builder waits for its entity, so that a later
+     * assertion loads the entity again instead of comparing against an instance loaded before.
+     */
+    private void releaseAfterState(final Class<?> entityClass, final Object id) {
+        if (pendingAfterStateEntities.isEmpty()) {
+            afterStateCache.clear();
+        } else if (id != null) {
+            afterStateCache.remove(entityClass, id);
+        }
+    }
+
+    /**
+     * Loads the entities with the given ids that are not loaded yet, {@value #AFTER_STATE_BATCH_SIZE} ids per findByIds call.
+     */
+    private void loadAfterState(final Class<?> entityClass, final Collection<?> ids) {
+        final List<Object> notLoaded = new ArrayList<>();
+        for (final Object id : ids) {
+            if (!afterStateCache.contains(entityClass, id)) {
+                notLoaded.add(id);
+            }
+        }
+        for (int from = 0; from < notLoaded.size(); from += AFTER_STATE_BATCH_SIZE) {
+            final List<Object> batch = notLoaded.subList(from, Math.min(from + AFTER_STATE_BATCH_SIZE, notLoaded.size()));
+            final Map<Object, Object> loaded = new HashMap<>();
+            for (final Object entity : findByIds(entityClass, batch)) {
+                loaded.put(getIdValue(entity), entity);
+            }
+            afterStateCache.putAll(entityClass, batch, loaded);
+        }
+    }
+
     void afterAssertObject(final FabutReport report, final Object object) {
         if (isEntityType(object.getClass())) {
             markAsAsserted(report, object);
@@ -963,63 +1335,43 @@ public abstract class Fabut extends Assertions {
 
         final Object expectedId = ReflectionUtil.getIdValue(expected);
         final Object actualId = ReflectionUtil.getIdValue(actual);
-        try {
-            customAssertEquals(expectedId, actualId);
-        } catch (final AssertionError e) {
+        if (!valuesMatch(expectedId, actualId)) {
             report.assertFailFormatted(propertyName, () -> formatValue(expected), () -> formatValue(actual));
         }
     }
 
     void assertObjectWithProperties(final FabutReport report, final Object actual, final List<ISingleProperty> expectedProperties) {
+        assertObjectWithProperties(report, actual, ExpectedProperties.of(expectedProperties));
+    }
+
+    private void assertObjectWithProperties(final FabutReport report, final Object actual, final ExpectedProperties expectedProperties) {
 
         if (actual == null) {
             report.nullReference();
             return;
         }
 
-        final List<Method> methods = getGetMethods(actual);
-        // Reusable empty list and NodesList to avoid repeated allocations
         final List<ObjectMethod> emptyParents = Collections.emptyList();
-        // Collect available field names for fuzzy matching on excess properties
-        final List<String> availableFieldNames = new ArrayList<>();
-
-        for (final Method method : methods) {
+        final ComparisonPlan.FieldSlot[] slots = comparisonPlan(actual).slots();
 
-            final String fieldName = ReflectionUtil.getFieldNameOfGet(method);
-            final boolean ignoredField = isIgnoredField(actual.getClass(), fieldName);
+        for (final ComparisonPlan.FieldSlot slot : slots) {
 
-            if (!ignoredField) {
-                availableFieldNames.add(fieldName);
-            }
+            final Method method = slot.method();
+            final String fieldName = slot.fieldName();
+            final boolean ignoredField = slot.ignored();
 
-            final ISingleProperty property = getPropertyFromList(fieldName, expectedProperties);
+            final ISingleProperty property = expectedProperties.take(fieldName);
             try {
                 if (property != null) {
                     // Cache the invocation result - avoid calling invoke() multiple times
-                    final Object fieldValue = method.invoke(actual);
-                    assertProperty(report, emptyParents, fieldName, property, fieldValue, expectedProperties, new NodesList());
-
-                    if (expectedProperties.contains(property)) {
-                        final FabutReport optimisationReport = new FabutReport();
-                        assertProperty(
-                                optimisationReport,
-                                emptyParents,
-                                fieldName,
-                                value(fieldName, fieldValue),
-                                fieldValue,
-                                Collections.emptyList(),
-                                new NodesList());
-
-                        if (optimisationReport.isSuccess() && !(property instanceof IgnoredProperty)) {
-                            report.notNecessaryAssert(fieldName, actual, fieldValue);
-                        }
-                    }
+                    final Object fieldValue = slot.read(actual);
+                    assertProperty(report, emptyParents, fieldName, property, fieldValue, expectedProperties, new NodesList(), slot.kind());
 
-                } else if (!ignoredField && hasInnerProperties(fieldName, expectedProperties)) {
-                    assertInnerProperty(report, method.invoke(actual), expectedProperties, fieldName);
+                } else if (!ignoredField && expectedProperties.hasInner(fieldName)) {
+                    assertObjectWithProperties(report, slot.read(actual), expectedProperties.inner(fieldName));
                 } else if (!ignoredField) {
                     // there is no matching property for field
-                    report.noPropertyForField(actual, fieldName, method.invoke(actual));
+                    report.noPropertyForField(actual, fieldName, slot.read(actual));
                 }
             } catch (final IllegalAccessException | InvocationTargetException e) {
                 report.uncallableMethod(method, actual);
@@ -1027,8 +1379,15 @@ public abstract class Fabut extends Assertions {
         }
 
         if (!expectedProperties.isEmpty()) {
-            for (ISingleProperty singleProperty : expectedProperties) {
-                report.excessExpectedProperty(singleProperty.getPath(), availableFieldNames);
+            // available field names for fuzzy matching on excess properties
+            final List<String> availableFieldNames = new ArrayList<>();
+            for (final ComparisonPlan.FieldSlot slot : slots) {
+                if (!slot.ignored()) {
+                    availableFieldNames.add(slot.fieldName());
+                }
+            }
+            for (final String path : expectedProperties.takeRemainingPaths()) {
+                report.excessExpectedProperty(path, availableFieldNames);
             }
         }
 
@@ -1036,23 +1395,20 @@ public abstract class Fabut extends Assertions {
     }
 
     void assertInnerProperty(final FabutReport report, final Object actual, final List<ISingleProperty> properties, final String parent) {
-        final List<ISingleProperty> extracts = extractPropertiesWithMatchingParent(parent, properties);
-        removeParentQualification(parent, extracts);
-
-        assertObjectWithProperties(report, actual, extracts);
+        assertObjectWithProperties(report, actual, ExpectedProperties.of(properties).inner(parent));
     }
 
     void assertInnerObject(final FabutReport report, final Object expected, final Object actual, final List<ISingleProperty> properties, final String parent) {
-
-        final List<ISingleProperty> extracts = extractPropertiesWithMatchingParent(parent, properties);
-        removeParentQualification(parent, extracts);
-
-        assertObjects(report, expected, actual, extracts);
+        assertObjects(report, expected, actual, ExpectedProperties.of(properties).inner(parent));
     }
 
     void assertObjects(final FabutReport report, final Object expected, final Object actual, final List<ISingleProperty> expectedChangedProperties) {
+        assertObjects(report, expected, actual, ExpectedProperties.of(expectedChangedProperties));
+    }
 
-        assertPair(report, Collections.emptyList(), expected, actual, expectedChangedProperties, new NodesList());
+    private void assertObjects(final FabutReport report, final Object expected, final Object actual, final ExpectedProperties expectedChangedProperties) {
+
+        assertPair(report, Collections.emptyList(), expected, actual, expectedChangedProperties, new NodesList(), ValueKind.DYNAMIC);
 
         afterAssertObject(report, actual);
     }
@@ -1064,6 +1420,20 @@ public abstract class Fabut extends Assertions {
             Object actual,
             final List<ISingleProperty> properties,
             final NodesList nodesList) {
+        assertPair(report, parents, expected, actual, ExpectedProperties.of(properties), nodesList, ValueKind.DYNAMIC);
+    }
+
+    /**
+     * @param kind kind of the field the pair was read from, used when both values have the same class
+     */
+    private void assertPair(
+            final FabutReport report,
+            final List<ObjectMethod> parents,
+            Object expected,
+            Object actual,
+            final ExpectedProperties properties,
+            final NodesList nodesList,
+            final ValueKind kind) {
 
         final ReferenceCheckType referenceCheck = checkByReference(report, expected, actual, parents);
 
@@ -1081,26 +1451,36 @@ public abstract class Fabut extends Assertions {
             case CONTAINS_PAIR -> {}
             case NEW_PAIR -> {
                 nodesList.addPair(expected, actual);
-                if (isIgnoredType(expected.getClass())) {
-                    report.ignoredType(expected.getClass());
-
-                } else if (isComplexType(expected.getClass())) {
-                    assertSubfields(report, parents, expected, actual, properties, nodesList);
-
-                } else if (isEntityType(expected.getClass())) {
-                    assertEntityPair(report, parents, expected, actual, properties, nodesList);
-
-                } else if (isListType(expected.getClass()) && isListType(actual.getClass())) {
-                    assertList(report, parents, (List<?>) expected, (List<?>) actual, properties);
-
-                } else if (isMapType(expected.getClass()) && isMapType(actual.getClass())) {
-                    assertMap(report, parents, (Map<?, ?>) expected, (Map<?, ?>) actual, properties, nodesList);
-
-                } else if (isOptionalType(expected.getClass()) && isOptionalType(actual.getClass())) {
-                    assertOptional(report, parents, (Optional<?>) expected, (Optional<?>) actual, properties, nodesList);
-
+                final ValueKind pairKind;
+                if (kind == ValueKind.UNORDERED && expected instanceof Collection<?> && actual instanceof Collection<?>) {
+                    pairKind = ValueKind.UNORDERED;
+                } else if (kind != ValueKind.DYNAMIC && expected.getClass() == actual.getClass()) {
+                    pairKind = kind;
                 } else {
-                    assertPrimitives(report, parents, expected, actual);
+                    pairKind = valueKind(expected.getClass(), actual.getClass());
+                }
+                switch (pairKind) {
+                    case IGNORED -> report.ignoredType(expected.getClass());
+                    case COMPLEX -> assertSubfields(report, parents, expected, actual, properties, nodesList);
+                    case ENTITY -> assertEntityPair(report, parents, expected, actual, properties, nodesList);
+                    case LIST -> {
+                        if (hasUnorderedElements((List<?>) expected) || hasUnorderedElements((List<?>) actual)) {
+                            assertUnorderedCollection(report, parents, (List<?>) expected, (List<?>) actual, properties);
+                        } else {
+                            assertList(report, parents, (List<?>) expected, (List<?>) actual, properties);
+                        }
+                    }
+                    case UNORDERED -> assertUnorderedCollection(report, parents, (Collection<?>) expected, (Collection<?>) actual, properties);
+                    case MAP -> assertMap(report, parents, (Map<?, ?>) expected, (Map<?, ?>) actual, properties, nodesList);
+                    case OPTIONAL -> assertOptional(report, parents, (Optional<?>) expected, (Optional<?>) actual, properties, nodesList);
+                    default -> {
+                        if (expected instanceof Set<?> expectedSet && actual instanceof Set<?> actualSet
+                                && (hasUnorderedElements(expectedSet) || hasUnorderedElements(actualSet))) {
+                            assertUnorderedCollection(report, parents, expectedSet, actualSet, properties);
+                        } else {
+                            assertPrimitives(report, parents, expected, actual);
+                        }
+                    }
                 }
             }
         }
@@ -1113,9 +1493,11 @@ public abstract class Fabut extends Assertions {
         return CAMEL_CASE_PATTERN.matcher(s).replaceAll(separator);
     }
 
+    /**
+     * Constant name of a field, such as PROPERTY_NAME. Only built when a failed report renders its CODE lines.
+     */
     private String upperUnderscored(String s) {
-        return upperUnderscoredCache.computeIfAbsent(s,
-            str -> splitCamelCase(str, "_").toUpperCase());
+        return splitCamelCase(s, "_").toUpperCase();
     }
 
     private void assertSubfields(
@@ -1123,99 +1505,60 @@ public abstract class Fabut extends Assertions {
             final List<ObjectMethod> parents,
             Object expected,
             Object actual,
-            final List<ISingleProperty> properties,
+            final ExpectedProperties properties,
             final NodesList nodesList) {
 
-        final ArrayList<ISingleProperty> propertiesCopy = new ArrayList<>(properties);
-
-        final List<Method> getMethods = getGetMethods(expected);
+        final ComparisonPlan expectedPlan = comparisonPlan(expected);
+        final ComparisonPlan actualPlan = expected.getClass() == actual.getClass() ? expectedPlan : comparisonPlan(actual);
 
         if (parents.isEmpty()) {
             final String methodName = report.getAssertionContext().getMethodName();
             report.addCode(() -> "\n" + methodName + "(object");
         }
 
-        final String className = getRealClass(actual.getClass()).getSimpleName();
-
-        StringBuilder chainPrefix = new StringBuilder();
-        StringBuilder chainPostfix = new StringBuilder();
-
-        final List<ObjectMethod> reversedParents = new ArrayList<>(parents);
-        Collections.reverse(reversedParents);
+        // For ENTITY_WITH_SNAPSHOT, only add CODE for changed properties
+        final boolean isSnapshotContext = report.getAssertionContext() == ENTITY_WITH_SNAPSHOT;
+        final Class<?> actualClass = actual.getClass();
 
-        for (ObjectMethod parent : reversedParents) {
-            final String parentClass = getRealClass(parent.parent().getClass()).getSimpleName();
-            chainPrefix.insert(0, parentClass + "." + upperUnderscored(parent.property()) + ".chain(");
-            chainPostfix.append(")");
-        }
-
-        for (final Method expectedMethod : getMethods) {
-            final String fieldName = ReflectionUtil.getFieldNameOfGet(expectedMethod);
-            if (!isIgnoredField(expected.getClass(), fieldName)) {
+        for (final ComparisonPlan.FieldSlot slot : expectedPlan.slots()) {
+            final Method expectedMethod = slot.method();
+            final String fieldName = slot.fieldName();
+            if (!slot.ignored()) {
                 try {
-                    // Cache invocation results - avoid calling invoke() multiple times
-                    final Object expectedValue = expectedMethod.invoke(expected);
-                    final Method actualMethod = findGetMethod(actual, expectedMethod.getName());
-                    final Object actualValue = actualMethod.invoke(actual);
-
-                    // For ENTITY_WITH_SNAPSHOT, only add CODE for changed properties
-                    final boolean isSnapshotContext = report.getAssertionContext() == ENTITY_WITH_SNAPSHOT;
-                    boolean valuesEqual;
-                    try {
-                        valuesEqual = Objects.equals(expectedValue, actualValue);
-                    } catch (Exception e) {
-                        // Handle LazyInitializationException and similar - refresh proxies and retry
-                        try {
-                            Object refreshedExpected = refreshIfProxy(expectedValue);
-                            Object refreshedActual = refreshIfProxy(actualValue);
-                            valuesEqual = Objects.equals(refreshedExpected, refreshedActual);
-                        } catch (Exception e2) {
-                            // Still failing (nested proxies) - treat as not equal
-                            valuesEqual = false;
+                    final ComparisonPlan.FieldSlot actualSlot = actualPlan == expectedPlan ? slot : actualPlan.slot(expectedMethod.getName());
+                    // equal primitives without an explicit property are compared unboxed and need nothing else
+                    if (actualSlot == slot && slot.primitive() != null && plainEquality && !properties.contains(fieldName)
+                            && slot.primitiveEquals(expected, actual)) {
+                        if (!isSnapshotContext) {
+                            report.addCode(new FieldCode(parents, actualClass, fieldName, slot.read(expected)));
                         }
+                        continue;
                     }
+                    // Cache invocation results - avoid calling invoke() multiple times
+                    final Object expectedValue = slot.read(expected);
+                    final Object actualValue = actualSlot != null
+                            ? actualSlot.read(actual)
+                            : findGetMethod(actual, expectedMethod.getName()).invoke(actual);
 
-                    if (!isSnapshotContext || !valuesEqual) {
-                        // Cache refreshed value for code generation
-                        final Object refreshedValue = refreshIfProxy(expectedValue);
-                        report.addCode(
-                                () -> {
-                                    final String propertyPath = chainPrefix + className + "." + upperUnderscored(fieldName) + chainPostfix;
-                                    final String code;
-                                    if (refreshedValue == null) {
-                                        code = ",\nisNull(" + propertyPath + ")";
-                                    } else if (refreshedValue.getClass().isAssignableFrom(String.class)) {
-                                        code = ",\nvalue(" + propertyPath + ", " + "\"" + refreshedValue + "\"" + ")";
-                                    } else if (refreshedValue.getClass().isEnum()) {
-                                        code = ",\nvalue(" + propertyPath + ", " + refreshedValue.getClass().getSimpleName() + "." + refreshedValue + ")";
-                                    } else if (refreshedValue.getClass().isAssignableFrom(Optional.class) && ((Optional<?>) refreshedValue).isEmpty()) {
-                                        code = ",\nisEmpty(" + propertyPath + ")";
-                                    } else if (isEntityType(refreshedValue.getClass())) {
-                                        code = ",\nvalue(" + propertyPath + ", " + entityPath(refreshedValue) + ")";
-                                    } else {
-                                        code = ",\nvalue(" + propertyPath + ", " + refreshedValue + ")";
-                                    }
-                                    return code;
-                                });
+                    if (!isSnapshotContext || !valuesEqual(expectedValue, actualValue)) {
+                        report.addCode(new FieldCode(parents, actualClass, fieldName, expectedValue));
                     }
 
-                    final ISingleProperty property = obtainProperty(expectedValue, fieldName, properties);
-                    assertProperty(report, parents, fieldName, property, actualValue, properties, nodesList);
-
-                    if (propertiesCopy.contains(property)) {
-                        final FabutReport optimisationReport = new FabutReport();
-                        assertProperty(
-                                optimisationReport,
-                                parents,
-                                fieldName,
-                                value(fieldName, expectedValue),
-                                actualValue,
-                                Collections.emptyList(),
-                                new NodesList());
-
-                        if (optimisationReport.isSuccess() && !(property instanceof IgnoredProperty)) {
+                    final ISingleProperty explicitProperty = properties.take(fieldName);
+                    final ISingleProperty property = explicitProperty != null ? explicitProperty : value(fieldName, expectedValue);
+                    // the declared kind only describes the actual value if it was read through the same get method
+                    final ValueKind kind = actualSlot == slot ? slot.kind() : ValueKind.DYNAMIC;
+                    if (checkRedundantAsserts && explicitProperty != null && !(property instanceof IgnoredProperty)) {
+                        // asserted once; its own report tells whether the property matched
+                        final FabutReport propertyReport = report.fork();
+                        assertProperty(propertyReport, parents, fieldName, property, actualValue, properties, nodesList, kind);
+                        final boolean matched = propertyReport.isSuccess();
+                        report.append(propertyReport);
+                        if (matched && isUnchanged(property, expectedValue, actualValue, kind)) {
                             report.notNecessaryAssert(fieldName, actual, actualValue);
                         }
+                    } else {
+                        assertProperty(report, parents, fieldName, property, actualValue, properties, nodesList, kind);
                     }
 
                 } catch (final IllegalAccessException | InvocationTargetException e) {
@@ -1229,64 +1572,159 @@ public abstract class Fabut extends Assertions {
         }
     }
 
-    private void assertPrimitives(final FabutReport report, final List<ObjectMethod> parents, Object expected, Object actual) {
+    private boolean valuesEqual(final Object expectedValue, final Object actualValue) {
         try {
-            customAssertEquals(expected, actual);
-        } catch (final AssertionError e) {
-            final String propertyName = getLastPropertyName(parents);
-            report.assertFailFormatted(propertyName, () -> formatValue(expected), () -> formatValue(actual));
+            return Objects.equals(expectedValue, actualValue);
+        } catch (Exception e) {
+            // Handle LazyInitializationException and similar - refresh proxies and retry
+            try {
+                return Objects.equals(refreshIfProxy(expectedValue), refreshIfProxy(actualValue));
+            } catch (Exception e2) {
+                // Still failing (nested proxies) - treat as not equal
+                return false;
+            }
         }
     }
 
-    private String getLastPropertyName(List<ObjectMethod> parents) {
-        final List<String> propertyNames = parents.stream().map(ObjectMethod::property).toList();
-        final String propertyName;
-        if (propertyNames.isEmpty()) {
-            propertyName = "";
-        } else {
-            propertyName = propertyNames.getLast();
+    /**
+     * CODE line suggesting the assert of one field. Only references are kept while asserting; the property chain
+     * and the value are formatted when a failed report is rendered.
+     */
+    private final class FieldCode implements ReportCode {
+        private final List<ObjectMethod> parents;
+        private final Class<?> ownerClass;
+        private final String fieldName;
+        private final Object expectedValue;
+
+        private FieldCode(final List<ObjectMethod> parents, final Class<?> ownerClass, final String fieldName, final Object expectedValue) {
+            this.parents = parents;
+            this.ownerClass = ownerClass;
+            this.fieldName = fieldName;
+            this.expectedValue = expectedValue;
+        }
+
+        @Override
+        public String code() {
+            final StringBuilder propertyPath = new StringBuilder();
+            for (final ObjectMethod parent : parents) {
+                final String parentClass = getRealClass(parent.parent().getClass()).getSimpleName();
+                propertyPath.append(parentClass).append('.').append(upperUnderscored(parent.property())).append(".chain(");
+            }
+            propertyPath.append(getRealClass(ownerClass).getSimpleName()).append('.').append(upperUnderscored(fieldName));
+            propertyPath.append(")".repeat(parents.size()));
+
+            Object refreshedValue;
+            try {
+                refreshedValue = refreshIfProxy(expectedValue);
+            } catch (RuntimeException e) {
+                refreshedValue = expectedValue;
+            }
+
+            if (refreshedValue == null) {
+                return ",\nisNull(" + propertyPath + ")";
+            } else if (refreshedValue.getClass().isAssignableFrom(String.class)) {
+                return ",\nvalue(" + propertyPath + ", " + "\"" + refreshedValue + "\"" + ")";
+            } else if (refreshedValue.getClass().isEnum()) {
+                return ",\nvalue(" + propertyPath + ", " + refreshedValue.getClass().getSimpleName() + "." + refreshedValue + ")";
+            } else if (refreshedValue.getClass().isAssignableFrom(Optional.class) && ((Optional<?>) refreshedValue).isEmpty()) {
+                return ",\nisEmpty(" + propertyPath + ")";
+            } else if (isEntityType(refreshedValue.getClass())) {
+                return ",\nvalue(" + propertyPath + ", " + entityPath(refreshedValue) + ")";
+            }
+            return ",\nvalue(" + propertyPath + ", " + refreshedValue + ")";
         }
-        return propertyName;
     }
 
-    void assertProperty(
-            final FabutReport report,
-            List<ObjectMethod> parents,
+    /**
+     * Checks whether an explicit property that matched the actual value was not necessary, because the field still
+     * holds its expected value. Values and entity references are compared directly. Other values count as unchanged
+     * only if the property holds the expected value or one equal to it, so they are never asserted a second time.
+     */
+    private boolean isUnchanged(final ISingleProperty property, final Object expectedValue, final Object actualValue,
+                                final ValueKind kind) {
+        if (expectedValue == actualValue) {
+            return true;
+        }
+        if (expectedValue == null || actualValue == null) {
+            return false;
+        }
+        final ValueKind pairKind = kind != ValueKind.DYNAMIC && expectedValue.getClass() == actualValue.getClass()
+                ? kind
+                : valueKind(expectedValue.getClass(), actualValue.getClass());
+        if (pairKind == ValueKind.VALUE) {
+            return valuesMatch(expectedValue, actualValue);
+        }
+        if (pairKind == ValueKind.ENTITY) {
+            return valuesMatch(ReflectionUtil.getIdValue(expectedValue), ReflectionUtil.getIdValue(actualValue));
+        }
+        return property instanceof Property<?> valueProperty && Objects.equals(valueProperty.getValue(), expectedValue);
+    }
+
+    private void assertPrimitives(final FabutReport report, final List<ObjectMethod> parents, Object expected, Object actual) {
+        if (!valuesMatch(expected, actual)) {
+            final String propertyName = getLastPropertyName(parents);
+            report.assertFailFormatted(propertyName, () -> formatValue(expected), () -> formatValue(actual));
+        }
+    }
+
+    private String getLastPropertyName(List<ObjectMethod> parents) {
+        return parents.isEmpty() ? "" : parents.getLast().property();
+    }
+
+    void assertProperty(
+            final FabutReport report,
+            List<ObjectMethod> parents,
             final String fieldName,
             final ISingleProperty expected,
             final Object actual,
             final List<ISingleProperty> properties,
             final NodesList nodesList) {
+        assertProperty(report, parents, fieldName, expected, actual, ExpectedProperties.of(properties), nodesList, ValueKind.DYNAMIC);
+    }
+
+    /**
+     * @param properties expected properties of the object the field belongs to; the field value is asserted
+     *                   against the ones below the field
+     */
+    private void assertProperty(
+            final FabutReport report,
+            List<ObjectMethod> parents,
+            final String fieldName,
+            final ISingleProperty expected,
+            final Object actual,
+            final ExpectedProperties properties,
+            final NodesList nodesList,
+            final ValueKind kind) {
 
-        removeParentQualification(fieldName, properties);
+        // the expected property is reported by its path relative to the asserted object
+        final String path = StringUtils.substringAfterLast(DOT + expected.getPath(), DOT);
 
         switch (expected) {
             case NotNullProperty notNullProperty -> {
                 if (actual == null) {
-                    report.notNullProperty(expected.getPath());
+                    report.notNullProperty(path);
                 }
             }
             case NullProperty nullProperty -> {
                 if (actual != null) {
-                    report.nullProperty(expected.getPath(), actual);
+                    report.nullProperty(path, actual);
                 }
             }
             case NotEmptyProperty notEmptyProperty -> {
                 if (!(actual instanceof Optional && ((Optional<?>) actual).isPresent())) {
-                    report.notEmptyProperty(expected.getPath(), actual);
+                    report.notEmptyProperty(path, actual);
                 }
             }
             case EmptyProperty emptyProperty -> {
                 if (!(actual instanceof Optional && ((Optional<?>) actual).isEmpty())) {
-                    report.emptyProperty(expected.getPath(), actual);
+                    report.emptyProperty(path, actual);
                 }
             }
-            case IgnoredProperty ignoredProperty -> report.reportIgnoreProperty(expected.getPath());
+            case IgnoredProperty ignoredProperty -> report.reportIgnoreProperty(path);
             case Property property -> {
                 final Object expectedValue = property.getValue();
-                final ArrayList<ObjectMethod> parentsExtended = new ArrayList<>(parents);
-                parentsExtended.add(new ObjectMethod(actual, expected.getPath()));
-                assertPair(report, parentsExtended, expectedValue, actual, properties, nodesList);
+                final List<ObjectMethod> parentsExtended = ParentChain.append(parents, new ObjectMethod(actual, path));
+                assertPair(report, parentsExtended, expectedValue, actual, properties.inner(fieldName), nodesList, kind);
             }
             case null, default -> throw new IllegalStateException();
         }
@@ -1294,20 +1732,269 @@ public abstract class Fabut extends Assertions {
 
     void assertList(
             final FabutReport report, final List<ObjectMethod> parents, final List<?> expected, final List<?> actual, final List<ISingleProperty> properties) {
+        assertList(report, parents, expected, actual, ExpectedProperties.of(properties));
+    }
+
+    private void assertList(
+            final FabutReport report, final List<ObjectMethod> parents, final List<?> expected, final List<?> actual, final ExpectedProperties properties) {
 
         final String propertyName = getLastPropertyName(parents);
 
         // check sizes
         if (expected.size() != actual.size()) {
             report.listDifferentSizeComment(propertyName, expected.size(), actual.size());
+            assertListDiff(report, propertyName, expected, actual, properties);
         } else {
             // assert every element by index
+            assertElements(report, expected, actual, actual.size(), properties, (elementReport, i) -> {
+                elementReport.assertingListElement(propertyName, i);
+                assertObjects(elementReport, expected.get(i), actual.get(i), properties);
+            });
+        }
+    }
+
+    /**
+     * Asserts lists of different sizes by diffing the keys of their elements. Matched and modified elements
+     * are asserted like list elements of equal-sized lists; removed and inserted ones are reported.
+     */
+    private void assertListDiff(
+            final FabutReport report, final String propertyName, final List<?> expected, final List<?> actual, final ExpectedProperties properties) {
+
+        final List<ListDiff.Edit> edits = ListDiff.diff(elementKeys(expected), elementKeys(actual));
+        assertElements(report, expected, actual, edits.size(), properties, (elementReport, i) -> {
+            final ListDiff.Edit edit = edits.get(i);
+            switch (edit.type()) {
+                case MATCHED, MODIFIED -> {
+                    elementReport.assertingListElement(propertyName, edit.actualIndex());
+                    assertObjects(elementReport, expected.get(edit.expectedIndex()), actual.get(edit.actualIndex()), properties);
+                }
+                case REMOVED -> {
+                    final Object element = expected.get(edit.expectedIndex());
+                    elementReport.removedListElement(propertyName, edit.expectedIndex(), () -> formatValue(element));
+                }
+                case INSERTED -> {
+                    final Object element = actual.get(edit.actualIndex());
+                    elementReport.insertedListElement(propertyName, edit.actualIndex(), () -> formatValue(element));
+                }
+            }
+        });
+    }
+
+    /**
+     * Runs the step for every element index. Large collections without expected properties for their elements
+     * are split into fork/join tasks on {@link #assertionPool}; expected properties are consumed as they are
+     * matched, so they keep the sequential order. Collections holding entities, and subclasses overriding
+     * customAssertEquals or refreshIfProxy, are asserted sequentially, as those touch snapshot or test thread state.
+     */
+    private void assertElements(final FabutReport report, final Collection<?> expected, final Collection<?> actual,
+                                final int count, final ExpectedProperties properties, final ObjIntConsumer<FabutReport> step) {
+
+        final ForkJoinPool pool = assertionPool;
+        if (pool == null || count < Math.max(2, parallelAssertionThreshold) || !properties.isEmpty()
+                || !threadSafeElementAssertions || hasEntityElements(expected) || hasEntityElements(actual)) {
+            for (int i = 0; i < count; i++) {
+                step.accept(report, i);
+            }
+            return;
+        }
+        final int granularity = Math.max(1, count / (pool.getParallelism() * 4));
+        report.append(pool.invoke(new ElementAssertTask(report, step, 0, count, granularity)));
+    }
+
+    private boolean hasEntityElements(final Collection<?> elements) {
+        for (final Object element : elements) {
+            if (element != null && isEntityType(element.getClass())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Object[] elementKeys(final List<?> list) {
+        final Object[] keys = new Object[list.size()];
+        int i = 0;
+        for (final Object element : list) {
+            keys[i++] = elementKey(element);
+        }
+        return keys;
+    }
+
+    /**
+     * Checks whether any element of the collection is of a type in {@link #unorderedTypes}, so a list whose first
+     * elements are of other types or null is still compared regardless of order. Each element class is checked once.
+     */
+    private boolean hasUnorderedElements(final Collection<?> collection) {
+        if (unorderedTypes.isEmpty()) {
+            return false;
+        }
+        Class<?> checkedClass = null;
+        for (final Object element : collection) {
+            if (element != null && element.getClass() != checkedClass) {
+                checkedClass = element.getClass();
+                final Class<?> elementClass = getRealClass(checkedClass);
+                if (unorderedTypes.stream().anyMatch(type -> type.isAssignableFrom(elementClass))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Asserts two collections regardless of element order. Actual elements are indexed by their key once, and every
+     * expected element is matched to an actual element with an equal key, so the join takes linear time.
+     * A changed complex element no longer has its key, so complex elements left unmatched are then paired in order
+     * with unmatched actual elements of the same class. Matched and paired elements are asserted like list elements;
+     * the rest are reported as missing or excess.
+     */
+    private void assertUnorderedCollection(
+            final FabutReport report,
+            final List<ObjectMethod> parents,
+            final Collection<?> expected,
+            final Collection<?> actual,
+            final ExpectedProperties properties) {
+
+        final String propertyName = getLastPropertyName(parents);
+        final List<?> actualElements = actual instanceof List<?> list ? list : new ArrayList<>(actual);
+
+        // index positions of actual elements by key; equal keys keep their actual order
+        final Map<Object, ArrayDeque<Integer>> actualByKey = new HashMap<>();
+        for (int i = 0; i < actualElements.size(); i++) {
+            actualByKey.computeIfAbsent(elementKey(actualElements.get(i)), key -> new ArrayDeque<>()).add(i);
+        }
+
+        final List<?> expectedElements = expected instanceof List<?> expectedList ? expectedList : new ArrayList<>(expected);
+        final int[] matches = new int[expectedElements.size()];
+        final boolean[] matched = new boolean[actualElements.size()];
+        for (int i = 0; i < matches.length; i++) {
+            final ArrayDeque<Integer> candidates = actualByKey.get(elementKey(expectedElements.get(i)));
+            final Integer index = candidates != null ? candidates.poll() : null;
+            matches[i] = index != null ? index : -1;
+            if (index != null) {
+                matched[index] = true;
+            }
+        }
+
+        final Map<Class<?>, ArrayDeque<Integer>> unmatchedByClass = new HashMap<>();
+        for (int i = 0; i < matched.length; i++) {
+            final Class<?> complexClass = matched[i] ? null : complexElementClass(actualElements.get(i));
+            if (complexClass != null) {
+                unmatchedByClass.computeIfAbsent(complexClass, key -> new ArrayDeque<>()).add(i);
+            }
+        }
+        for (int i = 0; i < matches.length && !unmatchedByClass.isEmpty(); i++) {
+            final Class<?> complexClass = matches[i] < 0 ? complexElementClass(expectedElements.get(i)) : null;
+            final ArrayDeque<Integer> candidates = complexClass != null ? unmatchedByClass.get(complexClass) : null;
+            final Integer index = candidates != null ? candidates.poll() : null;
+            if (index != null) {
+                matches[i] = index;
+                matched[index] = true;
+            }
+        }
 
-            for (int i = 0; i < actual.size(); i++) {
-                report.assertingListElement(propertyName, i);
-                assertObjects(report, expected.get(i), actual.get(i), properties);
+        assertElements(report, expectedElements, actualElements, matches.length, properties, (elementReport, i) -> {
+            final Object expectedElement = expectedElements.get(i);
+            if (matches[i] < 0) {
+                elementReport.missingCollectionElement(propertyName, () -> formatValue(expectedElement));
+            } else {
+                final Object actualElement = actualElements.get(matches[i]);
+                elementReport.assertingCollectionElement(propertyName, () -> formatValue(actualElement));
+                assertObjects(elementReport, expectedElement, actualElement, properties);
+            }
+        });
+
+        for (int i = 0; i < matched.length; i++) {
+            if (!matched[i]) {
+                final Object actualElement = actualElements.get(i);
+                report.excessCollectionElement(propertyName, () -> formatValue(actualElement));
+            }
+        }
+    }
+
+    private Object elementKey(final Object element) {
+        return element == null ? null : collectionElementKey(element);
+    }
+
+    /**
+     * @return real class of a complex, non-entity element, or null for any other element
+     */
+    private Class<?> complexElementClass(final Object element) {
+        if (element == null || isEntityType(element.getClass()) || !isComplexType(element.getClass())) {
+            return null;
+        }
+        return getRealClass(element.getClass());
+    }
+
+    /**
+     * Key that joins expected and actual elements of an unordered collection. Elements with equal keys are
+     * asserted against each other. Entities are joined by type and id, complex types by a key generated from
+     * their non-ignored fields, and everything else by the element itself.
+     *
+     * Override to join complex types by a natural key, so that a changed element is asserted against the element
+     * with the same key instead of the next unmatched element of its class.
+     *
+     * @param element non-null collection element
+     * @return the key, compared with equals and hashCode
+     */
+    protected Object collectionElementKey(final Object element) {
+        return generatedKey(element, Collections.newSetFromMap(new IdentityHashMap<>()));
+    }
+
+    private Object generatedKey(final Object value, final Set<Object> visited) {
+        if (value == null) {
+            return null;
+        }
+        final Class<?> clazz = value.getClass();
+        if (isIgnoredType(clazz)) {
+            return getRealClass(clazz);
+        }
+        if (isEntityType(clazz)) {
+            return hasIdMethod(value) ? Arrays.asList(getRealClass(clazz), getIdValue(value)) : value;
+        }
+        if (isComplexType(clazz)) {
+            if (!visited.add(value)) {
+                return getRealClass(clazz);
+            }
+            final ComparisonPlan.FieldSlot[] slots = comparisonPlan(value).slots();
+            final List<Object> key = new ArrayList<>(slots.length + 1);
+            key.add(getRealClass(clazz));
+            for (final ComparisonPlan.FieldSlot slot : slots) {
+                if (!slot.ignored()) {
+                    try {
+                        key.add(generatedKey(slot.read(value), visited));
+                    } catch (final ReflectiveOperationException e) {
+                        key.add(null);
+                    }
+                }
+            }
+            visited.remove(value);
+            return key;
+        }
+        if (value instanceof List<?> list) {
+            final List<Object> key = new ArrayList<>(list.size());
+            for (final Object element : list) {
+                key.add(generatedKey(element, visited));
+            }
+            return key;
+        }
+        if (value instanceof Set<?> set) {
+            final Set<Object> key = new HashSet<>();
+            for (final Object element : set) {
+                key.add(generatedKey(element, visited));
             }
+            return key;
         }
+        if (value instanceof Map<?, ?> map) {
+            final Map<Object, Object> key = new HashMap<>();
+            for (final Map.Entry<?, ?> entry : map.entrySet()) {
+                key.put(entry.getKey(), generatedKey(entry.getValue(), visited));
+            }
+            return key;
+        }
+        if (value instanceof Optional<?> optional) {
+            return Optional.ofNullable(generatedKey(optional.orElse(null), visited));
+        }
+        return value;
     }
 
     void assertMap(
@@ -1317,6 +2004,16 @@ public abstract class Fabut extends Assertions {
             final Map<?, ?> actual,
             final List<ISingleProperty> properties,
             final NodesList nodesList) {
+        assertMap(report, parents, expected, actual, ExpectedProperties.of(properties), nodesList);
+    }
+
+    private void assertMap(
+            final FabutReport report,
+            final List<ObjectMethod> parents,
+            final Map<?, ?> expected,
+            final Map<?, ?> actual,
+            final ExpectedProperties properties,
+            final NodesList nodesList) {
 
         final Set<?> actualKeySet = actual.keySet();
         final Set<?> expectedKeySet = expected.keySet();
@@ -1325,7 +2022,7 @@ public abstract class Fabut extends Assertions {
         for (final Object key : expectedKeySet) {
             if (actualKeySet.contains(key)) {
                 report.assertingMapKey(key);
-                assertPair(report, parents, expected.get(key), actual.get(key), properties, nodesList);
+                assertPair(report, parents, expected.get(key), actual.get(key), properties, nodesList, ValueKind.DYNAMIC);
             }
         }
 
@@ -1337,12 +2034,12 @@ public abstract class Fabut extends Assertions {
         }
     }
 
-    void assertOptional(
+    private void assertOptional(
             final FabutReport report,
             List<ObjectMethod> parents,
             Optional<?> expected,
             Optional<?> actual,
-            final List<ISingleProperty> properties,
+            final ExpectedProperties properties,
             final NodesList nodesList) {
 
         if (expected.isEmpty() && actual.isEmpty()) {
@@ -1361,7 +2058,7 @@ public abstract class Fabut extends Assertions {
         final Object expectedValue = expected.get();
         final Object actualValue = actual.get();
 
-        assertPair(report, parents, expectedValue, actualValue, properties, nodesList);
+        assertPair(report, parents, expectedValue, actualValue, properties, nodesList, ValueKind.DYNAMIC);
     }
 
 
@@ -1377,47 +2074,320 @@ public abstract class Fabut extends Assertions {
             }
         }
 
-        // Take database snapshots with parallel processing for large datasets
-        for (final Map.Entry<Class<?>, Map<Object, CopyAssert>> entry : dbSnapshot.entrySet()) {
-            final List<?> findAll = findAll(entry.getKey());
-            final Map<Object, CopyAssert> entityMap = entry.getValue();
+        changeMarkerWatermarks.clear();
+        final Object baselineKey = snapshotBaselineKey();
+        if (baselineKey != null) {
+            takeBaselineSnapshot(baselineKey, report);
+            return;
+        }
 
-            if (shouldUseParallelProcessing(findAll.size())) {
-                findAll.parallelStream().forEach(entity ->
-                    takeSnapshot(entity, entityMap, report));
-            } else {
-                for (final Object entity : findAll) {
-                    takeSnapshot(entity, entityMap, report);
+        // Copy-on-write needs instrumented setters; without them fall back to eager copies
+        final boolean copyOnWrite = snapshotMode == SnapshotMode.COPY_ON_WRITE
+                && UsageInstrumentation.instrumentSetters(new LinkedHashSet<>(entityTypes));
+
+        // Fetch and copy all entity types on the snapshot executor; failures are reported afterwards in type order
+        final List<Map.Entry<Class<?>, Map<Object, CopyAssert>>> entries = new ArrayList<>(dbSnapshot.entrySet());
+        final List<List<Object>> failures = runForEntityTypes(entries, entry -> takeEntityTypeSnapshot(entry, copyOnWrite, this::offHeapArena));
+        failures.forEach(entityFailures -> entityFailures.forEach(report::noCopy));
+
+        if (copyOnWrite) {
+            copyOnWriteTracker.activate();
+        }
+    }
+
+    /**
+     * Captures every entity of one type into the entry's snapshot map in the selected {@link #snapshotMode}.
+     * Entities without an id are left out, as the after-state check cannot match them either.
+     *
+     * @param arena native memory for {@link SnapshotMode#OFF_HEAP} entries
+     * @return entities that could not be copied, in source order
+     */
+    private List<Object> takeEntityTypeSnapshot(final Map.Entry<Class<?>, Map<Object, CopyAssert>> entry, final boolean copyOnWrite,
+                                                final Supplier<OffHeapSnapshotArena> arena) {
+        final Map<Object, CopyAssert> entityMap = entry.getValue();
+
+        if (copyOnWrite) {
+            try (Stream<?> entities = snapshotSource(entry.getKey()).open()) {
+                entities.forEach(entity -> {
+                    recordChangeMarker(entry.getKey(), entity);
+                    watchSnapshot(entity, entityMap);
+                });
+            }
+            return List.of();
+        } else if (snapshotMode == SnapshotMode.COLUMNAR) {
+            return takeColumnarSnapshot(entry);
+        } else if (snapshotMode == SnapshotMode.FINGERPRINT || snapshotMode == SnapshotMode.OFF_HEAP) {
+            return forEachSnapshotEntity(entry.getKey(), entity -> takeFingerprintSnapshot(entity, entityMap, arena));
+        } else {
+            return forEachSnapshotEntity(entry.getKey(), entity -> takeSnapshot(entity, entityMap));
+        }
+    }
+
+    /**
+     * Runs the task once per item on {@link #snapshotExecutor} and returns the results in item order.
+     */
+    private <T, R> List<R> runForEntityTypes(final List<T> items, final Function<T, R> task) {
+        final List<R> results = new ArrayList<>(Collections.nCopies(items.size(), null));
+        final List<Runnable> tasks = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            final int index = i;
+            tasks.add(() -> results.set(index, task.apply(items.get(index))));
+        }
+        snapshotExecutor.runAll(tasks);
+        return results;
+    }
+
+    /**
+     * Records the entity's fingerprint and encoded values instead of a copy.
+     * Entities that cannot be rebuilt from their getter values are copied as usual.
+     */
+    private boolean takeFingerprintSnapshot(final Object entity, final Map<Object, CopyAssert> entityMap,
+                                            final Supplier<OffHeapSnapshotArena> arena) {
+        final EntityLayout layout = entityLayout(entity.getClass());
+        if (layout == null) {
+            return takeSnapshot(entity, entityMap);
+        }
+        final Object id = getIdValue(entity);
+        if (id == null) {
+            return true;
+        }
+        try {
+            final EntityFingerprinter fingerprinter = fingerprinters.computeIfAbsent(entity.getClass(), type -> new EntityFingerprinter(layout));
+            final CopyAssert copyAssert = snapshotMode == SnapshotMode.OFF_HEAP
+                    ? fingerprinter.snapshot(entity, arena.get())
+                    : fingerprinter.snapshot(entity);
+            entityMap.put(id, copyAssert);
+            return true;
+        } catch (final ReflectiveOperationException e) {
+            return false;
+        }
+    }
+
+    private synchronized OffHeapSnapshotArena offHeapArena() {
+        if (offHeapArena == null) {
+            offHeapArena = new OffHeapSnapshotArena();
+        }
+        return offHeapArena;
+    }
+
+    synchronized OffHeapSnapshotArena currentOffHeapArena() {
+        return offHeapArena;
+    }
+
+    /**
+     * Frees the native memory of the current snapshot. Entries stored in it cannot be read afterwards.
+     */
+    private synchronized void releaseOffHeapSnapshot() {
+        if (offHeapArena != null) {
+            offHeapArena.close();
+            offHeapArena = null;
+        }
+    }
+
+    /**
+     * Replaces the snapshot map of the entity type with a columnar store.
+     * Entities of other classes than the registered one are copied as usual and kept beside the columns.
+     */
+    private List<Object> takeColumnarSnapshot(final Map.Entry<Class<?>, Map<Object, CopyAssert>> entry) {
+        final EntityLayout layout = entityLayout(entry.getKey());
+        if (layout == null || layout.getters().stream().noneMatch(getter -> getter.getName().equals(GET_ID))) {
+            return forEachSnapshotEntity(entry.getKey(), entity -> takeSnapshot(entity, entry.getValue()));
+        }
+
+        final ColumnarSnapshotStore store = new ColumnarSnapshotStore(layout);
+        final List<Object> failures = forEachSnapshotEntity(entry.getKey(), entity -> {
+            if (!store.accepts(entity.getClass())) {
+                return takeSnapshot(entity, store);
+            }
+            try {
+                store.append(entity);
+                return true;
+            } catch (final ReflectiveOperationException e) {
+                return false;
+            }
+        });
+        entry.setValue(store);
+        return failures;
+    }
+
+    /**
+     * Getters and rebuild function used by the compact snapshot modes, or null if the class
+     * cannot be rebuilt from its getter values.
+     */
+    private EntityLayout entityLayout(final Class<?> entityClass) {
+        return entityLayouts.computeIfAbsent(entityClass, this::createEntityLayout).orElse(null);
+    }
+
+    private Optional<EntityLayout> createEntityLayout(final Class<?> entityClass) {
+        final Supplier<Object> constructor;
+        try {
+            constructor = Accessors.constructor(entityClass);
+        } catch (final NoSuchMethodException e) {
+            return Optional.empty();
+        }
+
+        final List<Method> getters = new ArrayList<>();
+        for (final Method getMethod : getMethods(entityClass).values()) {
+            if (getMethod.getParameterAnnotations().length == 0 && !isCollectionClass(getMethod.getReturnType())) {
+                if (findSetMethod(entityClass, SET_METHOD_PREFIX + getMethod.getName().substring(3)) == null
+                        || findField(entityClass, getFieldNameOfGet(getMethod)) == null) {
+                    return Optional.empty();
+                }
+                getters.add(getMethod);
+            }
+        }
+
+        final List<ValueReader> readers = getters.stream().map(Accessors::reader).toList();
+        return Optional.of(new EntityLayout(entityClass, getters, readers, this::isSameSnapshotReference, values -> {
+            try {
+                final Object copy = Accessors.newInstance(constructor);
+                for (int i = 0; i < values.length; i++) {
+                    writeCopyField(copy, getters.get(i), values[i]);
                 }
+                return copy;
+            } catch (final ReflectiveOperationException | CopyException e) {
+                throw new IllegalStateException("Cannot rebuild snapshot copy of " + entityClass.getSimpleName(), e);
+            }
+        }));
+    }
+
+    /**
+     * Values kept by reference in a compact snapshot are unchanged if they are the same instance, entities of the
+     * same class with the same id, matching how entity references are asserted, or equal values of other types.
+     * Entities and values reloaded by the ORM are new instances, so identity alone would report them as changed.
+     */
+    private boolean isSameSnapshotReference(final Object before, final Object after) {
+        if (before == after) {
+            return true;
+        }
+        if (before == null || after == null) {
+            return false;
+        }
+        final boolean beforeIsEntity = isEntityType(before.getClass());
+        if (beforeIsEntity || isEntityType(after.getClass())) {
+            return beforeIsEntity && getRealClass(before.getClass()) == getRealClass(after.getClass())
+                    && hasIdMethod(before) && Objects.equals(getIdValue(before), getIdValue(after));
+        }
+        return !isComplexType(before.getClass()) && before.equals(after);
+    }
+
+    /**
+     * Runs the action for every entity of the type, in parallel for large sources of known size.
+     *
+     * The change marker of every entity is recorded by the same step that stores its snapshot, so it is recorded
+     * whether or not the entity could be copied.
+     *
+     * @param action stores the entity's snapshot, returns false if it could not be copied
+     * @return entities that could not be copied, in source order
+     */
+    private List<Object> forEachSnapshotEntity(final Class<?> entityType, final Predicate<Object> action) {
+        final Predicate<Object> snapshotEntity = entity -> {
+            recordChangeMarker(entityType, entity);
+            return action.test(entity);
+        };
+        try (Stream<?> entities = snapshotSource(entityType).open()) {
+            // Only sources of known size (e.g. findAll lists) are split across threads
+            final Spliterator<?> spliterator = entities.spliterator();
+            return StreamSupport.stream(spliterator, shouldUseParallelProcessing(spliterator.getExactSizeIfKnown()))
+                    .filter(entity -> !snapshotEntity.test(entity))
+                    .<Object>map(entity -> entity)
+                    .toList();
+        }
+    }
+
+    /**
+     * Points the snapshot of every entity type at a per-test layer over the shared baseline,
+     * taking the baseline first if there is none for this class and key.
+     */
+    private void takeBaselineSnapshot(final Object baselineKey, final FabutReport report) {
+        SnapshotBaseline baseline;
+        synchronized (snapshotBaselines) {
+            baseline = snapshotBaselines.get(getClass());
+        }
+        if (baseline == null || !baseline.matches(baselineKey, entityTypes)) {
+            baseline = createSnapshotBaseline(baselineKey);
+            synchronized (snapshotBaselines) {
+                snapshotBaselines.put(getClass(), baseline);
             }
         }
+
+        final SnapshotBaseline current = baseline;
+        dbSnapshot.replaceAll((entityType, entityMap) -> current.newLayer(entityType));
+        for (final Object entity : current.getFailures()) {
+            report.noCopy(entity);
+        }
+        // Only the test that took the baseline has read the repository
+        changeMarkerWatermarks.clear();
+    }
+
+    /**
+     * Captures every entity type in the selected {@link #snapshotMode}. Copy-on-write copies eagerly instead,
+     * as later tests never see the instances it would watch. Off-heap values go to native memory owned by the
+     * baseline, freed once the baseline is no longer reachable.
+     */
+    private SnapshotBaseline createSnapshotBaseline(final Object baselineKey) {
+        final Map<Class<?>, Map<Object, CopyAssert>> entries = new LinkedHashMap<>();
+        for (final Class<?> entityType : entityTypes) {
+            entries.put(entityType, new ConcurrentHashMap<>());
+        }
+        final OffHeapSnapshotArena arena = snapshotMode == SnapshotMode.OFF_HEAP ? OffHeapSnapshotArena.automatic() : null;
+
+        final List<List<Object>> typeFailures = runForEntityTypes(new ArrayList<>(entries.entrySet()),
+                entry -> takeEntityTypeSnapshot(entry, false, () -> arena));
+
+        final List<Object> failures = new ArrayList<>();
+        typeFailures.forEach(failures::addAll);
+        return new SnapshotBaseline(baselineKey, entries, failures);
     }
 
-    private void takeSnapshot(Object entity, Map<Object, CopyAssert> entityMap, FabutReport report) {
+    private boolean takeSnapshot(final Object entity, final Map<Object, CopyAssert> entityMap) {
         try {
             final Object id = getIdValue(entity);  // Only call once
+            if (id == null) {
+                return true;
+            }
             final Object copy = createCopyObject(entity, new NodesList());
             entityMap.put(id, new CopyAssert(copy));
+            return true;
         } catch (final CopyException e) {
-            report.noCopy(entity);
+            return false;
         }
     }
 
-    private Map<Object, Object> getAfterEntities(final Class<?> clazz) {
-        final Map<Object, Object> afterEntities = new HashMap<>();
-        final List<?> entities = findAll(clazz);
-        for (final Object entity : entities) {
-            final Object id = ReflectionUtil.getIdValue(entity);
-            if (id != null) {
-                afterEntities.put(id, entity);
-            }
+    /**
+     * Records the live entity in the snapshot and defers its copy to the first setter call.
+     * Until then the live instance itself holds the snapshot state.
+     */
+    private void watchSnapshot(final Object entity, final Map<Object, CopyAssert> entityMap) {
+        final Object id = getIdValue(entity);
+        if (id == null) {
+            return;
         }
-        return afterEntities;
+        final CopyAssert copyAssert = new CopyAssert(entity);
+        entityMap.put(id, copyAssert);
+        copyOnWriteTracker.watch(entity, () -> {
+            // Getter calls and constructors run by the copy must not count as usage
+            final UsageTracker tracker = UsageTracker.getCurrent();
+            final boolean tracking = tracker != null && tracker.isActive();
+            if (tracking) {
+                tracker.pause();
+            }
+            try {
+                copyAssert.setEntity(createCopyObject(entity, new NodesList()));
+            } catch (final CopyException e) {
+                copyOnWriteFailures.add(entity);
+            } finally {
+                if (tracking) {
+                    tracker.resume();
+                }
+            }
+        });
     }
 
+
     private boolean doesExistInSnapshot(final Object entity) {
         final Object id = getIdValue(entity);
-        final Class<?> entityClass = entity.getClass();
+        final Class<?> entityClass = getRealClass(entity.getClass());
         final Map<Object, CopyAssert> map = dbSnapshot.get(entityClass);
         return map != null && map.get(id) != null;
     }
@@ -1451,16 +2421,215 @@ public abstract class Fabut extends Assertions {
     }
 
     void assertDbSnapshot(final FabutReport report) {
+        for (final Object entity : new ArrayList<>(copyOnWriteFailures)) {
+            report.noCopy(entity);
+        }
+
         // assert entities by classes
         for (final Map.Entry<Class<?>, Map<Object, CopyAssert>> snapshotEntry : dbSnapshot.entrySet()) {
-            final Map<Object, Object> afterEntities = getAfterEntities(snapshotEntry.getKey());
-            final Set<?> beforeIds = new HashSet<>(snapshotEntry.getValue().keySet());
-            final Set<?> afterIds = new HashSet<>(afterEntities.keySet());
+            assertEntityTypeAfterState(snapshotEntry.getKey(), snapshotEntry.getValue(), report);
+        }
+    }
+
+    /**
+     * Streams the after state of one entity type against its snapshot.
+     * Entities present in both are compared as they arrive; only ids and newly created entities are retained.
+     * Updated entities are reported after the deleted and created ones, as {@link #assertDbSnapshotWithAfterState} does.
+     */
+    private void assertEntityTypeAfterState(final Class<?> clazz, final Map<Object, CopyAssert> beforeEntities, final FabutReport report) {
+        final Collection<?> currentIds = findAllIds(clazz);
+        if (currentIds != null) {
+            assertDbSnapshotWithAfterIds(clazz, beforeEntities, currentIds, report);
+            return;
+        }
+
+        final Set<?> beforeIds = new HashSet<>(beforeEntities.keySet());
+        final Set<Object> afterIds = new HashSet<>();
+        final Map<Object, Object> createdEntities = new LinkedHashMap<>();
+        final FabutReport updated = report.fork();
+
+        try (Stream<?> entities = snapshotSource(clazz).open()) {
+            FabutReport spare = null;
+            for (final Iterator<?> iterator = entities.iterator(); iterator.hasNext(); ) {
+                final Object afterEntity = iterator.next();
+                final Object id = ReflectionUtil.getIdValue(afterEntity);
+                if (id == null || !afterIds.add(id)) {
+                    continue;
+                }
+                final CopyAssert copyAssert = beforeEntities.get(id);
+                if (copyAssert == null) {
+                    createdEntities.put(id, afterEntity);
+                } else if (!copyAssert.isAsserted() && !isUnchangedSinceSnapshot(clazz, copyAssert, afterEntity)) {
+                    spare = assertSnapshotEntity(copyAssert.getEntity(), afterEntity, updated, spare);
+                }
+            }
+        }
+
+        checkNotExistingInAfterDbState(beforeIds, afterIds, beforeEntities, report);
+        checkNewToAfterDbState(beforeIds, createdEntities.keySet(), createdEntities, report);
+        report.append(updated);
+    }
+
+    /**
+     * Checks the after state of one entity type from its current ids. Full entities are loaded in pages of
+     * {@value #AFTER_STATE_BATCH_SIZE} only for created entities and for snapshot entities not asserted during
+     * the test; apart from ids, only created entities are retained.
+     */
+    private void assertDbSnapshotWithAfterIds(final Class<?> clazz, final Map<Object, CopyAssert> beforeEntities,
+                                              final Collection<?> currentIds, final FabutReport report) {
+        final Set<?> beforeIds = new HashSet<>(beforeEntities.keySet());
+        final Set<Object> afterIds = new LinkedHashSet<>(currentIds);
+        final Map<Object, Object> changedEntities = findChangedSinceSnapshot(clazz);
+        final Map<Object, Object> createdEntities = new LinkedHashMap<>();
+        final FabutReport updated = report.fork();
+
+        final List<Object> page = new ArrayList<>(AFTER_STATE_BATCH_SIZE);
+        for (final Object id : afterIds) {
+            final CopyAssert copyAssert = beforeEntities.get(id);
+            if (copyAssert == null || (!copyAssert.isAsserted() && (changedEntities == null || changedEntities.containsKey(id)))) {
+                page.add(id);
+                if (page.size() == AFTER_STATE_BATCH_SIZE) {
+                    assertAfterIdsPage(clazz, page, beforeEntities, changedEntities, createdEntities, updated);
+                    page.clear();
+                }
+            }
+        }
+        if (!page.isEmpty()) {
+            assertAfterIdsPage(clazz, page, beforeEntities, changedEntities, createdEntities, updated);
+        }
+
+        checkNotExistingInAfterDbState(beforeIds, afterIds, beforeEntities, report);
+        checkNewToAfterDbState(beforeIds, createdEntities.keySet(), createdEntities, report);
+        report.append(updated);
+    }
+
+    /**
+     * Loads one page of candidate ids and compares the loaded entities with their snapshot, collecting created ones.
+     * Entities already loaded for the current verify batch are reused; entities verified before were released and
+     * are asserted, so they are not candidates at all.
+     * An id that cannot be loaded is reported, as the entity is neither compared nor found deleted otherwise.
+     */
+    private void assertAfterIdsPage(final Class<?> clazz, final List<Object> ids, final Map<Object, CopyAssert> beforeEntities,
+                                    final Map<Object, Object> changedEntities, final Map<Object, Object> createdEntities,
+                                    final FabutReport report) {
+        final Map<Object, Object> loaded = new HashMap<>();
+        final List<Object> toLoad = new ArrayList<>(ids.size());
+        for (final Object id : ids) {
+            final Object changed = changedEntities != null ? changedEntities.get(id) : null;
+            final Object cached = changed != null ? changed : afterStateCache.get(clazz, id);
+            if (cached != null) {
+                loaded.put(id, cached);
+            } else {
+                toLoad.add(id);
+            }
+        }
+        if (!toLoad.isEmpty()) {
+            for (final Object entity : findByIds(clazz, toLoad)) {
+                loaded.put(getIdValue(entity), entity);
+            }
+        }
+
+        FabutReport spare = null;
+        for (final Object id : ids) {
+            final Object afterEntity = loaded.get(id);
+            if (afterEntity == null) {
+                report.entityNotLoaded(clazz, id);
+                continue;
+            }
+            final CopyAssert copyAssert = beforeEntities.get(id);
+            if (copyAssert == null) {
+                createdEntities.put(id, afterEntity);
+            } else if (!isUnchangedSinceSnapshot(clazz, copyAssert, afterEntity)) {
+                spare = assertSnapshotEntity(copyAssert.getEntity(), afterEntity, report, spare);
+            }
+        }
+    }
+
+    /**
+     * Loads the entities changed since the snapshot.
+     *
+     * @return the changed entities by id, or null if every entity has to be checked
+     */
+    private Map<Object, Object> findChangedSinceSnapshot(final Class<?> clazz) {
+        final Optional<Comparable<Object>> watermark = changeMarkerWatermarks.getOrDefault(clazz, Optional.empty());
+        final Collection<?> changed = watermark.isPresent() ? findChangedSince(clazz, watermark.get()) : null;
+        if (changed == null) {
+            return null;
+        }
+        final Map<Object, Object> changedEntities = new HashMap<>();
+        for (final Object entity : changed) {
+            changedEntities.put(getIdValue(entity), entity);
+        }
+        return changedEntities;
+    }
+
+    /**
+     * Checks whether a snapshot entity can be skipped without comparing it field by field: compact snapshots
+     * compare their recorded values, copies compare the change marker fields of the entity type.
+     */
+    private boolean isUnchangedSinceSnapshot(final Class<?> clazz, final CopyAssert copyAssert, final Object afterEntity) {
+        if (copyAssert instanceof LazyCopyAssert lazy) {
+            return lazy.matches(afterEntity);
+        }
+        if (!changeMarkerFields.containsKey(clazz)) {
+            return false;
+        }
+        final Object beforeEntity = copyAssert.getEntity();
+        if (beforeEntity.getClass() != afterEntity.getClass()) {
+            return false;
+        }
+        try {
+            for (final Method getter : changeMarkerGetters(clazz, afterEntity.getClass())) {
+                final Object marker = getter.invoke(afterEntity);
+                if (marker == null || !marker.equals(getter.invoke(beforeEntity))) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (final ReflectiveOperationException e) {
+            return false;
+        }
+    }
 
-            checkNotExistingInAfterDbState(beforeIds, afterIds, snapshotEntry.getValue(), report);
-            checkNewToAfterDbState(beforeIds, afterIds, afterEntities, report);
-            assertDbSnapshotWithAfterState(beforeIds, afterIds, snapshotEntry.getValue(), afterEntities, report);
+    /**
+     * Keeps the highest first change marker of the entity type. Only timestamps are kept: a version counter
+     * grows per entity, so an entity changed since the snapshot can still have a lower version than the highest
+     * one. A missing or non-timestamp marker means changes since the snapshot cannot be looked up by marker.
+     */
+    @SuppressWarnings("unchecked")
+    private void recordChangeMarker(final Class<?> entityType, final Object entity) {
+        if (!changeMarkerFields.containsKey(entityType)) {
+            return;
+        }
+        Optional<Comparable<Object>> marker = Optional.empty();
+        try {
+            final Object value = changeMarkerGetters(entityType, entity.getClass()).getFirst().invoke(entity);
+            if ((value instanceof Temporal || value instanceof Date) && value instanceof Comparable<?> comparable) {
+                marker = Optional.of((Comparable<Object>) comparable);
+            }
+        } catch (final ReflectiveOperationException e) {
+            // no usable marker
         }
+        changeMarkerWatermarks.merge(entityType, marker, (current, next) -> current.isEmpty() || next.isEmpty()
+                ? Optional.empty()
+                : current.get().compareTo(next.get()) >= 0 ? current : next);
+    }
+
+    private List<Method> changeMarkerGetters(final Class<?> entityType, final Class<?> entityClass) {
+        return changeMarkerGetters.computeIfAbsent(entityClass, c -> {
+            final List<Method> getters = new ArrayList<>();
+            for (final String fieldName : changeMarkerFields.get(entityType)) {
+                Method getter = findGetMethod(c, "get" + StringUtils.capitalize(fieldName));
+                if (getter == null) {
+                    getter = findGetMethod(c, "is" + StringUtils.capitalize(fieldName));
+                }
+                if (getter == null) {
+                    throw new IllegalStateException("No getter for change marker field " + fieldName + " of " + c.getSimpleName());
+                }
+                getters.add(getter);
+            }
+            return getters;
+        });
     }
 
     void checkNotExistingInAfterDbState(final Set<?> beforeIds, final Set<?> afterIds, final Map<Object, CopyAssert> beforeEntities, final FabutReport report) {
@@ -1574,19 +2743,39 @@ public abstract class Fabut extends Assertions {
         beforeIdsCopy.retainAll(afterIds);
 
         // Sequential processing to properly track modifications
+        FabutReport spare = null;
         for (final Object id : beforeIdsCopy) {
             CopyAssert copyAssert = beforeEntities.get(id);
             if (!copyAssert.isAsserted()) {
-                Object beforeEntity = copyAssert.getEntity();
-                Object afterEntity = afterEntities.get(id);
-
-                FabutReport subReport = report.getSubReport(() -> "UPDATED: " + entityPath(beforeEntity));
-                subReport.setAssertionContext(ENTITY_WITH_SNAPSHOT);
-                assertObjects(subReport, beforeEntity, afterEntity, new ArrayList<>());
+                spare = assertSnapshotEntity(copyAssert.getEntity(), afterEntities.get(id), report, spare);
             }
         }
     }
 
+    /**
+     * Compares one snapshot entity with its after state. The entity gets its own subreport only if the comparison
+     * fails; the report of an equal entity is cleared and handed back, so the caller's loop can reuse it for the
+     * next entity.
+     *
+     * @param spare cleared report returned by the previous call of the same loop, or null
+     * @return cleared report for the next call, or null if the report was attached as a subreport
+     */
+    private FabutReport assertSnapshotEntity(final Object beforeEntity, final Object afterEntity, final FabutReport report,
+                                             final FabutReport spare) {
+        final FabutReport entityReport = spare != null ? spare : report.fork();
+        entityReport.setAssertionContext(ENTITY_WITH_SNAPSHOT);
+        assertObjects(entityReport, beforeEntity, afterEntity, ExpectedProperties.empty());
+        if (entityReport.isSuccess()) {
+            entityReport.reset();
+            return entityReport;
+        }
+        report.addSubReport(() -> "UPDATED: " + entityPath(beforeEntity), entityReport);
+        return null;
+    }
+
+    /** Maximum number of ids passed to one findByIds call */
+    private static final int AFTER_STATE_BATCH_SIZE = 1000;
+
     /** Thread pool size for parallel processing */
     private static final int PARALLEL_THRESHOLD = 50;
 
@@ -1596,7 +2785,7 @@ public abstract class Fabut extends Assertions {
      * @param size Collection size to check
      * @return true if parallel processing should be used
      */
-    private boolean shouldUseParallelProcessing(int size) {
+    private boolean shouldUseParallelProcessing(long size) {
         // Only use parallel processing in non-test environments
         // This preserves exact output format compatibility with existing tests
         final boolean sizeGreaterThenThrashodl = size > PARALLEL_THRESHOLD;
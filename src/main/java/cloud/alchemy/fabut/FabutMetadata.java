@@ -0,0 +1,116 @@
+package cloud.alchemy.fabut;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Per-class metadata derived from a type registration, shared by every Fabut instance in the JVM with the same
+ * registration. JUnit creates a test instance per test method, so sharing it keeps plans built by earlier tests.
+ * Metadata of the {@value #MAX_SHARED} most recently used registrations is kept.
+ */
+final class FabutMetadata {
+
+    /** Categories a class can be registered in. */
+    enum TypeCategory { ENTITY, COMPLEX, IGNORED }
+
+    /**
+     * Everything the shared metadata depends on.
+     *
+     * @param entityTypes registered entity types
+     * @param complexTypes registered complex types
+     * @param ignoredTypes registered ignored types
+     * @param ignoredFields ignored fields per type
+     * @param unorderedFields unordered collection fields per type
+     * @param classifier most derived class overriding one of the type check methods, or Fabut if none does
+     */
+    record Registration(
+            Set<Class<?>> entityTypes,
+            Set<Class<?>> complexTypes,
+            Set<Class<?>> ignoredTypes,
+            Map<Class<?>, Set<String>> ignoredFields,
+            Map<Class<?>, Set<String>> unorderedFields,
+            Class<?> classifier) {
+
+        static Registration of(
+                final Collection<Class<?>> entityTypes,
+                final Collection<Class<?>> complexTypes,
+                final Collection<Class<?>> ignoredTypes,
+                final Map<Class<?>, List<String>> ignoredFields,
+                final Map<Class<?>, List<String>> unorderedFields,
+                final Class<?> classifier) {
+            return new Registration(Set.copyOf(entityTypes), Set.copyOf(complexTypes), Set.copyOf(ignoredTypes),
+                    fieldSets(ignoredFields), fieldSets(unorderedFields), classifier);
+        }
+
+        private static Map<Class<?>, Set<String>> fieldSets(final Map<Class<?>, List<String>> fields) {
+            return fields.entrySet().stream().collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, e -> Set.copyOf(e.getValue())));
+        }
+    }
+
+    // registrations hold the registered classes, so only the most recently used ones are kept
+    private static final int MAX_SHARED = 16;
+    private static final Map<Registration, FabutMetadata> SHARED = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Registration, FabutMetadata> eldest) {
+            return size() > MAX_SHARED;
+        }
+    };
+
+    final PerClass<EnumSet<TypeCategory>> typeCategories = new PerClass<>();
+    final PerClass<List<Method>> sortedMethods = new PerClass<>();
+    final PerClass<ComparisonPlan> comparisonPlans = new PerClass<>();
+
+    private FabutMetadata() {}
+
+    /**
+     * @param registration type registration of a Fabut instance
+     * @return metadata shared by all instances with an equal registration
+     */
+    static FabutMetadata of(final Registration registration) {
+        synchronized (SHARED) {
+            return SHARED.computeIfAbsent(registration, r -> new FabutMetadata());
+        }
+    }
+
+    /**
+     * Values computed once per class. They are stored with the class through a {@link ClassValue}, so they
+     * do not keep the class from being unloaded.
+     */
+    static final class PerClass<V> {
+
+        private final ClassValue<AtomicReference<V>> values = new ClassValue<>() {
+            @Override
+            protected AtomicReference<V> computeValue(final Class<?> type) {
+                return new AtomicReference<>();
+            }
+        };
+
+        /**
+         * @return the value of the class, computed on first call; a racing thread may compute it twice, the first one is kept
+         */
+        V computeIfAbsent(final Class<?> type, final Function<Class<?>, V> compute) {
+            final AtomicReference<V> holder = values.get(type);
+            final V current = holder.get();
+            if (current != null) {
+                return current;
+            }
+            final V computed = compute.apply(type);
+            return holder.compareAndSet(null, computed) ? computed : holder.get();
+        }
+
+        /**
+         * @return the value of the class, or null if it was not computed yet
+         */
+        V getIfPresent(final Class<?> type) {
+            return values.get(type).get();
+        }
+    }
+}
@@ -89,6 +89,58 @@ class FabutReport {
         return newSubReport;
     }
 
+    /**
+     * Creates an empty report for work split off this report, with the same assertion context.
+     * Its content is added back with {@link #append(FabutReport)}.
+     *
+     * @return the new report, not attached to this one
+     */
+    FabutReport fork() {
+        final FabutReport forked = new FabutReport();
+        forked.assertionContext = assertionContext;
+        return forked;
+    }
+
+    /**
+     * Appends everything recorded in a forked report, as if it had been recorded in this report.
+     *
+     * @param forked report created by {@link #fork()}
+     */
+    void append(final FabutReport forked) {
+        messages.addAll(forked.messages);
+        codes.addAll(forked.codes);
+        subReports.addAll(forked.subReports);
+        forked.entityChanges.forEach((changeType, changes) ->
+            entityChanges.computeIfAbsent(changeType, k -> new ArrayList<>()).addAll(changes));
+        if (!forked.success) {
+            success = false;
+        }
+    }
+
+    /**
+     * Attaches a report created by {@link #fork()} as a subreport with the given message.
+     *
+     * @param message message heading the subreport
+     * @param subReport the forked report
+     */
+    void addSubReport(final FabutToString message, final FabutReport subReport) {
+        Objects.requireNonNull(message, "Subreport message cannot be null");
+        subReport.messages.addFirst(message);
+        subReports.add(subReport);
+    }
+
+    /**
+     * Clears this report so it can be reused, keeping the capacity of its lists.
+     */
+    void reset() {
+        success = true;
+        subReports.clear();
+        messages.clear();
+        codes.clear();
+        entityChanges.clear();
+        assertionContext = AssertionContext.NEW_OBJECT;
+    }
+
     /**
      * Gets the complete message for this report.
      *
@@ -256,6 +308,38 @@ class FabutReport {
         addComment("Asserting object at index [" + index + "] of list " + listName + ".", CommentType.COLLECTION);
     }
 
+    void removedListElement(final String listName, final int expectedIndex, final Supplier<String> element) {
+        addLazyComment(
+            () -> "REMOVED ELEMENT: " + listName + " expected " + element.get() + " at index [" + expectedIndex + "], but it was not found",
+            CommentType.FAIL
+        );
+    }
+
+    void insertedListElement(final String listName, final int actualIndex, final Supplier<String> element) {
+        addLazyComment(
+            () -> "INSERTED ELEMENT: " + listName + " contains unexpected " + element.get() + " at index [" + actualIndex + "]",
+            CommentType.FAIL
+        );
+    }
+
+    void assertingCollectionElement(final String collectionName, final Supplier<String> element) {
+        addLazyComment(() -> "Asserting element " + element.get() + " of collection " + collectionName + ".", CommentType.COLLECTION);
+    }
+
+    void missingCollectionElement(final String collectionName, final Supplier<String> element) {
+        addLazyComment(
+            () -> "MISSING ELEMENT: " + collectionName + " expected to contain " + element.get() + ", but it was not found",
+            CommentType.FAIL
+        );
+    }
+
+    void excessCollectionElement(final String collectionName, final Supplier<String> element) {
+        addLazyComment(
+            () -> "EXCESS ELEMENT: " + collectionName + " contains unexpected " + element.get(),
+            CommentType.FAIL
+        );
+    }
+
     void noEntityInSnapshot(final Object entity) {
         addLazyComment(
             () -> "NOT IN SNAPSHOT: " + entity
@@ -273,6 +357,15 @@ class FabutReport {
         );
     }
 
+    void entityNotLoaded(final Class<?> clazz, final Object id) {
+        addLazyComment(
+            () -> "NOT LOADED: " + clazz.getSimpleName() + " with id " + id
+                + "\n    findAllIds() returned this id but findByIds() did not return its entity."
+                + "\n    Fix: make findByIds(...) return the entity of every existing id it is given",
+            CommentType.FAIL
+        );
+    }
+
     void entityNotAssertedInAfterState(final Object entity) {
         addLazyComment(
             () -> "UNASSERTED ENTITY: " + entity
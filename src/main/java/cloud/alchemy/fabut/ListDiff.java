@@ -0,0 +1,155 @@
+package cloud.alchemy.fabut;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Ordered diff of two lists of element keys. The common prefix and suffix are matched directly and the rest
+ * is diffed with Myers' O(ND) algorithm, so lists that differ in a few elements cost close to linear time.
+ * Between two matched elements, removed and inserted elements are paired up as modified elements.
+ */
+final class ListDiff {
+
+    /**
+     * Edit distance above which the unmatched middle of the lists is paired up by position instead of diffed.
+     * Keeps the stored Myers trace, which grows with the square of the distance, bounded.
+     */
+    static final int MAX_EDIT_DISTANCE = 2048;
+
+    enum EditType { MATCHED, MODIFIED, REMOVED, INSERTED }
+
+    /**
+     * One element of the diff.
+     *
+     * @param type what happened to the element
+     * @param expectedIndex index in the expected list, or -1 for an inserted element
+     * @param actualIndex index in the actual list, or -1 for a removed element
+     */
+    record Edit(EditType type, int expectedIndex, int actualIndex) {}
+
+    private ListDiff() {}
+
+    /**
+     * @param expectedKeys keys of the expected elements, compared with equals
+     * @param actualKeys keys of the actual elements, compared with equals
+     * @return edits in list order
+     */
+    static List<Edit> diff(final Object[] expectedKeys, final Object[] actualKeys) {
+        final int n = expectedKeys.length;
+        final int m = actualKeys.length;
+
+        int prefix = 0;
+        while (prefix < n && prefix < m && Objects.equals(expectedKeys[prefix], actualKeys[prefix])) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < n - prefix && suffix < m - prefix
+                && Objects.equals(expectedKeys[n - 1 - suffix], actualKeys[m - 1 - suffix])) {
+            suffix++;
+        }
+
+        final int[] matches = new int[n];
+        Arrays.fill(matches, -1);
+        for (int i = 0; i < prefix; i++) {
+            matches[i] = i;
+        }
+        for (int i = 0; i < suffix; i++) {
+            matches[n - 1 - i] = m - 1 - i;
+        }
+        matchMiddle(expectedKeys, prefix, n - suffix, actualKeys, prefix, m - suffix, matches);
+
+        return edits(matches, m);
+    }
+
+    /**
+     * Runs Myers' algorithm on expected[expectedFrom, expectedTo) and actual[actualFrom, actualTo),
+     * recording matched positions. Leaves everything unmatched if the edit distance exceeds {@link #MAX_EDIT_DISTANCE}.
+     */
+    private static void matchMiddle(
+            final Object[] expected, final int expectedFrom, final int expectedTo,
+            final Object[] actual, final int actualFrom, final int actualTo,
+            final int[] matches) {
+        final int n = expectedTo - expectedFrom;
+        final int m = actualTo - actualFrom;
+        if (n == 0 || m == 0) {
+            return;
+        }
+        final int max = Math.min(n + m, MAX_EDIT_DISTANCE);
+        final int offset = max + 1;
+        final int[] v = new int[2 * max + 3];
+        // trace.get(d) holds v[-d - 1 .. d + 1] as it was before step d
+        final List<int[]> trace = new ArrayList<>();
+
+        for (int d = 0; d <= max; d++) {
+            trace.add(Arrays.copyOfRange(v, offset - d - 1, offset + d + 2));
+            for (int k = -d; k <= d; k += 2) {
+                int x = k == -d || (k != d && v[offset + k - 1] < v[offset + k + 1]) ? v[offset + k + 1] : v[offset + k - 1] + 1;
+                int y = x - k;
+                while (x < n && y < m && Objects.equals(expected[expectedFrom + x], actual[actualFrom + y])) {
+                    x++;
+                    y++;
+                }
+                v[offset + k] = x;
+                if (x >= n && y >= m) {
+                    backtrack(trace, n, m, expectedFrom, actualFrom, matches);
+                    return;
+                }
+            }
+        }
+    }
+
+    private static void backtrack(
+            final List<int[]> trace, final int n, final int m, final int expectedFrom, final int actualFrom, final int[] matches) {
+        int x = n;
+        int y = m;
+        for (int d = trace.size() - 1; d >= 0; d--) {
+            final int[] v = trace.get(d);
+            // index of diagonal k in the stored range
+            final int base = d + 1;
+            final int k = x - y;
+            final int prevK = k == -d || (k != d && v[base + k - 1] < v[base + k + 1]) ? k + 1 : k - 1;
+            final int prevX = d == 0 ? 0 : v[base + prevK];
+            final int prevY = prevX - prevK;
+            while (x > prevX && y > prevY) {
+                x--;
+                y--;
+                matches[expectedFrom + x] = actualFrom + y;
+            }
+            x = prevX;
+            y = prevY;
+        }
+    }
+
+    /**
+     * Walks the matched positions in order. Unmatched elements between two matches are paired up as modified;
+     * the surplus is removed or inserted.
+     */
+    private static List<Edit> edits(final int[] matches, final int actualSize) {
+        final List<Edit> edits = new ArrayList<>();
+        int i = 0;
+        int j = 0;
+        while (i < matches.length || j < actualSize) {
+            if (i < matches.length && matches[i] >= 0 && matches[i] == j) {
+                edits.add(new Edit(EditType.MATCHED, i++, j++));
+                continue;
+            }
+            int nextI = i;
+            while (nextI < matches.length && matches[nextI] < 0) {
+                nextI++;
+            }
+            final int nextJ = nextI < matches.length ? matches[nextI] : actualSize;
+            while (i < nextI && j < nextJ) {
+                edits.add(new Edit(EditType.MODIFIED, i++, j++));
+            }
+            while (i < nextI) {
+                edits.add(new Edit(EditType.REMOVED, i++, -1));
+            }
+            while (j < nextJ) {
+                edits.add(new Edit(EditType.INSERTED, -1, j++));
+            }
+        }
+        return edits;
+    }
+}
@@ -0,0 +1,180 @@
+package cloud.alchemy.fabut;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Build-time metadata of {@code @Assertable} classes, read from the {@code META-INF/fabut/index} resources written
+ * by the annotation processor. Classes listed in the index have their get and set methods and fields looked up
+ * by name instead of being scanned reflectively. Each class loader's index resources are read once.
+ * An entry that no longer matches its class, e.g. because the class was recompiled without the processor,
+ * is not used.
+ */
+public final class MetadataIndex {
+
+    private static final Logger LOGGER = Logger.getLogger(MetadataIndex.class.getName());
+    static final String RESOURCE = "META-INF/fabut/index";
+
+    // entries by binary class name, per class loader; the entries hold no reference to the loader
+    private static final Map<ClassLoader, Map<String, Entry>> LOADED = new WeakHashMap<>();
+
+    /**
+     * Metadata of one class.
+     *
+     * @param type binary name of the class
+     * @param fields names of the fields declared in the class and its superclasses
+     * @param getters names of the get methods, by the rule of {@code ReflectionUtil.getMethods}
+     * @param setters names of the set methods, by the rule of {@code ReflectionUtil.setMethods}
+     * @param idGetter name of the id get method, or null if the class has none
+     */
+    public record Entry(String type, Set<String> fields, Set<String> getters, Set<String> setters, String idGetter) {}
+
+    private MetadataIndex() {
+        // Utility class should not be instantiated
+    }
+
+    /**
+     * @param type class to look up
+     * @return metadata of the class, or null if the class is not in the index
+     */
+    public static Entry find(final Class<?> type) {
+        final ClassLoader loader = type.getClassLoader();
+        if (loader == null || type.isArray() || type.isPrimitive()) {
+            return null;
+        }
+        return entries(loader).get(type.getName());
+    }
+
+    /**
+     * Checks whether a field is declared in the class or one of its superclasses, through the index if it
+     * lists the class, otherwise through the cached declared fields.
+     */
+    public static boolean hasField(final Class<?> type, final String fieldName) {
+        final Entry entry = find(type);
+        if (entry != null) {
+            return entry.fields().contains(fieldName);
+        }
+        return ReflectionUtil.findField(type, fieldName) != null;
+    }
+
+    /**
+     * Picks the get or set methods of an indexed class by name.
+     *
+     * @param entry index entry of the class
+     * @param type the class
+     * @param getters true for get methods, false for set methods
+     * @return the methods by name, or null if the class declares other fields than the entry lists or has a get
+     *         or set method the entry does not list or lacks one it lists
+     */
+    static Map<String, Method> methods(final Entry entry, final Class<?> type, final boolean getters) {
+        if (!fieldNames(type).equals(entry.fields())) {
+            return null;
+        }
+        final Set<String> names = getters ? entry.getters() : entry.setters();
+        final Map<String, Method> methods = new HashMap<>();
+        for (final Method method : type.getMethods()) {
+            if (names.contains(method.getName())) {
+                methods.put(method.getName(), method);
+            } else if (entry.fields().contains(getters ? ReflectionUtil.getFieldNameOfGet(method) : ReflectionUtil.getFieldNameOfSet(method))) {
+                // a method backed by a field, added after the index was written
+                return null;
+            }
+        }
+        return methods.size() == names.size() ? methods : null;
+    }
+
+    // names of the fields declared in the class and its superclasses, as the annotation processor lists them
+    private static Set<String> fieldNames(final Class<?> type) {
+        final Set<String> names = new HashSet<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (final Field field : ReflectionUtil.getFields(current).values()) {
+                if (!field.isSynthetic()) {
+                    names.add(field.getName());
+                }
+            }
+        }
+        return names;
+    }
+
+    private static Map<String, Entry> entries(final ClassLoader loader) {
+        synchronized (LOADED) {
+            return LOADED.computeIfAbsent(loader, MetadataIndex::load);
+        }
+    }
+
+    private static Map<String, Entry> load(final ClassLoader loader) {
+        final Map<String, Entry> entries = new HashMap<>();
+        try {
+            final Enumeration<URL> resources = loader.getResources(RESOURCE);
+            while (resources.hasMoreElements()) {
+                final URL resource = resources.nextElement();
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))) {
+                    parse(reader, entries);
+                }
+            }
+        } catch (final IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to read " + RESOURCE + ", falling back to reflection", e);
+            return Map.of();
+        }
+        return entries;
+    }
+
+    /**
+     * Reads index entries: a {@code [binary.ClassName]} header followed by {@code key=comma,separated,values} lines.
+     */
+    static void parse(final BufferedReader reader, final Map<String, Entry> entries) throws IOException {
+        String type = null;
+        Map<String, String> values = new HashMap<>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            if (line.startsWith("[") && line.endsWith("]")) {
+                if (type != null) {
+                    entries.put(type, entry(type, values));
+                }
+                type = line.substring(1, line.length() - 1);
+                values = new HashMap<>();
+            } else {
+                final int separator = line.indexOf('=');
+                if (separator > 0) {
+                    values.put(line.substring(0, separator), line.substring(separator + 1));
+                }
+            }
+        }
+        if (type != null) {
+            entries.put(type, entry(type, values));
+        }
+    }
+
+    private static Entry entry(final String type, final Map<String, String> values) {
+        final String idGetter = values.getOrDefault("id", "");
+        return new Entry(type, names(values.get("fields")), names(values.get("getters")), names(values.get("setters")),
+                idGetter.isEmpty() ? null : idGetter);
+    }
+
+    private static Set<String> names(final String value) {
+        if (value == null || value.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return Arrays.stream(value.split(",")).collect(Collectors.toUnmodifiableSet());
+    }
+}
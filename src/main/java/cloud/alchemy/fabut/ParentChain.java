@@ -0,0 +1,45 @@
+package cloud.alchemy.fabut;
+
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * Immutable parent chain of an asserted property, extended by one link per nesting level instead of being copied.
+ */
+final class ParentChain extends AbstractList<ObjectMethod> {
+
+    private final List<ObjectMethod> parents;
+    private final ObjectMethod last;
+    private final int size;
+
+    private ParentChain(final List<ObjectMethod> parents, final ObjectMethod last) {
+        this.parents = parents;
+        this.last = last;
+        this.size = parents.size() + 1;
+    }
+
+    /**
+     * @param parents chain to extend, which is not modified
+     * @param last the new innermost parent
+     * @return the extended chain
+     */
+    static List<ObjectMethod> append(final List<ObjectMethod> parents, final ObjectMethod last) {
+        return new ParentChain(parents, last);
+    }
+
+    @Override
+    public ObjectMethod get(final int index) {
+        if (index == size - 1) {
+            return last;
+        }
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+        return parents.get(index);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
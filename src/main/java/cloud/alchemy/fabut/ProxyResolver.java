@@ -0,0 +1,17 @@
+package cloud.alchemy.fabut;
+
+/**
+ * Finds the class that a proxy class stands for, so that proxies are registered, snapshotted and asserted as
+ * their entity class. Implementations are loaded with {@link java.util.ServiceLoader} from
+ * {@code META-INF/services/cloud.alchemy.fabut.ProxyResolver} and asked before the built-in detectors of
+ * Hibernate, ByteBuddy, cglib and javassist proxies. Every class is resolved once and the result is cached.
+ */
+public interface ProxyResolver {
+
+    /**
+     * @param type class of an object handed to Fabut
+     * @return the proxied class, a superclass or interface of {@code type}, or null if this resolver
+     *         does not recognize {@code type} as a proxy
+     */
+    Class<?> resolve(Class<?> type);
+}
@@ -0,0 +1,107 @@
+package cloud.alchemy.fabut;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Resolves proxy classes to their real class through the registered {@link ProxyResolver}s, followed by the
+ * built-in detectors: marker interfaces first, then naming conventions.
+ */
+final class ProxyResolvers {
+
+    private static final Logger LOGGER = Logger.getLogger(ProxyResolvers.class.getName());
+
+    // proxies of proxies are unwrapped at most this many times
+    private static final int MAX_DEPTH = 8;
+
+    private static final Set<String> PROXY_INTERFACES = Set.of(
+            "org.hibernate.proxy.HibernateProxy",
+            "org.springframework.cglib.proxy.Factory",
+            "net.sf.cglib.proxy.Factory",
+            "javassist.util.proxy.ProxyObject");
+
+    private static final List<String> PROXY_NAME_MARKERS = List.of(
+            "$HibernateProxy$",
+            "$$EnhancerBy",
+            "$$Enhanced",
+            "$ByteBuddy$",
+            "$$_javassist",
+            "_$$_jvst");
+
+    private static final List<ProxyResolver> RESOLVERS = resolvers();
+
+    private ProxyResolvers() {
+        // Utility class should not be instantiated
+    }
+
+    /**
+     * @param type class of an object handed to Fabut
+     * @return the class the proxy stands for, or the type itself if it is not a proxy
+     */
+    static Class<?> realClass(final Class<?> type) {
+        Class<?> current = type;
+        for (int depth = 0; depth < MAX_DEPTH; depth++) {
+            final Class<?> resolved = resolveOnce(current);
+            if (resolved == null) {
+                return current;
+            }
+            current = resolved;
+        }
+        return current;
+    }
+
+    private static Class<?> resolveOnce(final Class<?> type) {
+        for (final ProxyResolver resolver : RESOLVERS) {
+            final Class<?> resolved = resolver.resolve(type);
+            if (resolved != null && resolved != type && resolved.isAssignableFrom(type) && !isProxyBase(resolved)) {
+                return resolved;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A proxy never stands for these, e.g. JDK proxies extend {@link java.lang.reflect.Proxy}.
+     */
+    private static boolean isProxyBase(final Class<?> type) {
+        return type == Object.class || type == java.lang.reflect.Proxy.class;
+    }
+
+    private static List<ProxyResolver> resolvers() {
+        final List<ProxyResolver> resolvers = new ArrayList<>();
+        try {
+            for (final ProxyResolver resolver : ServiceLoader.load(ProxyResolver.class, ProxyResolver.class.getClassLoader())) {
+                resolvers.add(resolver);
+            }
+        } catch (final ServiceConfigurationError e) {
+            LOGGER.log(Level.WARNING, "Failed to load proxy resolvers, using the built-in ones", e);
+        }
+        resolvers.add(ProxyResolvers::byMarkerInterface);
+        resolvers.add(ProxyResolvers::byName);
+        return List.copyOf(resolvers);
+    }
+
+    private static Class<?> byMarkerInterface(final Class<?> type) {
+        for (final Class<?> implemented : type.getInterfaces()) {
+            if (PROXY_INTERFACES.contains(implemented.getName())) {
+                return type.getSuperclass();
+            }
+        }
+        return null;
+    }
+
+    private static Class<?> byName(final Class<?> type) {
+        final String name = type.getName();
+        for (final String marker : PROXY_NAME_MARKERS) {
+            if (name.contains(marker)) {
+                return type.getSuperclass();
+            }
+        }
+        return null;
+    }
+}
@@ -6,6 +6,7 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -15,7 +16,9 @@ import static java.util.Objects.requireNonNull;
  * Utility class that provides helper methods for reflection operations.
  * This class handles method finding, field access, and type checking operations.
  * <p>
- * The class caches reflection results to improve performance for repeated operations.
+ * The class caches reflection results to improve performance for repeated operations. Per-class results are
+ * held in one {@link ClassValue} entry per class, so they are found with a single lookup and unloaded together
+ * with the class, which keeps proxy classes generated during long suites collectable.
  * </p>
  */
 public class ReflectionUtil {
@@ -29,13 +32,13 @@ public class ReflectionUtil {
     static final String SET_ID = "setId";
     static final String ID = "id";
 
-    // Thread-safe caches for reflection operations (required for parallel snapshot taking)
-    private static final Map<Class<?>, Map<String, Method>> classGetMethods = new ConcurrentHashMap<>();
-    private static final Map<Class<?>, Map<String, Method>> classSetMethods = new ConcurrentHashMap<>();
-    private static final Map<Class<?>, Map<String, Field>> classFields = new ConcurrentHashMap<>();
-    private static final Map<Class<?>, Class<?>> realClassCache = new ConcurrentHashMap<>();
-    // Cache for fields that have been made accessible
-    private static final Set<Field> accessibleFields = ConcurrentHashMap.newKeySet();
+    // Per-class reflection metadata, thread-safe (required for parallel snapshot taking)
+    private static final ClassValue<ClassMetadata> CLASS_METADATA = new ClassValue<>() {
+        @Override
+        protected ClassMetadata computeValue(final Class<?> type) {
+            return new ClassMetadata(type);
+        }
+    };
     // Separate caches for getter and setter field name extraction
     private static final Map<String, String> getterFieldNameCache = new ConcurrentHashMap<>();
     private static final Map<String, String> setterFieldNameCache = new ConcurrentHashMap<>();
@@ -48,16 +51,14 @@ public class ReflectionUtil {
     }
 
     /**
-     * Returns the real class of an object, handling proxy classes.
+     * Returns the real class of an object, resolving proxy classes through the {@link ProxyResolver}s.
      * Results are cached for O(1) subsequent lookups.
      *
      * @param clazz The class to evaluate
-     * @return The real class (superclass if proxy)
+     * @return The real class (the proxied class if proxy)
      */
     public static Class<?> getRealClass(final Class<?> clazz) {
-        return realClassCache.computeIfAbsent(clazz, c ->
-            c.getName().contains("Proxy") ? c.getSuperclass() : c
-        );
+        return CLASS_METADATA.get(clazz).realClass;
     }
 
     /**
@@ -95,17 +96,7 @@ public class ReflectionUtil {
      * @return Map of method names to Method objects
      */
     static Map<String, Method> getMethods(Class<?> methodClass) {
-        return classGetMethods.computeIfAbsent(methodClass, clazz -> {
-            var methodMap = new ConcurrentHashMap<String, Method>();
-            
-            // For classes with many methods, use parallel processing
-            Arrays.stream(clazz.getMethods())
-//                  .parallel()
-                  .filter(method -> isGetMethod(clazz, method))
-                  .forEach(method -> methodMap.put(method.getName(), method));
-                  
-            return methodMap;
-        });
+        return CLASS_METADATA.get(methodClass).getMethods();
     }
 
     /**
@@ -143,17 +134,7 @@ public class ReflectionUtil {
      * @return Map of method names to Method objects
      */
     static Map<String, Method> setMethods(Class<?> methodClass) {
-        return classSetMethods.computeIfAbsent(methodClass, clazz -> {
-            var methodMap = new ConcurrentHashMap<String, Method>();
-            
-            // Use parallel processing for classes with many methods
-            Arrays.stream(clazz.getMethods())
-//                  .parallel()
-                  .filter(method -> isSetMethod(clazz, method))
-                  .forEach(method -> methodMap.put(method.getName(), method));
-                  
-            return methodMap;
-        });
+        return CLASS_METADATA.get(methodClass).setMethods();
     }
 
     /**
@@ -245,6 +226,7 @@ public class ReflectionUtil {
      * @param field The field to make accessible
      */
     static void makeAccessible(Field field) {
+        final Set<Field> accessibleFields = CLASS_METADATA.get(field.getDeclaringClass()).accessibleFields;
         if (!accessibleFields.contains(field)) {
             field.setAccessible(true);
             accessibleFields.add(field);
@@ -252,13 +234,7 @@ public class ReflectionUtil {
     }
 
     static Map<String, Field> getFields(Class<?> fieldClass) {
-        return classFields.computeIfAbsent(fieldClass, clazz -> {
-            var map = new ConcurrentHashMap<String, Field>();
-            for (Field field : clazz.getDeclaredFields()) {
-                map.put(field.getName(), field);
-            }
-            return map;
-        });
+        return CLASS_METADATA.get(fieldClass).fields;
     }
 
     /**
@@ -300,7 +276,7 @@ public class ReflectionUtil {
      * @return true if the entity has a getId method, false otherwise
      */
     public static boolean hasIdMethod(final Object entity) {
-        return findGetMethod(entity, GET_ID) != null;
+        return CLASS_METADATA.get(entity.getClass()).idMethod().isPresent();
     }
 
     /**
@@ -311,11 +287,11 @@ public class ReflectionUtil {
      */
     public static Object getIdValue(final Object entity) {
         try {
-            final Method method = findGetMethod(entity, GET_ID);
-            if (method == null) {
+            final Function<Object, Object> getter = CLASS_METADATA.get(entity.getClass()).idGetter();
+            if (getter == null) {
                 return null;
             }
-            return method.invoke(entity);
+            return Accessors.get(getter, entity);
         } catch (final Exception e) {
             LOGGER.log(Level.WARNING, "Failed to get ID value from entity", e);
             return null;
@@ -390,4 +366,90 @@ public class ReflectionUtil {
         }
         return false;
     }
+
+    /**
+     * Reflection metadata of one class. Fields are read when the entry is created, get and set methods and
+     * the id method on first use. Get and set methods of classes in the {@link MetadataIndex} are picked by
+     * name instead of checking each public method for a backing field.
+     */
+    private static final class ClassMetadata {
+        private final Class<?> type;
+        private final Class<?> realClass;
+        private final Map<String, Field> fields;
+        private final MetadataIndex.Entry indexEntry;
+        // fields of this class that have been made accessible
+        private final Set<Field> accessibleFields = ConcurrentHashMap.newKeySet();
+        private volatile Map<String, Method> getMethods;
+        private volatile Map<String, Method> setMethods;
+        private volatile Optional<Method> idMethod;
+        // generated accessor of the id method, published by the write of idMethod
+        private Function<Object, Object> idGetter;
+
+        private ClassMetadata(final Class<?> type) {
+            this.type = type;
+            this.realClass = ProxyResolvers.realClass(type);
+            final Map<String, Field> declaredFields = new HashMap<>();
+            for (Field field : type.getDeclaredFields()) {
+                declaredFields.put(field.getName(), field);
+            }
+            this.fields = Collections.unmodifiableMap(declaredFields);
+            this.indexEntry = MetadataIndex.find(type);
+        }
+
+        private Map<String, Method> getMethods() {
+            Map<String, Method> methods = getMethods;
+            if (methods == null) {
+                methods = methods(true);
+                getMethods = methods;
+            }
+            return methods;
+        }
+
+        private Map<String, Method> setMethods() {
+            Map<String, Method> methods = setMethods;
+            if (methods == null) {
+                methods = methods(false);
+                setMethods = methods;
+            }
+            return methods;
+        }
+
+        // checks again under the lock so the methods of a class are listed once
+        private synchronized Map<String, Method> methods(final boolean getters) {
+            final Map<String, Method> published = getters ? getMethods : setMethods;
+            if (published != null) {
+                return published;
+            }
+            if (indexEntry != null) {
+                final Map<String, Method> methods = MetadataIndex.methods(indexEntry, type, getters);
+                if (methods != null) {
+                    return Collections.unmodifiableMap(methods);
+                }
+                LOGGER.log(Level.FINE, "Metadata index of " + type.getName() + " is out of date, scanning its methods");
+            }
+            final Map<String, Method> methods = new HashMap<>();
+            for (Method method : type.getMethods()) {
+                if (getters ? isGetMethod(type, method) : isSetMethod(type, method)) {
+                    methods.put(method.getName(), method);
+                }
+            }
+            return Collections.unmodifiableMap(methods);
+        }
+
+        private Optional<Method> idMethod() {
+            Optional<Method> method = idMethod;
+            if (method == null) {
+                method = indexEntry != null
+                        ? Optional.ofNullable(indexEntry.idGetter()).map(getMethods()::get)
+                        : Optional.ofNullable(findGetMethod(type, GET_ID));
+                idGetter = method.map(Accessors::getter).orElse(null);
+                idMethod = method;
+            }
+            return method;
+        }
+
+        private Function<Object, Object> idGetter() {
+            return idMethod().isPresent() ? idGetter : null;
+        }
+    }
 }
@@ -0,0 +1,24 @@
+package cloud.alchemy.fabut.copy;
+
+/**
+ * Straight-line copier for a single type.
+ * Implementations are generated at compile-time by the annotation processor as {@code XxxCopier}
+ * next to {@code XxxAssert} and {@code XxxDiff}, so snapshot copies need no reflection.
+ *
+ * <p>Copies are shallow: every getter-backed property value is transferred to a new instance the way
+ * the reflective copy does it - the id through its setter, every other value directly into its field,
+ * unwrapping {@code Optional} getters whose field holds the inner type.</p>
+ *
+ * @param <T> the copied type
+ */
+public interface Copier<T> {
+
+    /**
+     * Creates a shallow copy of the source object.
+     *
+     * @param source the object to copy, never null
+     * @param skipCollections true to leave List, Set and Map properties unset (used for entity types)
+     * @return the new copy
+     */
+    T copy(T source, boolean skipCollections);
+}
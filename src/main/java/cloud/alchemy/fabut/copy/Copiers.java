@@ -0,0 +1,58 @@
+package cloud.alchemy.fabut.copy;
+
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Lookup for generated {@link Copier} implementations.
+ * A copier for {@code com.example.Order} is expected at {@code com.example.OrderCopier}.
+ * Lookups, including misses, are resolved once per class and cached in a {@link ClassValue},
+ * which does not keep the class or its loader reachable.
+ */
+public final class Copiers {
+
+    private static final Logger LOGGER = Logger.getLogger(Copiers.class.getName());
+    private static final String COPIER_SUFFIX = "Copier";
+
+    private static final ClassValue<Optional<Copier<?>>> COPIERS = new ClassValue<>() {
+        @Override
+        protected Optional<Copier<?>> computeValue(final Class<?> type) {
+            return load(type);
+        }
+    };
+
+    private Copiers() {
+        // Utility class should not be instantiated
+    }
+
+    /**
+     * Finds the generated copier for the exact given class.
+     * Subclasses and proxies of an annotated class do not inherit its copier.
+     *
+     * @param type the class to copy
+     * @return the copier, or null if none was generated for this class
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Copier<T> find(final Class<T> type) {
+        return (Copier<T>) COPIERS.get(type).orElse(null);
+    }
+
+    private static Optional<Copier<?>> load(final Class<?> type) {
+        if (type.isPrimitive() || type.isArray() || type.getClassLoader() == null) {
+            return Optional.empty();
+        }
+        try {
+            final Class<?> copierClass = Class.forName(type.getName() + COPIER_SUFFIX, true, type.getClassLoader());
+            if (!Copier.class.isAssignableFrom(copierClass)) {
+                return Optional.empty();
+            }
+            return Optional.of((Copier<?>) copierClass.getConstructor().newInstance());
+        } catch (final ClassNotFoundException e) {
+            return Optional.empty();
+        } catch (final ReflectiveOperationException | LinkageError e) {
+            LOGGER.log(Level.FINE, "Generated copier for " + type.getName() + " could not be instantiated", e);
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package cloud.alchemy.fabut.enums;
+
+/**
+ * Strategy used by takeSnapshot() to capture the before-state of registered entity types.
+ */
+public enum SnapshotMode {
+    /** Copy every entity returned by findAll when the snapshot is taken */
+    EAGER,
+    /**
+     * Record ids and live references only; an entity is copied the first time one of its
+     * instrumented setters is called after the snapshot is taken
+     */
+    COPY_ON_WRITE,
+    /**
+     * Record a 64-bit fingerprint and compactly encoded field values per entity; a full copy is
+     * rebuilt only for entities whose fingerprint changed or that are asserted against the snapshot
+     */
+    FINGERPRINT,
+    /**
+     * Store each entity type column by column: primitive arrays for numbers and booleans, dictionary-encoded
+     * strings and enums, and an unboxed id index; copies are rebuilt only for changed or asserted entities
+     */
+    COLUMNAR,
+    /**
+     * Like {@link #FINGERPRINT}, but the encoded field values live in native memory owned by the test
+     * and freed in after(), keeping large snapshots off the heap
+     */
+    OFF_HEAP
+}
@@ -17,36 +17,89 @@ import java.util.Set;
  * @author Nikola Trkulja
  */
 public class NodesList implements IsomorphicGraph {
-    // O(1) lookup: actual object -> expected object
-    private final Map<Object, Object> actualToExpected = new IdentityHashMap<>();
-    // O(1) lookup: expected objects set
-    private final Set<Object> expectedSet = Collections.newSetFromMap(new IdentityHashMap<>());
+    // pairs are kept inline until there are more than this many, most assertions never get there
+    private static final int INLINE_PAIRS = 4;
+
+    // expected and actual objects of the first pairs, interleaved; null until the first pair is added
+    private Object[] inlinePairs;
+    private int inlineCount;
+    // O(1) lookup: actual object -> expected object, created once the inline pairs are full
+    private Map<Object, Object> actualToExpected;
+    // O(1) lookup: expected objects set, created once the inline pairs are full
+    private Set<Object> expectedSet;
 
     @Override
     public boolean containsPair(final Object expected, final Object actual) {
-        Object mapped = actualToExpected.get(actual);
+        Object mapped = getExpected(actual);
         return mapped != null && mapped == expected;
     }
 
     @Override
     public void addPair(final Object expected, final Object actual) {
+        if (actualToExpected != null) {
+            actualToExpected.put(actual, expected);
+            expectedSet.add(expected);
+            return;
+        }
+        if (inlinePairs == null) {
+            inlinePairs = new Object[INLINE_PAIRS * 2];
+        }
+        if (inlineCount < INLINE_PAIRS) {
+            inlinePairs[inlineCount * 2] = expected;
+            inlinePairs[inlineCount * 2 + 1] = actual;
+            inlineCount++;
+            return;
+        }
+        actualToExpected = new IdentityHashMap<>();
+        expectedSet = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int i = 0; i < inlineCount; i++) {
+            actualToExpected.put(inlinePairs[i * 2 + 1], inlinePairs[i * 2]);
+            expectedSet.add(inlinePairs[i * 2]);
+        }
+        inlinePairs = null;
+        inlineCount = 0;
         actualToExpected.put(actual, expected);
         expectedSet.add(expected);
     }
 
     @Override
     public Object getExpected(final Object actual) {
-        return actualToExpected.get(actual);
+        if (actualToExpected != null) {
+            return actualToExpected.get(actual);
+        }
+        // the latest pair of an actual object wins, as in the map
+        for (int i = inlineCount - 1; i >= 0; i--) {
+            if (inlinePairs[i * 2 + 1] == actual) {
+                return inlinePairs[i * 2];
+            }
+        }
+        return null;
     }
 
     @Override
     public boolean containsActual(final Object actual) {
-        return actualToExpected.containsKey(actual);
+        if (actualToExpected != null) {
+            return actualToExpected.containsKey(actual);
+        }
+        for (int i = 0; i < inlineCount; i++) {
+            if (inlinePairs[i * 2 + 1] == actual) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
     public boolean containsExpected(final Object expected) {
-        return expectedSet.contains(expected);
+        if (expectedSet != null) {
+            return expectedSet.contains(expected);
+        }
+        for (int i = 0; i < inlineCount; i++) {
+            if (inlinePairs[i * 2] == expected) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
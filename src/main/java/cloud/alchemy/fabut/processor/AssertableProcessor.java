@@ -10,16 +10,21 @@ import javax.lang.model.element.*;
 import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
 import javax.tools.Diagnostic;
+import javax.tools.FileObject;
 import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.util.*;
 
 /**
  * Annotation processor that generates type-safe assertion builders for classes annotated with @Assertable.
+ * It also writes the metadata index ({@code META-INF/fabut/index}) that Fabut reads instead of scanning the
+ * annotated classes reflectively.
  */
 @SupportedAnnotationTypes("cloud.alchemy.fabut.annotation.Assertable")
 @SupportedSourceVersion(SourceVersion.RELEASE_25)
@@ -29,6 +34,9 @@ public class AssertableProcessor extends AbstractProcessor {
     private Elements elementUtils;
     private Filer filer;
     private Messager messager;
+    // index entries by binary class name, written once all rounds are processed
+    private final Map<String, String> indexEntries = new TreeMap<>();
+    private final List<Element> indexedElements = new ArrayList<>();
 
     @Override
     public synchronized void init(ProcessingEnvironment processingEnv) {
@@ -55,6 +63,15 @@ public class AssertableProcessor extends AbstractProcessor {
                 messager.printMessage(Diagnostic.Kind.ERROR,
                         "Failed to generate assertion builder: " + e.getMessage(), element);
             }
+            indexEntries.put(elementUtils.getBinaryName(typeElement).toString(), indexEntry(typeElement));
+            indexedElements.add(typeElement);
+        }
+        if (roundEnv.processingOver() && !indexEntries.isEmpty()) {
+            try {
+                writeIndex();
+            } catch (IOException e) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "Failed to write metadata index: " + e.getMessage());
+            }
         }
         return true;
     }
@@ -64,8 +81,10 @@ public class AssertableProcessor extends AbstractProcessor {
         String packageName = getPackageName(typeElement);
         String builderClassName = className + "Assert";
         String diffClassName = className + "Diff";
+        String copierClassName = className + "Copier";
         String qualifiedBuilderName = packageName.isEmpty() ? builderClassName : packageName + "." + builderClassName;
         String qualifiedDiffName = packageName.isEmpty() ? diffClassName : packageName + "." + diffClassName;
+        String qualifiedCopierName = packageName.isEmpty() ? copierClassName : packageName + "." + copierClassName;
 
         // Get ignored fields and assert groups from annotation
         Assertable annotation = typeElement.getAnnotation(Assertable.class);
@@ -87,6 +106,15 @@ public class AssertableProcessor extends AbstractProcessor {
         try (PrintWriter out = new PrintWriter(diffFile.openWriter())) {
             generateDiffClass(out, packageName, className, diffClassName, fields, ignoredFields);
         }
+
+        // Generate the copier class (snapshot copies without reflection), when the type allows it
+        List<CopyFieldInfo> copyFields = collectCopyFields(typeElement);
+        if (copyFields != null) {
+            JavaFileObject copierFile = filer.createSourceFile(qualifiedCopierName, typeElement);
+            try (PrintWriter out = new PrintWriter(copierFile.openWriter())) {
+                generateCopierClass(out, packageName, className, copierClassName, copyFields);
+            }
+        }
     }
 
     private String getPackageName(TypeElement typeElement) {
@@ -354,7 +382,7 @@ public class AssertableProcessor extends AbstractProcessor {
         out.println("        this.object = object;");
         out.println("        this.isSnapshot = isSnapshot;");
         out.println("        this.isDelete = isDelete;");
-        out.println("        fabut.registerPendingVerification(this);");
+        out.println("        fabut.registerPendingVerification(this, isSnapshot || isDelete ? object : null);");
         // Auto-add ignored for fields specified in annotation
         for (String ignoredField : ignoredFields) {
             out.println("        properties.add(fabut.ignored(\"" + ignoredField + "\"));");
@@ -711,6 +739,11 @@ public class AssertableProcessor extends AbstractProcessor {
         return Character.toUpperCase(s.charAt(0)) + s.substring(1);
     }
 
+    private String uncapitalize(String s) {
+        if (s == null || s.isEmpty()) return s;
+        return Character.toLowerCase(s.charAt(0)) + s.substring(1);
+    }
+
     // ==================== Diff Class Generation ====================
 
     private void generateDiffClass(PrintWriter out, String packageName, String className,
@@ -823,6 +856,286 @@ public class AssertableProcessor extends AbstractProcessor {
         out.println("}");
     }
 
+    // ==================== Metadata Index ====================
+
+    private void writeIndex() throws IOException {
+        FileObject indexFile = filer.createResource(StandardLocation.CLASS_OUTPUT, "", "META-INF/fabut/index",
+                indexedElements.toArray(new Element[0]));
+        try (PrintWriter out = new PrintWriter(indexFile.openWriter())) {
+            out.println("# Generated by cloud.alchemy.fabut.processor.AssertableProcessor");
+            for (Map.Entry<String, String> entry : indexEntries.entrySet()) {
+                out.println("[" + entry.getKey() + "]");
+                out.print(entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Lists the type's fields, getters, setters and id getter. Getters and setters follow
+     * the runtime rule: public methods whose name, without the get/is or set prefix, names a field declared
+     * in the class hierarchy.
+     */
+    private String indexEntry(TypeElement typeElement) {
+        Set<String> fieldNames = new TreeSet<>(collectFieldNames(typeElement));
+        Set<String> getters = new TreeSet<>();
+        Set<String> setters = new TreeSet<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(elementUtils.getAllMembers(typeElement))) {
+            if (!method.getModifiers().contains(Modifier.PUBLIC)) {
+                continue;
+            }
+            String name = method.getSimpleName().toString();
+            String getterField = name.startsWith("is") ? name.substring(2) : name.startsWith("get") ? name.substring(3) : name;
+            if (fieldNames.contains(uncapitalize(getterField))) {
+                getters.add(name);
+            }
+            String setterField = name.startsWith("set") ? name.substring(3) : name;
+            if (fieldNames.contains(uncapitalize(setterField))) {
+                setters.add(name);
+            }
+        }
+        return "fields=" + String.join(",", fieldNames) + "\n"
+                + "getters=" + String.join(",", getters) + "\n"
+                + "setters=" + String.join(",", setters) + "\n"
+                + "id=" + (getters.contains("getId") ? "getId" : "") + "\n";
+    }
+
+    // ==================== Copier Class Generation ====================
+
+    /**
+     * Collect getter-backed fields for copier generation. Unlike {@link #collectFields}, ignored fields
+     * are included, because a snapshot copy must carry the full state of the object.
+     * As in the reflective copy, the id is set through its setter and every other value is written
+     * directly into its field, so setter side effects do not alter the copy.
+     * Returns null when the type cannot be copied without reflection: it is abstract or generic,
+     * has no public no-arg constructor, or has a getter-backed field that is final, declared in a class
+     * the copier cannot name, without a setter or not assignable from the getter.
+     */
+    private List<CopyFieldInfo> collectCopyFields(TypeElement typeElement) {
+        if (typeElement.getModifiers().contains(Modifier.ABSTRACT)
+                || !typeElement.getTypeParameters().isEmpty()
+                || !hasPublicNoArgConstructor(typeElement)) {
+            return null;
+        }
+
+        Map<String, VariableElement> declaredFields = collectInstanceFields(typeElement);
+        List<ExecutableElement> methods = ElementFilter.methodsIn(elementUtils.getAllMembers(typeElement));
+        Map<String, CopyFieldInfo> copyFields = new LinkedHashMap<>();
+        String packageName = getPackageName(typeElement);
+
+        for (ExecutableElement getter : methods) {
+            if (!isPublicInstanceMethod(getter) || !isGetter(getter)) {
+                continue;
+            }
+            String getterName = getter.getSimpleName().toString();
+            String fieldName = extractFieldName(getterName);
+            VariableElement field = declaredFields.get(fieldName);
+            // Same rule as the reflective copy: only getters backed by a declared field
+            if (field == null || copyFields.containsKey(fieldName)) {
+                continue;
+            }
+
+            String setterName = "set" + getterName.substring(getterName.startsWith("is") ? 2 : 3);
+            ExecutableElement setter = findSetter(methods, setterName);
+            if (setter == null) {
+                return null;
+            }
+
+            TypeMirror getterType = getter.getReturnType();
+            boolean isId = getterName.equals("getId");
+            TypeMirror targetType = isId
+                    ? setter.getParameters().getFirst().asType()
+                    : typeUtils.asMemberOf((DeclaredType) typeElement.asType(), field);
+            boolean unwrapOptional;
+            if (typeUtils.isAssignable(getterType, targetType)) {
+                unwrapOptional = false;
+            } else if (isOptionalType(getterType) && isAssignableFromOptionalInner(getterType, targetType)) {
+                unwrapOptional = true;
+            } else {
+                return null;
+            }
+
+            TypeElement owner = (TypeElement) field.getEnclosingElement();
+            if (!isId && (field.getModifiers().contains(Modifier.FINAL) || !isNameableFrom(owner, packageName))) {
+                return null;
+            }
+
+            copyFields.put(fieldName, new CopyFieldInfo(getterName, setterName, fieldName,
+                    typeUtils.erasure(owner.asType()).toString(), isId, unwrapOptional, isCollectionType(getterType)));
+        }
+        return new ArrayList<>(copyFields.values());
+    }
+
+    /**
+     * A class literal of the owner compiles in the copier's package if every enclosing class is visible there.
+     */
+    private boolean isNameableFrom(TypeElement owner, String packageName) {
+        Element current = owner;
+        while (current instanceof TypeElement type) {
+            Set<Modifier> modifiers = type.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE)
+                    || (!modifiers.contains(Modifier.PUBLIC) && !getPackageName(type).equals(packageName))) {
+                return false;
+            }
+            current = type.getEnclosingElement();
+        }
+        return true;
+    }
+
+    private boolean hasPublicNoArgConstructor(TypeElement typeElement) {
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(typeElement.getEnclosedElements())) {
+            if (constructor.getModifiers().contains(Modifier.PUBLIC) && constructor.getParameters().isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Set<String> collectFieldNames(TypeElement typeElement) {
+        Set<String> names = new HashSet<>();
+        TypeElement current = typeElement;
+        while (current != null && !current.getQualifiedName().toString().equals("java.lang.Object")) {
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                names.add(field.getSimpleName().toString());
+            }
+            Element superElement = typeUtils.asElement(current.getSuperclass());
+            current = superElement instanceof TypeElement superTypeElement ? superTypeElement : null;
+        }
+        return names;
+    }
+
+    /**
+     * Instance fields of the class and its superclasses by name; a subclass field hides a superclass one,
+     * matching the lookup of the reflective copy.
+     */
+    private Map<String, VariableElement> collectInstanceFields(TypeElement typeElement) {
+        Map<String, VariableElement> fields = new HashMap<>();
+        TypeElement current = typeElement;
+        while (current != null && !current.getQualifiedName().toString().equals("java.lang.Object")) {
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                if (!field.getModifiers().contains(Modifier.STATIC)) {
+                    fields.putIfAbsent(field.getSimpleName().toString(), field);
+                }
+            }
+            Element superElement = typeUtils.asElement(current.getSuperclass());
+            current = superElement instanceof TypeElement superTypeElement ? superTypeElement : null;
+        }
+        return fields;
+    }
+
+    private boolean isPublicInstanceMethod(ExecutableElement method) {
+        return method.getModifiers().contains(Modifier.PUBLIC) && !method.getModifiers().contains(Modifier.STATIC);
+    }
+
+    private ExecutableElement findSetter(List<ExecutableElement> methods, String setterName) {
+        for (ExecutableElement method : methods) {
+            if (isPublicInstanceMethod(method)
+                    && method.getParameters().size() == 1
+                    && method.getSimpleName().contentEquals(setterName)) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private boolean isAssignableFromOptionalInner(TypeMirror optionalType, TypeMirror targetType) {
+        List<? extends TypeMirror> typeArgs = ((DeclaredType) optionalType).getTypeArguments();
+        return !typeArgs.isEmpty() && typeUtils.isAssignable(typeArgs.getFirst(), targetType);
+    }
+
+    /**
+     * Matches the runtime rule for collection properties: List, Set or Map.
+     */
+    private boolean isCollectionType(TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        TypeMirror erased = typeUtils.erasure(type);
+        for (String collectionType : List.of("java.util.List", "java.util.Set", "java.util.Map")) {
+            TypeElement collectionElement = elementUtils.getTypeElement(collectionType);
+            if (collectionElement != null && typeUtils.isAssignable(erased, typeUtils.erasure(collectionElement.asType()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void generateCopierClass(PrintWriter out, String packageName, String className,
+                                     String copierClassName, List<CopyFieldInfo> fields) {
+        // Package
+        if (!packageName.isEmpty()) {
+            out.println("package " + packageName + ";");
+            out.println();
+        }
+
+        // Imports
+        out.println("import cloud.alchemy.fabut.copy.Copier;");
+        out.println("import java.lang.invoke.MethodHandles;");
+        out.println("import java.lang.invoke.VarHandle;");
+        out.println();
+
+        // Class javadoc
+        out.println("/**");
+        out.println(" * Generated snapshot copier for {@link " + className + "}.");
+        out.println(" * Zero reflection per copy - the id is copied through its setter, every other property is written");
+        out.println(" * directly into its field, as the reflective copy does.");
+        out.println(" */");
+        out.println("@javax.annotation.processing.Generated(\"cloud.alchemy.fabut.processor.AssertableProcessor\")");
+        out.println("public final class " + copierClassName + " implements Copier<" + className + "> {");
+        out.println();
+
+        // Field handles
+        boolean hasFieldHandles = false;
+        for (CopyFieldInfo field : fields) {
+            if (!field.isId) {
+                out.println("    private static final VarHandle " + field.handleName() + " = field("
+                        + field.ownerName + ".class, \"" + field.fieldName + "\");");
+                hasFieldHandles = true;
+            }
+        }
+        if (hasFieldHandles) {
+            out.println();
+        }
+
+        out.println("    @Override");
+        out.println("    public " + className + " copy(" + className + " source, boolean skipCollections) {");
+        out.println("        " + className + " copy = new " + className + "();");
+        for (CopyFieldInfo field : fields) {
+            String indent = field.isCollection ? "            " : "        ";
+            if (field.isCollection) {
+                out.println("        if (!skipCollections) {");
+            }
+            String value = "source." + field.getterName + "()";
+            if (field.unwrapOptional) {
+                out.println(indent + "var " + field.getterName + " = " + value + ";");
+                value = field.getterName + " == null ? null : " + field.getterName + ".orElse(null)";
+            }
+            if (field.isId) {
+                out.println(indent + "copy." + field.setterName + "(" + value + ");");
+            } else {
+                out.println(indent + field.handleName() + ".set(copy, " + value + ");");
+            }
+            if (field.isCollection) {
+                out.println("        }");
+            }
+        }
+        out.println("        return copy;");
+        out.println("    }");
+
+        if (hasFieldHandles) {
+            out.println();
+            out.println("    private static VarHandle field(Class<?> owner, String name) {");
+            out.println("        try {");
+            out.println("            return MethodHandles.privateLookupIn(owner, MethodHandles.lookup())");
+            out.println("                    .unreflectVarHandle(owner.getDeclaredField(name));");
+            out.println("        } catch (ReflectiveOperationException e) {");
+            out.println("            throw new ExceptionInInitializerError(e);");
+            out.println("        }");
+            out.println("    }");
+        }
+
+        out.println("}");
+    }
+
     /**
      * Generate the Java expression for a default property assertion.
      * Interprets the @AssertDefault value based on the field's type.
@@ -872,4 +1185,12 @@ public class AssertableProcessor extends AbstractProcessor {
     }
 
     private record FieldInfo(String name, String type, String innerType, boolean isOptional, String defaultValue) {}
+
+    private record CopyFieldInfo(String getterName, String setterName, String fieldName, String ownerName,
+                                 boolean isId, boolean unwrapOptional, boolean isCollection) {
+
+        String handleName() {
+            return fieldName.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase();
+        }
+    }
 }
@@ -0,0 +1,73 @@
+package cloud.alchemy.fabut.snapshot;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Entities loaded from the repository after takeSnapshot(), kept while one batch of pending builders is verified.
+ * An id that was looked up but not found is remembered as missing, so deleted entities are not
+ * fetched again within the batch either.
+ */
+public final class AfterStateCache {
+
+    private static final Object MISSING = new Object();
+
+    private final Map<Class<?>, Map<Object, Object>> entities = new ConcurrentHashMap<>();
+
+    /**
+     * @param entityType the entity type
+     * @param id entity id
+     * @return true if the entity was loaded or found missing
+     */
+    public boolean contains(final Class<?> entityType, final Object id) {
+        final Map<Object, Object> byId = entities.get(entityType);
+        return byId != null && byId.containsKey(id);
+    }
+
+    /**
+     * @param entityType the entity type
+     * @param id entity id
+     * @return the loaded entity, or null if it is missing or was never loaded
+     */
+    public Object get(final Class<?> entityType, final Object id) {
+        final Map<Object, Object> byId = entities.get(entityType);
+        final Object entity = byId != null ? byId.get(id) : null;
+        return entity == MISSING ? null : entity;
+    }
+
+    /**
+     * Records the result of one bulk lookup. Requested ids without a loaded entity are remembered as missing.
+     *
+     * @param entityType the entity type
+     * @param requestedIds ids that were looked up
+     * @param loaded loaded entities by id
+     */
+    public void putAll(final Class<?> entityType, final Collection<?> requestedIds, final Map<Object, Object> loaded) {
+        final Map<Object, Object> byId = entities.computeIfAbsent(entityType, type -> new ConcurrentHashMap<>());
+        for (final Object id : requestedIds) {
+            byId.put(id, MISSING);
+        }
+        byId.putAll(loaded);
+    }
+
+    /**
+     * Forgets one entity, or that it was missing.
+     *
+     * @param entityType the entity type
+     * @param id entity id
+     */
+    public void remove(final Class<?> entityType, final Object id) {
+        final Map<Object, Object> byId = entities.get(entityType);
+        if (byId != null) {
+            byId.remove(id);
+        }
+    }
+
+    /**
+     * Forgets everything loaded so far.
+     */
+    public void clear() {
+        entities.clear();
+    }
+}
@@ -0,0 +1,648 @@
+package cloud.alchemy.fabut.snapshot;
+
+import cloud.alchemy.fabut.property.CopyAssert;
+
+import java.lang.reflect.Method;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Snapshot of one entity type stored column by column instead of as one copy per row.
+ * Numeric and boolean getters go into primitive arrays, strings and enums into dictionary-encoded
+ * code arrays, everything else into a reference column. Integral ids are indexed with an
+ * open-addressing {@code long} table.
+ * <p>
+ * Entries are exposed as {@link CopyAssert} views created on lookup; the copy behind a view is built
+ * only when {@link CopyAssert#getEntity()} is called. Rows of other classes (subclasses, proxies) and
+ * entries added after the snapshot are kept as ordinary {@link CopyAssert}s next to the columns.
+ * <p>
+ * Appending, looking up and putting entries lock the store, so rows of other classes can be put while
+ * other threads append: an append may grow the id index, which lookups must not observe half-done.
+ */
+public final class ColumnarSnapshotStore extends AbstractMap<Object, CopyAssert> {
+
+    private static final String GET_ID = "getId";
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final EntityLayout layout;
+    private final Column[] columns;
+    private final int idColumn;
+    private final IdIndex index;
+
+    private int rows;
+    private int capacity;
+    private final BitSet asserted = new BitSet();
+    private final Map<Integer, Object> materialized = new HashMap<>();
+    private final Map<Object, CopyAssert> extra = new ConcurrentHashMap<>();
+
+    /**
+     * @param layout getters and rebuild function of the stored entity class; must include {@code getId}
+     */
+    public ColumnarSnapshotStore(final EntityLayout layout) {
+        this.layout = layout;
+        final List<Method> getters = layout.getters();
+        columns = new Column[getters.size()];
+        int id = -1;
+        for (int i = 0; i < columns.length; i++) {
+            final Method getter = getters.get(i);
+            columns[i] = Column.of(getter.getReturnType(), layout);
+            if (getter.getName().equals(GET_ID)) {
+                id = i;
+            }
+        }
+        if (id < 0) {
+            throw new IllegalArgumentException(layout.type().getSimpleName() + " has no getId getter");
+        }
+        idColumn = id;
+        index = IdIndex.of(getters.get(id).getReturnType());
+        ensureCapacity(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Checks whether entities of the class can be stored in columns.
+     *
+     * @param entityClass class of a snapshotted entity
+     * @return true if the entity's getters are read into columns
+     */
+    public boolean accepts(final Class<?> entityClass) {
+        return entityClass == layout.type();
+    }
+
+    /**
+     * Reads the entity's getters into a new row. Safe to call from several threads.
+     *
+     * @param entity entity of the layout's class
+     * @throws ReflectiveOperationException if a getter cannot be invoked
+     */
+    public void append(final Object entity) throws ReflectiveOperationException {
+        final Object[] values = layout.read(entity);
+        final Object id = values[idColumn];
+        if (id == null) {
+            return;
+        }
+        synchronized (this) {
+            final int row = rows++;
+            if (row == capacity) {
+                ensureCapacity(capacity * 2);
+            }
+            for (int i = 0; i < columns.length; i++) {
+                columns[i].set(row, values[i]);
+            }
+            index.put(id, row);
+        }
+    }
+
+    @Override
+    public synchronized CopyAssert get(final Object id) {
+        final CopyAssert added = extra.get(id);
+        if (added != null) {
+            return added;
+        }
+        final int row = index.find(id);
+        return row < 0 ? null : new ColumnarCopyAssert(this, row);
+    }
+
+    @Override
+    public synchronized boolean containsKey(final Object id) {
+        return extra.containsKey(id) || index.find(id) >= 0;
+    }
+
+    @Override
+    public synchronized CopyAssert put(final Object id, final CopyAssert copyAssert) {
+        final CopyAssert previous = get(id);
+        extra.put(id, copyAssert);
+        return previous;
+    }
+
+    @Override
+    public Set<Object> keySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Object> iterator() {
+                return keys().iterator();
+            }
+
+            @Override
+            public int size() {
+                return ColumnarSnapshotStore.this.size();
+            }
+
+            @Override
+            public boolean contains(final Object id) {
+                return containsKey(id);
+            }
+        };
+    }
+
+    @Override
+    public Set<Entry<Object, CopyAssert>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<Object, CopyAssert>> iterator() {
+                return keys().map(id -> Map.entry(id, get(id))).iterator();
+            }
+
+            @Override
+            public int size() {
+                return ColumnarSnapshotStore.this.size();
+            }
+        };
+    }
+
+    @Override
+    public synchronized int size() {
+        return index.size() + (int) addedKeys().count();
+    }
+
+    private Stream<Object> keys() {
+        final Column ids = columns[idColumn];
+        return Stream.concat(
+                IntStream.range(0, rows).filter(row -> index.find(ids.get(row)) == row).mapToObj(ids::get),
+                addedKeys());
+    }
+
+    private Stream<Object> addedKeys() {
+        return extra.keySet().stream().filter(id -> index.find(id) < 0);
+    }
+
+    boolean matches(final int row, final Object entity) {
+        if (entity.getClass() != layout.type()) {
+            return false;
+        }
+        final List<ValueReader> readers = layout.readers();
+        try {
+            for (int i = 0; i < columns.length; i++) {
+                if (!columns[i].sameAs(row, readers.get(i).read(entity))) {
+                    return false;
+                }
+            }
+        } catch (final ReflectiveOperationException e) {
+            return false;
+        }
+        return true;
+    }
+
+    synchronized Object entity(final int row) {
+        return materialized.computeIfAbsent(row, key -> {
+            final Object[] values = new Object[columns.length];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = columns[i].get(key);
+            }
+            return layout.materializer().apply(values);
+        });
+    }
+
+    synchronized void setEntity(final int row, final Object entity) {
+        materialized.put(row, entity);
+    }
+
+    synchronized boolean isAsserted(final int row) {
+        return asserted.get(row);
+    }
+
+    synchronized void setAsserted(final int row, final boolean value) {
+        asserted.set(row, value);
+    }
+
+    private void ensureCapacity(final int newCapacity) {
+        for (final Column column : columns) {
+            column.grow(newCapacity);
+        }
+        capacity = newCapacity;
+    }
+
+    /**
+     * Values of one getter for all rows.
+     */
+    private abstract static class Column {
+
+        private final BitSet nulls = new BitSet();
+
+        static Column of(final Class<?> type, final EntityLayout layout) {
+            if (type == int.class || type == Integer.class) {
+                return new IntColumn(value -> (Integer) value, value -> value);
+            }
+            if (type == short.class || type == Short.class) {
+                return new IntColumn(value -> (Short) value, value -> (short) value);
+            }
+            if (type == byte.class || type == Byte.class) {
+                return new IntColumn(value -> (Byte) value, value -> (byte) value);
+            }
+            if (type == char.class || type == Character.class) {
+                return new IntColumn(value -> (Character) value, value -> (char) value);
+            }
+            if (type == long.class || type == Long.class) {
+                return new LongColumn();
+            }
+            if (type == double.class || type == Double.class) {
+                return new DoubleColumn();
+            }
+            if (type == float.class || type == Float.class) {
+                return new FloatColumn();
+            }
+            if (type == boolean.class || type == Boolean.class) {
+                return new BooleanColumn();
+            }
+            if (type == String.class || type.isEnum()) {
+                return new DictionaryColumn();
+            }
+            return new ReferenceColumn(layout);
+        }
+
+        final void set(final int row, final Object value) {
+            if (value == null) {
+                nulls.set(row);
+            } else {
+                setValue(row, value);
+            }
+        }
+
+        final Object get(final int row) {
+            return nulls.get(row) ? null : getValue(row);
+        }
+
+        final boolean sameAs(final int row, final Object value) {
+            if (nulls.get(row) || value == null) {
+                return nulls.get(row) && value == null;
+            }
+            return sameValue(row, value);
+        }
+
+        abstract void grow(int capacity);
+
+        abstract void setValue(int row, Object value);
+
+        abstract Object getValue(int row);
+
+        abstract boolean sameValue(int row, Object value);
+    }
+
+    private static final class IntColumn extends Column {
+
+        private final ToIntFunction<Object> toInt;
+        private final IntFunction<Object> box;
+        private int[] values = new int[0];
+
+        private IntColumn(final ToIntFunction<Object> toInt, final IntFunction<Object> box) {
+            this.toInt = toInt;
+            this.box = box;
+        }
+
+        @Override
+        void grow(final int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        void setValue(final int row, final Object value) {
+            values[row] = toInt.applyAsInt(value);
+        }
+
+        @Override
+        Object getValue(final int row) {
+            return box.apply(values[row]);
+        }
+
+        @Override
+        boolean sameValue(final int row, final Object value) {
+            return getValue(row).equals(value);
+        }
+    }
+
+    private static final class LongColumn extends Column {
+
+        private long[] values = new long[0];
+
+        @Override
+        void grow(final int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        void setValue(final int row, final Object value) {
+            values[row] = (Long) value;
+        }
+
+        @Override
+        Object getValue(final int row) {
+            return values[row];
+        }
+
+        @Override
+        boolean sameValue(final int row, final Object value) {
+            return value instanceof Long l && l == values[row];
+        }
+    }
+
+    private static final class DoubleColumn extends Column {
+
+        private double[] values = new double[0];
+
+        @Override
+        void grow(final int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        void setValue(final int row, final Object value) {
+            values[row] = (Double) value;
+        }
+
+        @Override
+        Object getValue(final int row) {
+            return values[row];
+        }
+
+        @Override
+        boolean sameValue(final int row, final Object value) {
+            // Double.equals semantics: compare bit patterns
+            return value instanceof Double d && Double.doubleToLongBits(d) == Double.doubleToLongBits(values[row]);
+        }
+    }
+
+    private static final class FloatColumn extends Column {
+
+        private float[] values = new float[0];
+
+        @Override
+        void grow(final int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        void setValue(final int row, final Object value) {
+            values[row] = (Float) value;
+        }
+
+        @Override
+        Object getValue(final int row) {
+            return values[row];
+        }
+
+        @Override
+        boolean sameValue(final int row, final Object value) {
+            return value instanceof Float f && Float.floatToIntBits(f) == Float.floatToIntBits(values[row]);
+        }
+    }
+
+    private static final class BooleanColumn extends Column {
+
+        private final BitSet values = new BitSet();
+
+        @Override
+        void grow(final int capacity) {
+            // BitSet grows on demand
+        }
+
+        @Override
+        void setValue(final int row, final Object value) {
+            values.set(row, (Boolean) value);
+        }
+
+        @Override
+        Object getValue(final int row) {
+            return values.get(row);
+        }
+
+        @Override
+        boolean sameValue(final int row, final Object value) {
+            return value instanceof Boolean b && b == values.get(row);
+        }
+    }
+
+    /**
+     * Stores each distinct value once and an int code per row.
+     */
+    private static final class DictionaryColumn extends Column {
+
+        private final List<Object> dictionary = new ArrayList<>();
+        private final Map<Object, Integer> codes = new HashMap<>();
+        private int[] values = new int[0];
+
+        @Override
+        void grow(final int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        void setValue(final int row, final Object value) {
+            values[row] = codes.computeIfAbsent(value, key -> {
+                dictionary.add(key);
+                return dictionary.size() - 1;
+            });
+        }
+
+        @Override
+        Object getValue(final int row) {
+            return dictionary.get(values[row]);
+        }
+
+        @Override
+        boolean sameValue(final int row, final Object value) {
+            return getValue(row).equals(value);
+        }
+    }
+
+    private static final class ReferenceColumn extends Column {
+
+        private final EntityLayout layout;
+        private Object[] values = new Object[0];
+
+        private ReferenceColumn(final EntityLayout layout) {
+            this.layout = layout;
+        }
+
+        @Override
+        void grow(final int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        void setValue(final int row, final Object value) {
+            values[row] = value;
+        }
+
+        @Override
+        Object getValue(final int row) {
+            return values[row];
+        }
+
+        @Override
+        boolean sameValue(final int row, final Object value) {
+            return layout.sameReference().test(values[row], value);
+        }
+    }
+
+    /**
+     * Maps ids to rows.
+     */
+    private abstract static class IdIndex {
+
+        static IdIndex of(final Class<?> idType) {
+            if (idType == Long.class || idType == long.class) {
+                return new LongIdIndex(Long.class);
+            }
+            if (idType == Integer.class || idType == int.class) {
+                return new LongIdIndex(Integer.class);
+            }
+            return new HashIdIndex();
+        }
+
+        abstract int find(Object id);
+
+        abstract void put(Object id, int row);
+
+        abstract int size();
+    }
+
+    private static final class HashIdIndex extends IdIndex {
+
+        private final Map<Object, Integer> rows = new HashMap<>();
+
+        @Override
+        int find(final Object id) {
+            final Integer row = rows.get(id);
+            return row == null ? -1 : row;
+        }
+
+        @Override
+        void put(final Object id, final int row) {
+            rows.put(id, row);
+        }
+
+        @Override
+        int size() {
+            return rows.size();
+        }
+    }
+
+    /**
+     * Open-addressing table with linear probing over unboxed {@code long} ids.
+     */
+    private static final class LongIdIndex extends IdIndex {
+
+        private final Class<?> idType;
+        private long[] keys = new long[INITIAL_CAPACITY];
+        // row + 1, 0 marks an empty slot
+        private int[] slots = new int[INITIAL_CAPACITY];
+        private int size;
+
+        private LongIdIndex(final Class<?> idType) {
+            this.idType = idType;
+        }
+
+        @Override
+        int find(final Object id) {
+            if (!idType.isInstance(id)) {
+                return -1;
+            }
+            final long key = ((Number) id).longValue();
+            final int mask = keys.length - 1;
+            for (int slot = slot(key, mask); slots[slot] != 0; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return slots[slot] - 1;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        void put(final Object id, final int row) {
+            if ((size + 1) * 2 > keys.length) {
+                resize();
+            }
+            if (insert(((Number) id).longValue(), row + 1)) {
+                size++;
+            }
+        }
+
+        @Override
+        int size() {
+            return size;
+        }
+
+        private boolean insert(final long key, final int value) {
+            final int mask = keys.length - 1;
+            int slot = slot(key, mask);
+            while (slots[slot] != 0) {
+                if (keys[slot] == key) {
+                    slots[slot] = value;
+                    return false;
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            slots[slot] = value;
+            return true;
+        }
+
+        private void resize() {
+            final long[] oldKeys = keys;
+            final int[] oldSlots = slots;
+            keys = new long[oldKeys.length * 2];
+            slots = new int[oldSlots.length * 2];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldSlots[i] != 0) {
+                    insert(oldKeys[i], oldSlots[i]);
+                }
+            }
+        }
+
+        private static int slot(final long key, final int mask) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+    }
+
+    /**
+     * View of one row; state lives in the store.
+     */
+    private static final class ColumnarCopyAssert extends LazyCopyAssert {
+
+        private final ColumnarSnapshotStore store;
+        private final int row;
+
+        private ColumnarCopyAssert(final ColumnarSnapshotStore store, final int row) {
+            this.store = store;
+            this.row = row;
+        }
+
+        @Override
+        public boolean matches(final Object entity) {
+            return store.matches(row, entity);
+        }
+
+        @Override
+        public Object getEntity() {
+            return store.entity(row);
+        }
+
+        @Override
+        public void setEntity(final Object entity) {
+            store.setEntity(row, entity);
+        }
+
+        @Override
+        public boolean isAsserted() {
+            return store.isAsserted(row);
+        }
+
+        @Override
+        public void setAsserted(final boolean asserted) {
+            store.setAsserted(row, asserted);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package cloud.alchemy.fabut.snapshot;
+
+import cloud.alchemy.fabut.property.CopyAssert;
+
+import java.util.List;
+
+/**
+ * Captures entities of one type as a 64-bit fingerprint plus compactly encoded field values
+ * instead of a full copy. In the after-test check an entity whose fingerprint, encoded values and references
+ * are unchanged is skipped; only changed entities are materialized back into a copy and compared field by field.
+ */
+public final class EntityFingerprinter {
+
+    private static final ThreadLocal<FingerprintCodec> CODECS = ThreadLocal.withInitial(FingerprintCodec::new);
+
+    private final EntityLayout layout;
+
+    /**
+     * @param layout getters and rebuild function of the entity class
+     */
+    public EntityFingerprinter(final EntityLayout layout) {
+        this.layout = layout;
+    }
+
+    /**
+     * Reads the entity's getters and records its state.
+     *
+     * @param entity the entity at snapshot time
+     * @return snapshot entry that materializes the copy on first access
+     * @throws ReflectiveOperationException if a getter cannot be invoked
+     */
+    public CopyAssert snapshot(final Object entity) throws ReflectiveOperationException {
+        final FingerprintCodec codec = encode(entity);
+        return new FingerprintCopyAssert(this, codec.fingerprint(), codec.toBytes(), codec.toReferences());
+    }
+
+    /**
+     * Records the entity's state with the encoded values in native memory.
+     *
+     * @param entity the entity at snapshot time
+     * @param arena native memory of the current test
+     * @return snapshot entry that materializes the copy on first access, valid until the arena is closed
+     * @throws ReflectiveOperationException if a getter cannot be invoked
+     */
+    public CopyAssert snapshot(final Object entity, final OffHeapSnapshotArena arena) throws ReflectiveOperationException {
+        final FingerprintCodec codec = encode(entity);
+        return new FingerprintCopyAssert(this, codec.fingerprint(), arena, codec.storeIn(arena), codec.length(), codec.toReferences());
+    }
+
+    boolean matches(final FingerprintCopyAssert before, final Object entity) {
+        final FingerprintCodec codec;
+        try {
+            codec = encode(entity);
+        } catch (final ReflectiveOperationException e) {
+            return false;
+        }
+        // the fingerprint only rules out changes; equal fingerprints may still hide different values
+        if (codec.fingerprint() != before.fingerprint() || !codec.sameBytes(before)) {
+            return false;
+        }
+        final List<Object> references = codec.references();
+        final Object[] beforeReferences = before.references();
+        final int beforeCount = beforeReferences == null ? 0 : beforeReferences.length;
+        if (references.size() != beforeCount) {
+            return false;
+        }
+        for (int i = 0; i < beforeCount; i++) {
+            if (!layout.sameReference().test(beforeReferences[i], references.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    Object materialize(final FingerprintCopyAssert before) {
+        return layout.materializer().apply(FingerprintCodec.decode(before.encoded(), before.references(), layout.getters().size()));
+    }
+
+    private FingerprintCodec encode(final Object entity) throws ReflectiveOperationException {
+        final FingerprintCodec codec = CODECS.get();
+        codec.reset();
+        for (final ValueReader reader : layout.readers()) {
+            codec.write(reader.read(entity));
+        }
+        return codec;
+    }
+}
@@ -0,0 +1,54 @@
+package cloud.alchemy.fabut.snapshot;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * How the compact snapshot stores read and rebuild entities of one class.
+ *
+ * @param type the entity class
+ * @param getters getters whose values make up the snapshot state, in a fixed order
+ * @param readers readers of the getter values, in {@code getters} order
+ * @param sameReference whether two values kept by reference compare as equal (e.g. same instance or same entity id)
+ * @param materializer builds a copy of the entity from getter values in {@code getters} order
+ */
+public record EntityLayout(
+        Class<?> type,
+        List<Method> getters,
+        List<ValueReader> readers,
+        BiPredicate<Object, Object> sameReference,
+        Function<Object[], Object> materializer) {
+
+    public EntityLayout {
+        getters = List.copyOf(getters);
+        readers = List.copyOf(readers);
+    }
+
+    /**
+     * Layout reading the getters through reflection.
+     */
+    public EntityLayout(
+            final Class<?> type,
+            final List<Method> getters,
+            final BiPredicate<Object, Object> sameReference,
+            final Function<Object[], Object> materializer) {
+        this(type, getters, getters.stream().<ValueReader>map(getter -> getter::invoke).toList(), sameReference, materializer);
+    }
+
+    /**
+     * Invokes all getters on the entity.
+     *
+     * @param entity the entity to read
+     * @return getter values in {@code getters} order
+     * @throws ReflectiveOperationException if a getter cannot be invoked
+     */
+    Object[] read(final Object entity) throws ReflectiveOperationException {
+        final Object[] values = new Object[getters.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = readers.get(i).read(entity);
+        }
+        return values;
+    }
+}
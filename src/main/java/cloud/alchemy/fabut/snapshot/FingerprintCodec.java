@@ -0,0 +1,258 @@
+package cloud.alchemy.fabut.snapshot;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Compact binary encoding of entity field values.
+ * Strings, numbers and UUIDs are written as bytes so the snapshot does not keep the value objects alive;
+ * all other values (enums, booleans, dates, entities, nested objects) are kept by reference.
+ * The fingerprint is a 64-bit hash of the encoded bytes.
+ */
+final class FingerprintCodec {
+
+    private static final byte NULL = 0;
+    private static final byte BYTE = 1;
+    private static final byte SHORT = 2;
+    private static final byte INT = 3;
+    private static final byte LONG = 4;
+    private static final byte FLOAT = 5;
+    private static final byte DOUBLE = 6;
+    private static final byte CHAR = 7;
+    private static final byte STRING = 8;
+    private static final byte BIG_DECIMAL = 9;
+    private static final byte BIG_INTEGER = 10;
+    private static final byte UUID_VALUE = 11;
+    private static final byte OPTIONAL_EMPTY = 12;
+    private static final byte OPTIONAL = 13;
+    private static final byte REFERENCE = 14;
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private byte[] bytes = new byte[64];
+    private int length;
+    private final List<Object> references = new ArrayList<>();
+
+    void reset() {
+        length = 0;
+        references.clear();
+    }
+
+    byte[] toBytes() {
+        return Arrays.copyOf(bytes, length);
+    }
+
+    long storeIn(final OffHeapSnapshotArena arena) {
+        return arena.store(bytes, length);
+    }
+
+    int length() {
+        return length;
+    }
+
+    Object[] toReferences() {
+        return references.isEmpty() ? null : references.toArray();
+    }
+
+    List<Object> references() {
+        return references;
+    }
+
+    boolean sameBytes(final FingerprintCopyAssert before) {
+        return before.encodedEquals(bytes, length);
+    }
+
+    long fingerprint() {
+        return fingerprint(bytes, length);
+    }
+
+    void write(final Object value) {
+        switch (value) {
+            case null -> writeByte(NULL);
+            case Byte b -> {
+                writeByte(BYTE);
+                writeByte(b);
+            }
+            case Short s -> {
+                writeByte(SHORT);
+                writeVarLong(s);
+            }
+            case Integer i -> {
+                writeByte(INT);
+                writeVarLong(i);
+            }
+            case Long l -> {
+                writeByte(LONG);
+                writeVarLong(l);
+            }
+            case Float f -> {
+                writeByte(FLOAT);
+                writeVarLong(Float.floatToRawIntBits(f));
+            }
+            case Double d -> {
+                writeByte(DOUBLE);
+                writeVarLong(Double.doubleToRawLongBits(d));
+            }
+            case Character c -> {
+                writeByte(CHAR);
+                writeVarLong(c);
+            }
+            case String s -> {
+                writeByte(STRING);
+                writeBytes(s.getBytes(StandardCharsets.UTF_8));
+            }
+            case BigDecimal d -> {
+                writeByte(BIG_DECIMAL);
+                writeVarLong(d.scale());
+                writeBytes(d.unscaledValue().toByteArray());
+            }
+            case BigInteger i -> {
+                writeByte(BIG_INTEGER);
+                writeBytes(i.toByteArray());
+            }
+            case UUID u -> {
+                writeByte(UUID_VALUE);
+                writeVarLong(u.getMostSignificantBits());
+                writeVarLong(u.getLeastSignificantBits());
+            }
+            case Optional<?> o -> {
+                if (o.isEmpty()) {
+                    writeByte(OPTIONAL_EMPTY);
+                } else {
+                    writeByte(OPTIONAL);
+                    write(o.get());
+                }
+            }
+            default -> {
+                writeByte(REFERENCE);
+                writeVarLong(references.size());
+                references.add(value);
+            }
+        }
+    }
+
+    /**
+     * Decodes values written by {@link #write(Object)}.
+     */
+    static Object[] decode(final byte[] encoded, final Object[] references, final int count) {
+        final Reader reader = new Reader(encoded, references);
+        final Object[] values = new Object[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = reader.read();
+        }
+        return values;
+    }
+
+    static long fingerprint(final byte[] data, final int size) {
+        long hash = 0x9E3779B97F4A7C15L ^ size;
+        int i = 0;
+        for (; i + Long.BYTES <= size; i += Long.BYTES) {
+            hash = mix(hash ^ (long) LONGS.get(data, i));
+        }
+        long tail = 0;
+        for (; i < size; i++) {
+            tail = (tail << 8) | (data[i] & 0xFF);
+        }
+        return mix(hash ^ tail);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return z ^ (z >>> 33);
+    }
+
+    private void writeByte(final int value) {
+        ensureCapacity(1);
+        bytes[length++] = (byte) value;
+    }
+
+    private void writeBytes(final byte[] value) {
+        writeVarLong(value.length);
+        ensureCapacity(value.length);
+        System.arraycopy(value, 0, bytes, length, value.length);
+        length += value.length;
+    }
+
+    private void writeVarLong(final long value) {
+        // zig-zag so small negative numbers stay short
+        long zigZag = (value << 1) ^ (value >> 63);
+        ensureCapacity(10);
+        while ((zigZag & ~0x7FL) != 0) {
+            bytes[length++] = (byte) ((zigZag & 0x7F) | 0x80);
+            zigZag >>>= 7;
+        }
+        bytes[length++] = (byte) zigZag;
+    }
+
+    private void ensureCapacity(final int extra) {
+        if (length + extra > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] bytes;
+        private final Object[] references;
+        private int position;
+
+        private Reader(final byte[] bytes, final Object[] references) {
+            this.bytes = bytes;
+            this.references = references;
+        }
+
+        private Object read() {
+            final byte tag = bytes[position++];
+            return switch (tag) {
+                case NULL -> null;
+                case BYTE -> bytes[position++];
+                case SHORT -> (short) readVarLong();
+                case INT -> (int) readVarLong();
+                case LONG -> readVarLong();
+                case FLOAT -> Float.intBitsToFloat((int) readVarLong());
+                case DOUBLE -> Double.longBitsToDouble(readVarLong());
+                case CHAR -> (char) readVarLong();
+                case STRING -> new String(readBytes(), StandardCharsets.UTF_8);
+                case BIG_DECIMAL -> {
+                    final int scale = (int) readVarLong();
+                    yield new BigDecimal(new BigInteger(readBytes()), scale);
+                }
+                case BIG_INTEGER -> new BigInteger(readBytes());
+                case UUID_VALUE -> new UUID(readVarLong(), readVarLong());
+                case OPTIONAL_EMPTY -> Optional.empty();
+                case OPTIONAL -> Optional.ofNullable(read());
+                case REFERENCE -> references[(int) readVarLong()];
+                default -> throw new IllegalStateException("Unknown snapshot value tag " + tag);
+            };
+        }
+
+        private byte[] readBytes() {
+            final int size = (int) readVarLong();
+            final byte[] value = Arrays.copyOfRange(bytes, position, position + size);
+            position += size;
+            return value;
+        }
+
+        private long readVarLong() {
+            long zigZag = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[position++];
+                zigZag |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return (zigZag >>> 1) ^ -(zigZag & 1);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package cloud.alchemy.fabut.snapshot;
+
+import java.util.Arrays;
+
+/**
+ * Snapshot entry holding an entity's fingerprint and encoded values, on the heap
+ * or in an {@link OffHeapSnapshotArena}. The copy returned by {@link #getEntity()} is built on first call.
+ */
+public final class FingerprintCopyAssert extends LazyCopyAssert {
+
+    private final EntityFingerprinter fingerprinter;
+    private final long fingerprint;
+    private final byte[] encoded;
+    private final OffHeapSnapshotArena arena;
+    private final long location;
+    private final int length;
+    private final Object[] references;
+    private boolean materialized;
+
+    FingerprintCopyAssert(final EntityFingerprinter fingerprinter, final long fingerprint, final byte[] encoded, final Object[] references) {
+        this.fingerprinter = fingerprinter;
+        this.fingerprint = fingerprint;
+        this.encoded = encoded;
+        this.arena = null;
+        this.location = 0;
+        this.length = encoded.length;
+        this.references = references;
+    }
+
+    FingerprintCopyAssert(final EntityFingerprinter fingerprinter, final long fingerprint, final OffHeapSnapshotArena arena,
+                          final long location, final int length, final Object[] references) {
+        this.fingerprinter = fingerprinter;
+        this.fingerprint = fingerprint;
+        this.encoded = null;
+        this.arena = arena;
+        this.location = location;
+        this.length = length;
+        this.references = references;
+    }
+
+    /**
+     * Compares fingerprints before anything else.
+     */
+    @Override
+    public boolean matches(final Object entity) {
+        return fingerprinter.matches(this, entity);
+    }
+
+    @Override
+    public Object getEntity() {
+        if (!materialized) {
+            setEntity(fingerprinter.materialize(this));
+        }
+        return super.getEntity();
+    }
+
+    @Override
+    public void setEntity(final Object entity) {
+        materialized = true;
+        super.setEntity(entity);
+    }
+
+    long fingerprint() {
+        return fingerprint;
+    }
+
+    byte[] encoded() {
+        return arena != null ? arena.load(location, length) : encoded;
+    }
+
+    boolean encodedEquals(final byte[] bytes, final int bytesLength) {
+        return arena != null
+                ? arena.contentEquals(location, length, bytes, bytesLength)
+                : Arrays.equals(encoded, 0, length, bytes, 0, bytesLength);
+    }
+
+    Object[] references() {
+        return references;
+    }
+}
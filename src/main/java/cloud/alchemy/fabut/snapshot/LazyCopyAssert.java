@@ -0,0 +1,22 @@
+package cloud.alchemy.fabut.snapshot;
+
+import cloud.alchemy.fabut.property.CopyAssert;
+
+/**
+ * Snapshot entry that stores the before-state in compact form and builds the copy
+ * returned by {@link #getEntity()} only when it is needed.
+ */
+public abstract class LazyCopyAssert extends CopyAssert {
+
+    protected LazyCopyAssert() {
+        super(null);
+    }
+
+    /**
+     * Checks whether the entity still has the state recorded at snapshot time without building the copy.
+     *
+     * @param entity the entity in the after state
+     * @return true if the entity is unchanged
+     */
+    public abstract boolean matches(Object entity);
+}
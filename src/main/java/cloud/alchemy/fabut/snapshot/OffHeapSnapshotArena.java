@@ -0,0 +1,119 @@
+package cloud.alchemy.fabut.snapshot;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Native memory for the encoded snapshot values of one test or one shared baseline.
+ * Values are appended into large chunks allocated from a shared {@link Arena} and addressed by a location,
+ * the chunk index in the upper and the offset into the chunk in the lower 32 bits, so entries hold no segment
+ * of their own. {@link #close()} frees all chunks at once, after which reading a stored value fails.
+ */
+public final class OffHeapSnapshotArena implements AutoCloseable {
+
+    private static final int CHUNK_SIZE = 1 << 20;
+
+    private final Arena arena;
+    private final List<MemorySegment> chunks = new ArrayList<>();
+    private MemorySegment chunk = MemorySegment.NULL;
+    private int position;
+    private long allocated;
+
+    public OffHeapSnapshotArena() {
+        this(Arena.ofShared());
+    }
+
+    private OffHeapSnapshotArena(final Arena arena) {
+        this.arena = arena;
+    }
+
+    /**
+     * Native memory freed by the garbage collector once the arena is no longer reachable,
+     * for snapshots that outlive one test. {@link #close()} is not supported.
+     *
+     * @return arena that is never closed explicitly
+     */
+    public static OffHeapSnapshotArena automatic() {
+        return new OffHeapSnapshotArena(Arena.ofAuto());
+    }
+
+    /**
+     * Copies the bytes into native memory.
+     *
+     * @param bytes source array
+     * @param length number of bytes to copy from the start of the array
+     * @return location of the copied bytes
+     */
+    public synchronized long store(final byte[] bytes, final int length) {
+        if (position + length > chunk.byteSize()) {
+            chunk = arena.allocate(Math.max(CHUNK_SIZE, length));
+            chunks.add(chunk);
+            allocated += chunk.byteSize();
+            position = 0;
+        }
+        final int offset = position;
+        MemorySegment.copy(bytes, 0, chunk, ValueLayout.JAVA_BYTE, offset, length);
+        position += length;
+        return (long) (chunks.size() - 1) << 32 | offset;
+    }
+
+    /**
+     * Copies stored bytes back to the heap.
+     *
+     * @param location location returned by {@link #store(byte[], int)}
+     * @param length number of stored bytes
+     * @return the stored bytes
+     */
+    byte[] load(final long location, final int length) {
+        final byte[] bytes = new byte[length];
+        MemorySegment.copy(chunk(location), ValueLayout.JAVA_BYTE, offset(location), bytes, 0, length);
+        return bytes;
+    }
+
+    /**
+     * Compares stored bytes with the start of an array without copying them to the heap.
+     *
+     * @param location location returned by {@link #store(byte[], int)}
+     * @param length number of stored bytes
+     * @param bytes array to compare with
+     * @param bytesLength number of bytes of the array to compare
+     * @return true if both hold the same bytes
+     */
+    boolean contentEquals(final long location, final int length, final byte[] bytes, final int bytesLength) {
+        if (length != bytesLength) {
+            return false;
+        }
+        final long offset = offset(location);
+        return MemorySegment.mismatch(chunk(location), offset, offset + length, MemorySegment.ofArray(bytes), 0, length) == -1;
+    }
+
+    private synchronized MemorySegment chunk(final long location) {
+        return chunks.get((int) (location >>> 32));
+    }
+
+    private static long offset(final long location) {
+        return location & 0xFFFFFFFFL;
+    }
+
+    /**
+     * @return native bytes reserved so far
+     */
+    public synchronized long allocatedBytes() {
+        return allocated;
+    }
+
+    /**
+     * @return true until {@link #close()} is called
+     */
+    public boolean isOpen() {
+        return arena.scope().isAlive();
+    }
+
+    @Override
+    public void close() {
+        arena.close();
+    }
+}
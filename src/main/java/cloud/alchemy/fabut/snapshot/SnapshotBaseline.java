@@ -0,0 +1,65 @@
+package cloud.alchemy.fabut.snapshot;
+
+import cloud.alchemy.fabut.property.CopyAssert;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Repository snapshot shared by all tests of one test class over the same fixture.
+ * The snapshot entries are taken once and never modified; each test reads them through its own
+ * {@link #newLayer(Class) layer}, which holds only that test's assertion state and additions.
+ */
+public final class SnapshotBaseline {
+
+    private final Object key;
+    private final Map<Class<?>, Map<Object, CopyAssert>> entries;
+    private final List<Object> failures;
+
+    /**
+     * @param key fixture key the entries were taken for
+     * @param entries per entity type, snapshot entries by id, in any of the snapshot modes; not modified afterwards
+     * @param failures entities that could not be copied
+     */
+    public SnapshotBaseline(final Object key, final Map<Class<?>, Map<Object, CopyAssert>> entries, final List<Object> failures) {
+        this.key = Objects.requireNonNull(key, "key");
+        final Map<Class<?>, Map<Object, CopyAssert>> frozen = new HashMap<>();
+        entries.forEach((type, byId) -> frozen.put(type, Collections.unmodifiableMap(byId)));
+        this.entries = Collections.unmodifiableMap(frozen);
+        this.failures = List.copyOf(failures);
+    }
+
+    /**
+     * Checks whether this baseline was taken for the given fixture key and exactly the given entity types.
+     *
+     * @param key fixture key of the current test
+     * @param entityTypes entity types registered by the current test
+     * @return true if the baseline can be reused
+     */
+    public boolean matches(final Object key, final Collection<Class<?>> entityTypes) {
+        return this.key.equals(key) && entries.keySet().equals(new HashSet<>(entityTypes));
+    }
+
+    /**
+     * Creates a fresh per-test view of one entity type. Snapshot entries of the baseline are wrapped
+     * on first access; entries put into the layer stay in the layer.
+     *
+     * @param entityType the entity type
+     * @return mutable snapshot map backed by the baseline entries
+     */
+    public Map<Object, CopyAssert> newLayer(final Class<?> entityType) {
+        return new SnapshotLayer(entries.getOrDefault(entityType, Map.of()));
+    }
+
+    /**
+     * @return entities that could not be copied when the baseline was taken
+     */
+    public List<Object> getFailures() {
+        return failures;
+    }
+}
@@ -0,0 +1,105 @@
+package cloud.alchemy.fabut.snapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs the per-entity-type snapshot tasks of takeSnapshot().
+ * Implementations must return only after every task has finished.
+ */
+@FunctionalInterface
+public interface SnapshotExecutor {
+
+    /**
+     * Runs all tasks and waits for them. If any task fails, the failure of the first failed task
+     * in list order is rethrown after all tasks have finished.
+     *
+     * @param tasks one task per entity type
+     */
+    void runAll(List<? extends Runnable> tasks);
+
+    /**
+     * Runs every task on its own virtual thread. Suited to I/O-bound findAll implementations.
+     *
+     * @return executor starting one virtual thread per task
+     */
+    static SnapshotExecutor virtualThreads() {
+        return tasks -> {
+            if (tasks.size() <= 1) {
+                tasks.forEach(Runnable::run);
+                return;
+            }
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                runAll(executor, tasks);
+            }
+        };
+    }
+
+    /**
+     * Runs the tasks one after another on the thread calling takeSnapshot().
+     *
+     * @return sequential executor
+     */
+    static SnapshotExecutor callerThread() {
+        return tasks -> tasks.forEach(Runnable::run);
+    }
+
+    /**
+     * Runs the tasks on the given executor service, which stays open.
+     *
+     * @param executor executor service to submit to
+     * @return executor delegating to the service
+     */
+    static SnapshotExecutor using(final ExecutorService executor) {
+        return tasks -> runAll(executor, tasks);
+    }
+
+    private static void runAll(final ExecutorService executor, final List<? extends Runnable> tasks) {
+        final List<Future<?>> futures = new ArrayList<>(tasks.size());
+        for (final Runnable task : tasks) {
+            futures.add(executor.submit(task));
+        }
+
+        Throwable failure = null;
+        boolean interrupted = false;
+        for (final Future<?> future : futures) {
+            while (true) {
+                try {
+                    future.get();
+                    break;
+                } catch (final ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause();
+                    }
+                    break;
+                } catch (final CancellationException e) {
+                    if (failure == null) {
+                        failure = e;
+                    }
+                    break;
+                } catch (final InterruptedException e) {
+                    // keep waiting so no task still writes into the snapshot after takeSnapshot() returns
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (failure instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (failure instanceof Error error) {
+            throw error;
+        }
+        if (failure != null) {
+            throw new IllegalStateException("Snapshot task failed", failure);
+        }
+    }
+}
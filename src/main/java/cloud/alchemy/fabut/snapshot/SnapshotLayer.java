@@ -0,0 +1,135 @@
+package cloud.alchemy.fabut.snapshot;
+
+import cloud.alchemy.fabut.property.CopyAssert;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Per-test delta over the immutable entries of a {@link SnapshotBaseline}.
+ * A baseline entry gets its per-test {@link CopyAssert} wrapper only when it is looked up,
+ * so tests never copy or wrap entities they do not touch.
+ */
+final class SnapshotLayer extends AbstractMap<Object, CopyAssert> {
+
+    private final Map<Object, CopyAssert> baseline;
+    private final Map<Object, CopyAssert> delta = new ConcurrentHashMap<>();
+
+    SnapshotLayer(final Map<Object, CopyAssert> baseline) {
+        this.baseline = baseline;
+    }
+
+    @Override
+    public CopyAssert get(final Object id) {
+        final CopyAssert copyAssert = delta.get(id);
+        if (copyAssert != null || id == null || !baseline.containsKey(id)) {
+            return copyAssert;
+        }
+        return delta.computeIfAbsent(id, key -> forTest(baseline.get(key)));
+    }
+
+    /**
+     * Wraps a baseline entry so that assertion state set during the test stays in the layer.
+     * Compact entries keep comparing against the baseline without building a copy.
+     */
+    private static CopyAssert forTest(final CopyAssert entry) {
+        if (entry instanceof LazyCopyAssert lazy) {
+            return new LayerCopyAssert(lazy);
+        }
+        return new CopyAssert(entry.getEntity());
+    }
+
+    @Override
+    public boolean containsKey(final Object id) {
+        return delta.containsKey(id) || (id != null && baseline.containsKey(id));
+    }
+
+    @Override
+    public CopyAssert put(final Object id, final CopyAssert copyAssert) {
+        final CopyAssert previous = get(id);
+        delta.put(id, copyAssert);
+        return previous;
+    }
+
+    @Override
+    public Set<Object> keySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Object> iterator() {
+                return keys().iterator();
+            }
+
+            @Override
+            public int size() {
+                return SnapshotLayer.this.size();
+            }
+
+            @Override
+            public boolean contains(final Object id) {
+                return containsKey(id);
+            }
+        };
+    }
+
+    @Override
+    public Set<Entry<Object, CopyAssert>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<Object, CopyAssert>> iterator() {
+                return keys().map(id -> Map.entry(id, get(id))).iterator();
+            }
+
+            @Override
+            public int size() {
+                return SnapshotLayer.this.size();
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return baseline.size() + (int) addedKeys().count();
+    }
+
+    private Stream<Object> keys() {
+        return Stream.concat(baseline.keySet().stream(), addedKeys());
+    }
+
+    private Stream<Object> addedKeys() {
+        return delta.keySet().stream().filter(id -> !baseline.containsKey(id));
+    }
+
+    /**
+     * Per-test view of a compact baseline entry.
+     */
+    private static final class LayerCopyAssert extends LazyCopyAssert {
+
+        private final LazyCopyAssert entry;
+        private boolean replaced;
+
+        private LayerCopyAssert(final LazyCopyAssert entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public boolean matches(final Object entity) {
+            return entry.matches(entity);
+        }
+
+        @Override
+        public Object getEntity() {
+            return replaced ? super.getEntity() : entry.getEntity();
+        }
+
+        @Override
+        public void setEntity(final Object entity) {
+            replaced = true;
+            super.setEntity(entity);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package cloud.alchemy.fabut.snapshot;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Supplies the entities of one type for the repository snapshot and the after-test state.
+ * Fabut opens the source once per phase, consumes the stream element by element and closes it,
+ * so a source backed by a cursor or by pages never needs the whole table on the heap.
+ * <p>
+ * Example with keyset paging:
+ * <pre>
+ * protected SnapshotSource snapshotSource(Class&lt;?&gt; entityClass) {
+ *     if (entityClass == Order.class) {
+ *         return SnapshotSource.keysetPaged(
+ *             (Long lastId, Integer size) -&gt; orderRepository.findPageAfter(lastId, size),
+ *             order -&gt; ((Order) order).getId(),
+ *             500);
+ *     }
+ *     return super.snapshotSource(entityClass);
+ * }
+ * </pre>
+ */
+@FunctionalInterface
+public interface SnapshotSource {
+
+    /**
+     * Opens a new stream over all current entities. Called once for the snapshot and once for the after state.
+     * The stream is closed by Fabut after it has been consumed.
+     *
+     * @return stream of entities
+     */
+    Stream<?> open();
+
+    /**
+     * Adapts a list-returning lookup such as {@code findAll}. The supplier is called on every {@link #open()}.
+     *
+     * @param entities supplier of the full entity collection
+     * @return source over the supplied collection
+     */
+    static SnapshotSource fromCollection(final Supplier<? extends Collection<?>> entities) {
+        Objects.requireNonNull(entities, "entities");
+        return () -> entities.get().stream();
+    }
+
+    /**
+     * Adapts a cursor-style lookup. The supplier is called on every {@link #open()};
+     * if the iterator is {@link AutoCloseable} it is closed together with the stream.
+     *
+     * @param iterators supplier of a fresh iterator over all entities
+     * @return source over the supplied iterator
+     */
+    static SnapshotSource fromIterator(final Supplier<? extends Iterator<?>> iterators) {
+        Objects.requireNonNull(iterators, "iterators");
+        return () -> {
+            final Iterator<?> iterator = iterators.get();
+            final Stream<?> stream = StreamSupport.stream(
+                    Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+            if (iterator instanceof AutoCloseable closeable) {
+                return stream.onClose(() -> {
+                    try {
+                        closeable.close();
+                    } catch (final Exception e) {
+                        throw new IllegalStateException("Failed to close snapshot source", e);
+                    }
+                });
+            }
+            return stream;
+        };
+    }
+
+    /**
+     * Reads entities in keyset-ordered pages. The first page is requested with a {@code null} key,
+     * each following page with the key of the last entity of the previous page.
+     * Reading stops at the first page shorter than {@code pageSize}.
+     * Only one page is held at a time.
+     *
+     * @param pageAfter loads up to {@code pageSize} entities ordered by key, strictly after the given key
+     * @param keyOf extracts the paging key from an entity
+     * @param pageSize maximum number of entities per page
+     * @return source reading the pages lazily
+     */
+    static <K> SnapshotSource keysetPaged(
+            final BiFunction<K, Integer, ? extends List<?>> pageAfter,
+            final Function<Object, K> keyOf,
+            final int pageSize) {
+        Objects.requireNonNull(pageAfter, "pageAfter");
+        Objects.requireNonNull(keyOf, "keyOf");
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive, was " + pageSize);
+        }
+        return fromIterator(() -> new KeysetIterator<>(pageAfter, keyOf, pageSize));
+    }
+
+    /**
+     * Iterator that loads the next page only when the current one is exhausted.
+     */
+    final class KeysetIterator<K> implements Iterator<Object> {
+
+        private final BiFunction<K, Integer, ? extends List<?>> pageAfter;
+        private final Function<Object, K> keyOf;
+        private final int pageSize;
+
+        private List<?> page;
+        private int position;
+        private boolean lastPage;
+        private K lastKey;
+
+        private KeysetIterator(final BiFunction<K, Integer, ? extends List<?>> pageAfter, final Function<Object, K> keyOf, final int pageSize) {
+            this.pageAfter = pageAfter;
+            this.keyOf = keyOf;
+            this.pageSize = pageSize;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (page != null && position < page.size()) {
+                return true;
+            }
+            if (lastPage) {
+                return false;
+            }
+            page = pageAfter.apply(lastKey, pageSize);
+            position = 0;
+            if (page == null || page.size() < pageSize) {
+                lastPage = true;
+            }
+            return page != null && !page.isEmpty();
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Object entity = page.get(position++);
+            lastKey = keyOf.apply(entity);
+            return entity;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package cloud.alchemy.fabut.snapshot;
+
+/**
+ * Reads one snapshot value of an entity, e.g. by calling one of its getters.
+ * Fabut supplies readers bound to generated getter accessors through {@link EntityLayout}.
+ */
+@FunctionalInterface
+public interface ValueReader {
+
+    /**
+     * @param entity the entity to read
+     * @return the value
+     * @throws ReflectiveOperationException if the value cannot be read, wrapping what the getter threw
+     */
+    Object read(Object entity) throws ReflectiveOperationException;
+}
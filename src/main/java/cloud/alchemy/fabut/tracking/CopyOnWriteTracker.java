@@ -0,0 +1,73 @@
+package cloud.alchemy.fabut.tracking;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * Tracker for copy-on-write snapshots. Holds the live entities captured by a snapshot,
+ * each with a deferred copy action that runs the first time the entity is written.
+ *
+ * ByteBuddy-instrumented setters call {@link #beforeWriteIfActive(Object)} before the
+ * setter body executes, so the deferred copy still sees the snapshot state.
+ * Unlike {@link UsageTracker}, active trackers are global rather than per thread,
+ * so writes made by other threads (e.g. async service code) are not missed.
+ */
+public class CopyOnWriteTracker {
+
+    private static final Set<CopyOnWriteTracker> ACTIVE = new CopyOnWriteArraySet<>();
+
+    // Identity semantics: entities may override equals/hashCode
+    private final Map<Object, Runnable> pendingCopies = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    /**
+     * Called from ByteBuddy-instrumented setters.
+     * Runs the deferred copy of the object if an active tracker is watching it.
+     */
+    public static void beforeWriteIfActive(Object obj) {
+        if (obj == null || ACTIVE.isEmpty()) return;
+        for (CopyOnWriteTracker tracker : ACTIVE) {
+            tracker.beforeWrite(obj);
+        }
+    }
+
+    /**
+     * Watches a live object. The copy action runs at most once, on the first write.
+     */
+    public void watch(Object obj, Runnable copyAction) {
+        pendingCopies.put(obj, copyAction);
+    }
+
+    public void activate() {
+        ACTIVE.add(this);
+    }
+
+    /**
+     * Stops watching and drops all pending copies.
+     */
+    public void deactivate() {
+        ACTIVE.remove(this);
+        pendingCopies.clear();
+    }
+
+    public boolean isActive() {
+        return ACTIVE.contains(this);
+    }
+
+    /**
+     * Returns the number of watched objects that have not been written yet.
+     */
+    public int getPendingCount() {
+        return pendingCopies.size();
+    }
+
+    void beforeWrite(Object obj) {
+        // Removed before running, so setters called while copying do not re-enter
+        Runnable copyAction = pendingCopies.remove(obj);
+        if (copyAction != null) {
+            copyAction.run();
+        }
+    }
+}
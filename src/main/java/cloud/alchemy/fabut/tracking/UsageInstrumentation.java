@@ -1,5 +1,6 @@
 package cloud.alchemy.fabut.tracking;
 
+import cloud.alchemy.fabut.MetadataIndex;
 import net.bytebuddy.agent.ByteBuddyAgent;
 import net.bytebuddy.agent.builder.AgentBuilder;
 import net.bytebuddy.asm.Advice;
@@ -24,11 +25,15 @@ import static net.bytebuddy.matcher.ElementMatchers.*;
  * Classes are instrumented once and cached. The tracking is controlled by
  * {@link UsageTracker}'s active flag — instrumented code only records
  * when tracking is active, keeping overhead minimal.
+ *
+ * Setters can be instrumented separately for copy-on-write snapshots;
+ * instrumented setters notify {@link CopyOnWriteTracker} before each write.
  */
 public class UsageInstrumentation {
 
     private static final Logger LOGGER = Logger.getLogger(UsageInstrumentation.class.getName());
     private static final Set<Class<?>> instrumentedClasses = Collections.synchronizedSet(new HashSet<>());
+    private static final Set<Class<?>> setterInstrumentedClasses = Collections.synchronizedSet(new HashSet<>());
     private static volatile boolean agentInstalled = false;
     private static Instrumentation instrumentation;
 
@@ -157,6 +162,68 @@ public class UsageInstrumentation {
         }
     }
 
+    /**
+     * Batch-instruments setter methods of the given classes to notify {@link CopyOnWriteTracker}
+     * before each write. Superclasses declaring setter-backed fields are instrumented too,
+     * because inherited setters live in the superclass bytecode.
+     * Idempotent — already-instrumented classes are skipped.
+     *
+     * @param classes the classes whose setters should be instrumented
+     * @return true if all classes were instrumented successfully
+     */
+    public static boolean instrumentSetters(Set<Class<?>> classes) {
+        Set<Class<?>> toInstrument = new LinkedHashSet<>();
+        for (Class<?> c : classes) {
+            if (!setterInstrumentedClasses.contains(c)) {
+                toInstrument.add(c);
+                collectAncestorsWithSetters(c, toInstrument);
+            }
+        }
+        toInstrument.removeAll(setterInstrumentedClasses);
+        if (toInstrument.isEmpty()) {
+            return true;
+        }
+        if (!agentInstalled) {
+            if (!install()) {
+                return false;
+            }
+        }
+        try {
+            Map<String, ElementMatcher.Junction<MethodDescription>> matchers = new HashMap<>();
+            ElementMatcher.Junction<TypeDescription> typeMatcher = none();
+            for (Class<?> c : toInstrument) {
+                matchers.put(c.getName(), buildSetterMatcher(c));
+                typeMatcher = typeMatcher.or(is(c));
+            }
+
+            new AgentBuilder.Default()
+                    .disableClassFormatChanges()
+                    .with(AgentBuilder.RedefinitionStrategy.RETRANSFORMATION)
+                    .type(typeMatcher)
+                    .transform((builder, typeDescription, classLoader, module, protectionDomain) -> {
+                        ElementMatcher.Junction<MethodDescription> setterMatcher = matchers.get(typeDescription.getName());
+                        if (setterMatcher == null) return builder;
+                        return builder.visit(Advice.to(SetterAdvice.class).on(setterMatcher));
+                    })
+                    .installOn(instrumentation);
+
+            instrumentation.retransformClasses(toInstrument.toArray(new Class[0]));
+
+            setterInstrumentedClasses.addAll(toInstrument);
+            return true;
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Failed to instrument setters of classes: " + toInstrument, e);
+            return false;
+        }
+    }
+
+    /**
+     * Checks if the setters of a class have been instrumented.
+     */
+    public static boolean isSetterInstrumented(Class<?> clazz) {
+        return setterInstrumentedClasses.contains(clazz);
+    }
+
     /**
      * Checks if a class has been instrumented.
      */
@@ -169,6 +236,7 @@ public class UsageInstrumentation {
      */
     static void resetForTesting() {
         instrumentedClasses.clear();
+        setterInstrumentedClasses.clear();
     }
 
     /**
@@ -203,13 +271,66 @@ public class UsageInstrumentation {
                     && (method.getReturnType() == boolean.class || method.getReturnType() == Boolean.class)) {
                 fieldName = Character.toLowerCase(name.charAt(2)) + name.substring(3);
             }
-            if (fieldName != null && hasField(clazz, fieldName)) {
+            if (fieldName != null && MetadataIndex.hasField(clazz, fieldName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Collects superclasses (up to but not including Object) that declare
+     * setter methods backed by their own declared fields.
+     */
+    private static void collectAncestorsWithSetters(Class<?> clazz, Set<Class<?>> ancestors) {
+        Class<?> current = clazz.getSuperclass();
+        while (current != null && current != Object.class) {
+            if (!ancestors.contains(current) && hasSetterBackedFields(current)) {
+                ancestors.add(current);
+            }
+            current = current.getSuperclass();
+        }
+    }
+
+    /**
+     * Checks if a class declares any setter methods backed by its own declared fields.
+     */
+    private static boolean hasSetterBackedFields(Class<?> clazz) {
+        for (Method method : clazz.getDeclaredMethods()) {
+            if (!java.lang.reflect.Modifier.isPublic(method.getModifiers())) continue;
+            String fieldName = fieldNameFromSetter(method);
+            if (fieldName != null && MetadataIndex.hasField(clazz, fieldName)) {
                 return true;
             }
         }
         return false;
     }
 
+    /**
+     * Builds an ElementMatcher that matches single-argument setter methods backed by actual fields.
+     */
+    static ElementMatcher.Junction<MethodDescription> buildSetterMatcher(Class<?> clazz) {
+        ElementMatcher.Junction<MethodDescription> matcher = none();
+
+        for (Method method : clazz.getMethods()) {
+            if (method.getDeclaringClass() == Object.class) continue;
+            String fieldName = fieldNameFromSetter(method);
+            if (fieldName != null && MetadataIndex.hasField(clazz, fieldName)) {
+                matcher = matcher.or(named(method.getName()).and(takesArguments(1)).and(not(isStatic())));
+            }
+        }
+
+        return matcher;
+    }
+
+    private static String fieldNameFromSetter(Method method) {
+        String name = method.getName();
+        if (method.getParameterCount() != 1 || !name.startsWith("set") || name.length() <= 3) {
+            return null;
+        }
+        return Character.toLowerCase(name.charAt(3)) + name.substring(4);
+    }
+
     /**
      * Builds an ElementMatcher that matches getter methods backed by actual fields.
      */
@@ -231,7 +352,7 @@ public class UsageInstrumentation {
                 fieldName = Character.toLowerCase(name.charAt(2)) + name.substring(3);
             }
 
-            if (fieldName != null && hasField(clazz, fieldName)) {
+            if (fieldName != null && MetadataIndex.hasField(clazz, fieldName)) {
                 matcher = matcher.or(named(name).and(takesNoArguments()).and(not(isConstructor())));
             }
         }
@@ -239,19 +360,6 @@ public class UsageInstrumentation {
         return matcher;
     }
 
-    private static boolean hasField(Class<?> clazz, String fieldName) {
-        Class<?> current = clazz;
-        while (current != null && current != Object.class) {
-            try {
-                current.getDeclaredField(fieldName);
-                return true;
-            } catch (NoSuchFieldException e) {
-                current = current.getSuperclass();
-            }
-        }
-        return false;
-    }
-
     /**
      * Extracts the field name from a getter method name.
      */
@@ -276,6 +384,17 @@ public class UsageInstrumentation {
         }
     }
 
+    /**
+     * ByteBuddy Advice applied to setter methods.
+     * Before the setter executes, lets CopyOnWriteTracker copy the object's snapshot state.
+     */
+    public static class SetterAdvice {
+        @Advice.OnMethodEnter
+        public static void beforeSetter(@Advice.This Object self) {
+            CopyOnWriteTracker.beforeWriteIfActive(self);
+        }
+    }
+
     /**
      * ByteBuddy Advice applied to getter methods.
      * Before the getter executes, records the field access with UsageTracker.
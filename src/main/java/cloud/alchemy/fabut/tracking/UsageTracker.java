@@ -1,5 +1,7 @@
 package cloud.alchemy.fabut.tracking;
 
+import cloud.alchemy.fabut.MetadataIndex;
+
 import java.lang.reflect.Method;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -199,7 +201,7 @@ public class UsageTracker {
                 }
                 if (fieldName != null) {
                     // Verify field exists on the class hierarchy
-                    if (hasField(c, fieldName)) {
+                    if (MetadataIndex.hasField(c, fieldName)) {
                         fields.add(fieldName);
                     }
                 }
@@ -212,16 +214,4 @@ public class UsageTracker {
         });
     }
 
-    private static boolean hasField(Class<?> clazz, String fieldName) {
-        Class<?> current = clazz;
-        while (current != null && current != Object.class) {
-            try {
-                current.getDeclaredField(fieldName);
-                return true;
-            } catch (NoSuchFieldException e) {
-                current = current.getSuperclass();
-            }
-        }
-        return false;
-    }
 }
@@ -0,0 +1,109 @@
+package cloud.alchemy.fabut;
+
+import cloud.alchemy.fabut.model.NoDefaultConstructorType;
+import cloud.alchemy.fabut.model.TierOneType;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link Accessors}.
+ */
+class AccessorsTest {
+
+    public static class Counter {
+        private int count;
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+
+        public String getBroken() {
+            throw new IllegalStateException("broken");
+        }
+    }
+
+    @Test
+    void getter_isGeneratedInTheTargetNest() throws Exception {
+        Function<Object, Object> getter = Accessors.getter(TierOneType.class.getMethod("getProperty"));
+
+        assertEquals("test", getter.apply(new TierOneType("test")));
+        assertSame(TierOneType.class, getter.getClass().getNestHost());
+        assertSame(getter, Accessors.getter(TierOneType.class.getMethod("getProperty")));
+    }
+
+    @Test
+    void getter_boxesPrimitiveValue() throws Exception {
+        Counter counter = new Counter();
+        counter.setCount(3);
+
+        assertEquals(3, Accessors.getter(Counter.class.getMethod("getCount")).apply(counter));
+    }
+
+    @Test
+    void getter_fallsBackToReflectionForClosedPackage() throws Exception {
+        Function<Object, Object> getter = Accessors.getter(ArrayList.class.getMethod("size"));
+
+        assertEquals(2, getter.apply(new ArrayList<>(List.of(1, 2))));
+        assertSame(Accessors.class, getter.getClass().getNestHost());
+    }
+
+    @Test
+    void get_wrapsGetterFailureLikeReflection() throws Exception {
+        Function<Object, Object> getter = Accessors.getter(Counter.class.getMethod("getBroken"));
+
+        InvocationTargetException e = assertThrows(InvocationTargetException.class, () -> Accessors.get(getter, new Counter()));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+
+    @Test
+    void setter_unboxesPrimitiveArgument() throws Exception {
+        BiConsumer<Object, Object> setter = Accessors.setter(Counter.class.getMethod("setCount", int.class));
+        Counter counter = new Counter();
+
+        setter.accept(counter, 5);
+
+        assertEquals(5, counter.getCount());
+        assertSame(Counter.class.getNestHost(), setter.getClass().getNestHost());
+    }
+
+    @Test
+    void fieldWriter_writesPrivateField() throws Exception {
+        Field field = Counter.class.getDeclaredField("count");
+        ReflectionUtil.makeAccessible(field);
+        Counter counter = new Counter();
+
+        Accessors.set(Accessors.fieldWriter(field), counter, 7);
+
+        assertEquals(7, counter.getCount());
+    }
+
+    @Test
+    void constructor_createsNewInstances() throws Exception {
+        Supplier<Object> constructor = Accessors.constructor(TierOneType.class);
+
+        Object first = Accessors.newInstance(constructor);
+        Object second = Accessors.newInstance(constructor);
+
+        assertInstanceOf(TierOneType.class, first);
+        assertNotSame(first, second);
+        assertSame(constructor, Accessors.constructor(TierOneType.class));
+    }
+
+    @Test
+    void constructor_missingNoArgumentConstructor() {
+        assertThrows(NoSuchMethodException.class, () -> Accessors.constructor(NoDefaultConstructorType.class));
+    }
+}
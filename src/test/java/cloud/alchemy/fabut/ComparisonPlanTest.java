@@ -0,0 +1,123 @@
+package cloud.alchemy.fabut;
+
+import cloud.alchemy.fabut.ComparisonPlan.FieldSlot;
+import cloud.alchemy.fabut.ComparisonPlan.ValueKind;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ComparisonPlanTest {
+
+    static class Sample {
+        public String getName() {
+            return "name";
+        }
+
+        public int getCount() {
+            return 7;
+        }
+
+        public String getBroken() {
+            throw new IllegalStateException("broken");
+        }
+    }
+
+    static class Measurement {
+        private final int count;
+        private final double value;
+        private final boolean valid;
+
+        Measurement(int count, double value, boolean valid) {
+            this.count = count;
+            this.value = value;
+            this.valid = valid;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public double getValue() {
+            return value;
+        }
+
+        public boolean isValid() {
+            return valid;
+        }
+    }
+
+    private static class Hidden {
+        public int getCount() {
+            return 5;
+        }
+    }
+
+    private static FieldSlot slot(String methodName, boolean ignored, ValueKind kind) throws NoSuchMethodException {
+        return ComparisonPlan.slot(Sample.class.getMethod(methodName), ignored, kind);
+    }
+
+    @Test
+    void slot_readsThroughGeneratedAccessor() throws Exception {
+        FieldSlot name = slot("getName", false, ValueKind.VALUE);
+        FieldSlot count = slot("getCount", true, ValueKind.VALUE);
+
+        assertNotNull(name.getter());
+        assertEquals("name", name.fieldName());
+        assertSame("name", name.fieldName());
+        assertEquals("name", name.read(new Sample()));
+        assertEquals(7, count.read(new Sample()));
+        assertTrue(count.ignored());
+    }
+
+    @Test
+    void slot_wrapsGetterFailureLikeReflection() throws Exception {
+        FieldSlot broken = slot("getBroken", false, ValueKind.VALUE);
+
+        InvocationTargetException e = assertThrows(InvocationTargetException.class, () -> broken.read(new Sample()));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+
+    @Test
+    void plan_keepsSlotOrderAndFindsSlotsByMethodName() throws Exception {
+        FieldSlot name = slot("getName", false, ValueKind.VALUE);
+        FieldSlot count = slot("getCount", false, ValueKind.VALUE);
+        ComparisonPlan plan = new ComparisonPlan(List.of(count, name));
+
+        assertArrayEquals(new FieldSlot[]{count, name}, plan.slots());
+        assertSame(name, plan.slot("getName"));
+        assertNull(plan.slot("getMissing"));
+    }
+
+    @Test
+    void primitiveSlot_comparesUnboxedValues() throws Exception {
+        FieldSlot count = ComparisonPlan.slot(Measurement.class.getMethod("getCount"), false, ValueKind.VALUE);
+        FieldSlot valid = ComparisonPlan.slot(Measurement.class.getMethod("isValid"), false, ValueKind.VALUE);
+
+        assertEquals(ComparisonPlan.Primitive.INT, count.primitive());
+        assertEquals(ComparisonPlan.Primitive.BOOLEAN, valid.primitive());
+        assertTrue(count.primitiveEquals(new Measurement(3, 0, true), new Measurement(3, 1, false)));
+        assertFalse(count.primitiveEquals(new Measurement(3, 0, true), new Measurement(4, 0, true)));
+        assertFalse(valid.primitiveEquals(new Measurement(3, 0, true), new Measurement(3, 0, false)));
+        assertNull(slot("getName", false, ValueKind.VALUE).primitive());
+    }
+
+    @Test
+    void primitiveSlot_doublesCompareLikeDoubleEquals() throws Exception {
+        FieldSlot value = ComparisonPlan.slot(Measurement.class.getMethod("getValue"), false, ValueKind.VALUE);
+
+        assertTrue(value.primitiveEquals(new Measurement(0, Double.NaN, true), new Measurement(0, Double.NaN, true)));
+        assertFalse(value.primitiveEquals(new Measurement(0, 0.0, true), new Measurement(0, -0.0, true)));
+        assertEquals(Double.valueOf(0.0).equals(-0.0), value.primitiveEquals(new Measurement(0, 0.0, true), new Measurement(0, -0.0, true)));
+    }
+
+    @Test
+    void primitiveSlot_readsGetterOfPrivateClass() throws Exception {
+        FieldSlot count = ComparisonPlan.slot(Hidden.class.getMethod("getCount"), false, ValueKind.VALUE);
+
+        assertEquals(ComparisonPlan.Primitive.INT, count.primitive());
+        assertTrue(count.primitiveEquals(new Hidden(), new Hidden()));
+    }
+}
@@ -0,0 +1,69 @@
+package cloud.alchemy.fabut;
+
+import cloud.alchemy.fabut.property.ISingleProperty;
+import cloud.alchemy.fabut.property.NotNullProperty;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpectedPropertiesTest {
+
+    private static ISingleProperty notNull(String path) {
+        return new NotNullProperty(path);
+    }
+
+    @Test
+    void take_matchesFieldIgnoringCaseAndConsumesProperty() {
+        ISingleProperty name = notNull("Name");
+        ExpectedProperties properties = ExpectedProperties.of(List.of(name));
+
+        assertSame(name, properties.take("name"));
+        assertNull(properties.take("name"));
+        assertTrue(properties.isEmpty());
+        assertEquals("Name", name.getPath());
+    }
+
+    @Test
+    void take_returnsPropertiesOfTheSamePathInOrder() {
+        ISingleProperty first = notNull("name");
+        ISingleProperty second = notNull("name");
+        ExpectedProperties properties = ExpectedProperties.of(List.of(first, second));
+
+        assertSame(first, properties.take("name"));
+        assertTrue(properties.contains("name"));
+        assertSame(second, properties.take("name"));
+        assertFalse(properties.contains("name"));
+    }
+
+    @Test
+    void inner_exposesPropertiesBelowTheField() {
+        ISingleProperty city = notNull("parent.address.city");
+        ExpectedProperties properties = ExpectedProperties.of(List.of(notNull("parents"), city));
+
+        assertTrue(properties.hasInner("parent"));
+        assertFalse(properties.hasInner("parents"));
+        assertFalse(properties.hasInner("missing"));
+
+        ExpectedProperties address = properties.inner("parent").inner("address");
+        assertSame(city, address.take("city"));
+        assertFalse(properties.hasInner("parent"));
+        assertEquals("parent.address.city", city.getPath());
+        assertTrue(properties.inner("missing").isEmpty());
+    }
+
+    @Test
+    void takeRemainingPaths_returnsRelativePathsInPassedOrder() {
+        ExpectedProperties properties = ExpectedProperties.of(List.of(
+                notNull("parent.b"), notNull("other"), notNull("parent.a.x"), notNull("parent.c")));
+        properties.take("other");
+        ExpectedProperties parent = properties.inner("parent");
+        parent.take("c");
+
+        assertEquals(List.of("b", "a.x"), parent.takeRemainingPaths());
+        assertTrue(parent.isEmpty());
+        assertTrue(properties.isEmpty());
+        assertEquals(List.of(), properties.takeRemainingPaths());
+    }
+}
@@ -0,0 +1,144 @@
+package cloud.alchemy.fabut;
+
+import cloud.alchemy.fabut.model.AssertableEntity;
+import cloud.alchemy.fabut.model.AssertableEntityAssert;
+import cloud.alchemy.fabut.model.EntityTierOneType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FabutAfterStateCacheTest extends Fabut {
+
+    private final List<Object> assertableEntities = new ArrayList<>();
+    private final List<Object> entityTierOneTypes = new ArrayList<>();
+    private final List<Collection<?>> findByIdsCalls = new ArrayList<>();
+    private int findByIdCalls;
+
+    public FabutAfterStateCacheTest() {
+        entityTypes.add(AssertableEntity.class);
+        entityTypes.add(EntityTierOneType.class);
+    }
+
+    @Override
+    protected List<?> findAll(Class<?> entityClass) {
+        if (entityClass == AssertableEntity.class) {
+            return assertableEntities;
+        }
+        return entityTierOneTypes;
+    }
+
+    @Override
+    protected Object findById(Class<?> entityClass, Object id) {
+        findByIdCalls++;
+        for (Object entity : findAll(entityClass)) {
+            if (ReflectionUtil.getIdValue(entity).equals(id)) {
+                return entity;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    protected List<?> findByIds(Class<?> entityClass, Collection<?> ids) {
+        findByIdsCalls.add(List.copyOf(ids));
+        return findAll(entityClass).stream()
+                .filter(entity -> ids.contains(ReflectionUtil.getIdValue(entity)))
+                .toList();
+    }
+
+    @Test
+    void pendingBuilders_areLoadedWithOneCall() {
+        AssertableEntity first = new AssertableEntity(1L, "first", 1, Optional.empty(), Optional.empty());
+        AssertableEntity second = new AssertableEntity(2L, "second", 2, Optional.empty(), Optional.empty());
+        AssertableEntity third = new AssertableEntity(3L, "third", 3, Optional.empty(), Optional.empty());
+        assertableEntities.addAll(List.of(first, second, third));
+
+        takeSnapshot();
+        first.setCount(10);
+        second.setCount(20);
+        assertableEntities.remove(third);
+
+        AssertableEntityAssert firstAssert = AssertableEntityAssert.updated(this, first).count_is(10);
+        AssertableEntityAssert secondAssert = AssertableEntityAssert.updated(this, second).count_is(20);
+        AssertableEntityAssert thirdAssert = AssertableEntityAssert.deleted(this, third);
+
+        assertSame(first, firstAssert.verify());
+        assertSame(second, secondAssert.verify());
+        thirdAssert.verify();
+
+        assertEquals(1, findByIdsCalls.size());
+        assertEquals(Set.of(1L, 2L, 3L), Set.copyOf(findByIdsCalls.getFirst()));
+        assertEquals(0, findByIdCalls);
+    }
+
+    @Test
+    void assertEntityAsDeleted_reloadsEntityVerifiedEarlier() {
+        EntityTierOneType entity = new EntityTierOneType("before", 1);
+        entityTierOneTypes.add(entity);
+
+        takeSnapshot();
+        entity.setProperty("after");
+        assertSame(entity, assertEntityWithSnapshot(entity, value("property", "after")));
+
+        entityTierOneTypes.remove(entity);
+        assertEntityAsDeleted(entity);
+
+        assertEquals(2, findByIdsCalls.size());
+        assertEquals(0, findByIdCalls);
+    }
+
+    @Test
+    void verifiedEntity_isLoadedAgainForTheNextBatch() {
+        AssertableEntity first = new AssertableEntity(1L, "first", 1, Optional.empty(), Optional.empty());
+        AssertableEntity second = new AssertableEntity(2L, "second", 2, Optional.empty(), Optional.empty());
+        assertableEntities.addAll(List.of(first, second));
+
+        takeSnapshot();
+        first.setCount(10);
+        second.setCount(20);
+
+        AssertableEntityAssert firstAssert = AssertableEntityAssert.updated(this, first).count_is(10);
+        AssertableEntityAssert secondAssert = AssertableEntityAssert.updated(this, second).count_is(20);
+        firstAssert.verify();
+        first.setCount(11);
+        secondAssert.verify();
+
+        AssertableEntityAssert.updated(this, first).count_is(11).verify();
+
+        assertEquals(2, findByIdsCalls.size());
+        assertEquals(List.of(1L), findByIdsCalls.get(1));
+    }
+
+    @Test
+    void takeSnapshot_forgetsEntitiesLoadedBefore() {
+        EntityTierOneType entity = new EntityTierOneType("before", 1);
+        entityTierOneTypes.add(entity);
+
+        takeSnapshot();
+        entity.setProperty("changed");
+        assertEntityWithSnapshot(entity, value("property", "changed"));
+
+        takeSnapshot();
+        entity.setProperty("after");
+        assertEntityWithSnapshot(entity, value("property", "after"));
+
+        assertEquals(2, findByIdsCalls.size());
+    }
+
+    @Test
+    void defaultFindByIds_skipsMissingIds() {
+        entityTierOneTypes.add(new EntityTierOneType("first", 1));
+
+        List<?> entities = super.findByIds(EntityTierOneType.class, List.of(1, 2));
+
+        assertEquals(1, entities.size());
+        assertEquals(2, findByIdCalls);
+        entityTierOneTypes.clear();
+    }
+}
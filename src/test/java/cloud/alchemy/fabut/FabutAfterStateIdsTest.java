@@ -0,0 +1,153 @@
+package cloud.alchemy.fabut;
+
+import cloud.alchemy.fabut.model.EntityTierOneType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FabutAfterStateIdsTest extends Fabut {
+
+    private final List<Object> entityTierOneTypes = new ArrayList<>();
+    private final List<Collection<?>> findByIdsCalls = new ArrayList<>();
+    private final List<Object> notLoadedIds = new ArrayList<>();
+    private int findAllCalls;
+
+    public FabutAfterStateIdsTest() {
+        entityTypes.add(EntityTierOneType.class);
+    }
+
+    @Override
+    protected List<?> findAll(Class<?> entityClass) {
+        findAllCalls++;
+        return entityTierOneTypes;
+    }
+
+    @Override
+    protected Object findById(Class<?> entityClass, Object id) {
+        throw new AssertionError("findById must not be called");
+    }
+
+    @Override
+    protected Collection<?> findAllIds(Class<?> entityClass) {
+        return entityTierOneTypes.stream().map(ReflectionUtil::getIdValue).toList();
+    }
+
+    @Override
+    protected List<?> findByIds(Class<?> entityClass, Collection<?> ids) {
+        findByIdsCalls.add(List.copyOf(ids));
+        return entityTierOneTypes.stream()
+                .filter(entity -> ids.contains(ReflectionUtil.getIdValue(entity)))
+                .filter(entity -> !notLoadedIds.contains(ReflectionUtil.getIdValue(entity)))
+                .toList();
+    }
+
+    @Test
+    void findAllIds_loadsOnlyEntitiesNotAsserted() {
+        EntityTierOneType asserted = new EntityTierOneType("asserted", 1);
+        entityTierOneTypes.add(asserted);
+        entityTierOneTypes.add(new EntityTierOneType("untouched", 2));
+
+        takeSnapshot();
+        asserted.setProperty("changed");
+        assertEntityWithSnapshot(asserted, value("property", "changed"));
+
+        assertDbSnapshot(new FabutReport());
+
+        assertEquals(List.of(List.of(1), List.of(2)), findByIdsCalls);
+        assertEquals(1, findAllCalls);
+    }
+
+    @Test
+    void findAllIds_reusesEntitiesLoadedForPendingBuilders() {
+        EntityTierOneType asserted = new EntityTierOneType("asserted", 1);
+        EntityTierOneType pending = new EntityTierOneType("pending", 2);
+        entityTierOneTypes.add(asserted);
+        entityTierOneTypes.add(pending);
+        Object pendingBuilder = new Object();
+
+        takeSnapshot();
+        registerPendingVerification(pendingBuilder, pending);
+        asserted.setProperty("changed");
+        assertEntityWithSnapshot(asserted, value("property", "changed"));
+
+        FabutReport report = new FabutReport();
+        assertDbSnapshot(report);
+        markVerified(pendingBuilder);
+
+        assertTrue(report.isSuccess(), report.getMessage());
+        assertEquals(List.of(List.of(1, 2)), findByIdsCalls);
+    }
+
+    @Test
+    void findAllIds_reportsCreatedDeletedAndUpdatedEntities() {
+        EntityTierOneType updated = new EntityTierOneType("before", 1);
+        EntityTierOneType deleted = new EntityTierOneType("deleted", 2);
+        entityTierOneTypes.add(updated);
+        entityTierOneTypes.add(deleted);
+
+        takeSnapshot();
+        updated.setProperty("after");
+        entityTierOneTypes.remove(deleted);
+        entityTierOneTypes.add(new EntityTierOneType("created", 3));
+
+        FabutReport report = new FabutReport();
+        assertDbSnapshot(report);
+
+        String message = report.getMessage();
+        assertFalse(report.isSuccess());
+        assertTrue(message.contains("CREATED"), message);
+        assertTrue(message.contains("value(EntityTierOneType.PROPERTY, \"created\")"), message);
+        assertTrue(message.contains("DELETED"), message);
+        assertTrue(message.contains("UPDATED"), message);
+        assertTrue(message.contains("before"), message);
+
+        entityTierOneTypes.clear();
+        entityTierOneTypes.addAll(List.of(updated, deleted));
+        updated.setProperty("before");
+    }
+
+    @Test
+    void findAllIds_unchangedRepositoryPasses() {
+        entityTierOneTypes.add(new EntityTierOneType("first", 1));
+
+        takeSnapshot();
+
+        FabutReport report = new FabutReport();
+        assertDbSnapshot(report);
+        assertTrue(report.isSuccess(), report.getMessage());
+    }
+
+    @Test
+    void findAllIds_assertedDeletionIsNotReported() {
+        EntityTierOneType deleted = new EntityTierOneType("deleted", 1);
+        entityTierOneTypes.add(deleted);
+
+        takeSnapshot();
+        entityTierOneTypes.remove(deleted);
+        assertEntityAsDeleted(deleted);
+
+        FabutReport report = new FabutReport();
+        assertDbSnapshot(report);
+        assertTrue(report.isSuccess(), report.getMessage());
+        assertEquals(List.of(List.of(1)), findByIdsCalls);
+    }
+
+    @Test
+    void findAllIds_idNotLoadedByFindByIdsIsReported() {
+        entityTierOneTypes.add(new EntityTierOneType("first", 1));
+
+        takeSnapshot();
+        notLoadedIds.add(1);
+
+        FabutReport report = new FabutReport();
+        assertDbSnapshot(report);
+
+        assertFalse(report.isSuccess());
+        assertTrue(report.getMessage().contains("NOT LOADED: EntityTierOneType with id 1"), report.getMessage());
+        notLoadedIds.clear();
+    }
+}
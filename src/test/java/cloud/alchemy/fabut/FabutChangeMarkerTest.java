@@ -0,0 +1,185 @@
+package cloud.alchemy.fabut;
+
+import cloud.alchemy.fabut.model.AssertableEntity;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FabutChangeMarkerTest extends Fabut {
+
+    public static class StampedEntity {
+        private Long id;
+        private String name;
+        private Instant updatedAt;
+
+        public StampedEntity() {
+        }
+
+        public StampedEntity(Long id, String name, Instant updatedAt) {
+            this.id = id;
+            this.name = name;
+            this.updatedAt = updatedAt;
+        }
+
+        public Long getId() { return id; }
+        public void setId(Long id) { this.id = id; }
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+        public Instant getUpdatedAt() { return updatedAt; }
+        public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+    }
+
+    private final List<Object> assertableEntities = new ArrayList<>();
+    private final List<Object> stampedEntities = new ArrayList<>();
+    private final List<Collection<?>> findByIdsCalls = new ArrayList<>();
+    private final List<Object> findChangedSinceCalls = new ArrayList<>();
+    private boolean idsOnly;
+
+    public FabutChangeMarkerTest() {
+        entityTypes.add(AssertableEntity.class);
+        entityTypes.add(StampedEntity.class);
+        changeMarkerFields.put(AssertableEntity.class, List.of("version"));
+        changeMarkerFields.put(StampedEntity.class, List.of("updatedAt"));
+    }
+
+    @Override
+    protected List<?> findAll(Class<?> entityClass) {
+        return entityClass == StampedEntity.class ? stampedEntities : assertableEntities;
+    }
+
+    @Override
+    protected Object findById(Class<?> entityClass, Object id) {
+        for (Object entity : findAll(entityClass)) {
+            if (ReflectionUtil.getIdValue(entity).equals(id)) {
+                return entity;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    protected Collection<?> findAllIds(Class<?> entityClass) {
+        return idsOnly ? findAll(entityClass).stream().map(ReflectionUtil::getIdValue).toList() : null;
+    }
+
+    @Override
+    protected List<?> findByIds(Class<?> entityClass, Collection<?> ids) {
+        findByIdsCalls.add(List.copyOf(ids));
+        return super.findByIds(entityClass, ids);
+    }
+
+    @Override
+    protected Collection<?> findChangedSince(Class<?> entityClass, Object marker) {
+        findChangedSinceCalls.add(marker);
+        return stampedEntities.stream()
+                .map(StampedEntity.class::cast)
+                .filter(entity -> !entity.getUpdatedAt().isBefore((Instant) marker))
+                .toList();
+    }
+
+    private AssertableEntity entity(long id, long version) {
+        AssertableEntity entity = new AssertableEntity(id, "name" + id, (int) id, Optional.empty(), Optional.empty());
+        entity.setVersion(version);
+        return entity;
+    }
+
+    @Test
+    void unchangedMarker_skipsComparison() {
+        AssertableEntity entity = entity(1, 1);
+        assertableEntities.add(entity);
+
+        takeSnapshot();
+        // a change that does not bump the marker is not looked at
+        entity.setCount(10);
+
+        FabutReport report = new FabutReport();
+        assertDbSnapshot(report);
+        assertTrue(report.isSuccess(), report.getMessage());
+    }
+
+    @Test
+    void changedMarker_comparesEntity() {
+        AssertableEntity entity = entity(1, 1);
+        assertableEntities.add(entity);
+
+        takeSnapshot();
+        entity.setCount(10);
+        entity.setVersion(2L);
+
+        FabutReport report = new FabutReport();
+        assertDbSnapshot(report);
+        assertFalse(report.isSuccess());
+        assertTrue(report.getMessage().contains("UPDATED"), report.getMessage());
+
+        assertEntityWithSnapshot(entity, value("count", 10), value("version", 2L));
+    }
+
+    @Test
+    void nullMarker_comparesEntity() {
+        AssertableEntity entity = new AssertableEntity(1L, "name", 1, Optional.empty(), Optional.empty());
+        assertableEntities.add(entity);
+
+        takeSnapshot();
+        entity.setCount(10);
+
+        FabutReport report = new FabutReport();
+        assertDbSnapshot(report);
+        assertFalse(report.isSuccess());
+
+        assertEntityWithSnapshot(entity, value("count", 10));
+    }
+
+    @Test
+    void findChangedSince_loadsOnlyChangedEntities() {
+        idsOnly = true;
+        Instant start = Instant.parse("2026-01-01T00:00:00Z");
+        StampedEntity changed = new StampedEntity(1L, "name1", start.plusSeconds(1));
+        stampedEntities.add(changed);
+        stampedEntities.add(new StampedEntity(2L, "name2", start.plusSeconds(2)));
+        stampedEntities.add(new StampedEntity(3L, "name3", start.plusSeconds(3)));
+
+        takeSnapshot();
+        changed.setName("changed");
+        changed.setUpdatedAt(start.plusSeconds(4));
+        stampedEntities.add(new StampedEntity(4L, "name4", start.plusSeconds(5)));
+
+        FabutReport report = new FabutReport();
+        assertDbSnapshot(report);
+
+        assertEquals(List.of(start.plusSeconds(3)), findChangedSinceCalls);
+        assertTrue(findByIdsCalls.isEmpty(), findByIdsCalls.toString());
+        String message = report.getMessage();
+        assertTrue(message.contains("UPDATED: StampedEntity[id=1]"), message);
+        assertTrue(message.contains("CREATED"), message);
+
+        stampedEntities.removeLast();
+        assertEntityWithSnapshot(changed, value("name", "changed"), value("updatedAt", start.plusSeconds(4)));
+    }
+
+    @Test
+    void versionMarker_doesNotNarrowLoading() {
+        idsOnly = true;
+        AssertableEntity changed = entity(1, 1);
+        assertableEntities.add(changed);
+        assertableEntities.add(entity(2, 5));
+
+        takeSnapshot();
+        // changed since the snapshot, yet below the highest version taken
+        changed.setCount(10);
+        changed.setVersion(2L);
+
+        FabutReport report = new FabutReport();
+        assertDbSnapshot(report);
+
+        assertTrue(findChangedSinceCalls.isEmpty(), findChangedSinceCalls.toString());
+        assertTrue(report.getMessage().contains("UPDATED: AssertableEntity[id=1]"), report.getMessage());
+
+        assertEntityWithSnapshot(changed, value("count", 10), value("version", 2L));
+    }
+}
@@ -0,0 +1,135 @@
+package cloud.alchemy.fabut;
+
+import cloud.alchemy.fabut.enums.SnapshotMode;
+import cloud.alchemy.fabut.model.AssertableEntity;
+import cloud.alchemy.fabut.model.EntityTierOneType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FabutColumnarSnapshotTest extends Fabut {
+
+    // named like a Hibernate proxy, so it is asserted as AssertableEntity but not stored in columns
+    public static class AssertableEntity$HibernateProxy$1 extends AssertableEntity {
+        public AssertableEntity$HibernateProxy$1() {
+        }
+
+        public AssertableEntity$HibernateProxy$1(Long id, String name) {
+            super(id, name, id.intValue(), Optional.empty(), Optional.empty());
+        }
+    }
+
+    private final List<Object> assertableEntities = new ArrayList<>();
+    private final List<Object> entityTierOneTypes = new ArrayList<>();
+
+    public FabutColumnarSnapshotTest() {
+        entityTypes.add(AssertableEntity.class);
+        entityTypes.add(EntityTierOneType.class);
+        snapshotMode = SnapshotMode.COLUMNAR;
+    }
+
+    @Override
+    protected List<?> findAll(Class<?> entityClass) {
+        if (entityClass == AssertableEntity.class) {
+            return assertableEntities;
+        }
+        return entityTierOneTypes;
+    }
+
+    @Override
+    protected Object findById(Class<?> entityClass, Object id) {
+        for (Object entity : findAll(entityClass)) {
+            if (ReflectionUtil.getIdValue(entity).equals(id)) {
+                return entity;
+            }
+        }
+        return null;
+    }
+
+    @Test
+    void columnar_unchangedEntitiesPass() {
+        for (long id = 1; id <= 200; id++) {
+            assertableEntities.add(new AssertableEntity(id, "name" + (id % 5), (int) id, Optional.empty(), Optional.of(3)));
+        }
+        entityTierOneTypes.add(new EntityTierOneType("first", 1));
+
+        takeSnapshot();
+    }
+
+    @Test
+    void columnar_proxyEntitiesStoredDuringParallelAppend() {
+        for (long id = 1; id <= 500; id++) {
+            assertableEntities.add(id % 3 == 0
+                    ? new AssertableEntity$HibernateProxy$1(id, "proxy" + id)
+                    : new AssertableEntity(id, "name" + id, (int) id, Optional.empty(), Optional.empty()));
+        }
+
+        takeSnapshot();
+        AssertableEntity proxy = (AssertableEntity) assertableEntities.get(299);
+        proxy.setName("changed");
+
+        FabutReport report = new FabutReport();
+        assertDbSnapshot(report);
+        String message = report.getMessage();
+        assertTrue(message.contains("name: expected: proxy300 but was: changed"), message);
+        assertEquals(1, message.split("UPDATED").length - 1, message);
+        assertFalse(message.contains("CREATED") || message.contains("DELETED"), message);
+
+        assertEntityWithSnapshot(proxy, value("name", "changed"));
+    }
+
+    @Test
+    void columnar_changedEntityIsReportedWithBeforeValue() {
+        AssertableEntity entity = new AssertableEntity(1L, "before", 5, Optional.empty(), Optional.empty());
+        assertableEntities.add(entity);
+        assertableEntities.add(new AssertableEntity(2L, "untouched", 6, Optional.empty(), Optional.empty()));
+
+        takeSnapshot();
+        entity.setCount(7);
+
+        FabutReport report = new FabutReport();
+        assertDbSnapshot(report);
+
+        assertFalse(report.isSuccess());
+        assertTrue(report.getMessage().contains("count: expected: 5 but was: 7"), report.getMessage());
+        assertFalse(report.getMessage().contains("untouched"), report.getMessage());
+
+        ignoreEntity(entity);
+    }
+
+    @Test
+    void columnar_assertEntityWithSnapshot() {
+        EntityTierOneType entity = new EntityTierOneType("before", 1);
+        entityTierOneTypes.add(entity);
+
+        takeSnapshot();
+        entity.setProperty("after");
+
+        assertEntityWithSnapshot(entity, value("property", "after"));
+    }
+
+    @Test
+    void columnar_createdAndDeletedEntitiesAreReported() {
+        EntityTierOneType deleted = new EntityTierOneType("deleted", 1);
+        entityTierOneTypes.add(deleted);
+
+        takeSnapshot();
+        entityTierOneTypes.clear();
+        EntityTierOneType created = new EntityTierOneType("created", 2);
+        entityTierOneTypes.add(created);
+
+        FabutReport report = new FabutReport();
+        assertDbSnapshot(report);
+
+        assertFalse(report.isSuccess());
+        assertTrue(report.getMessage().contains("DELETED"), report.getMessage());
+        assertTrue(report.getMessage().contains("CREATED"), report.getMessage());
+
+        assertEntityAsDeleted(deleted);
+        ignoreEntity(created);
+    }
+}
@@ -0,0 +1,111 @@
+package cloud.alchemy.fabut;
+
+import cloud.alchemy.fabut.enums.SnapshotMode;
+import cloud.alchemy.fabut.model.EntityTierOneType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FabutCopyOnWriteSnapshotTest extends Fabut {
+
+    private final List<Object> entityTierOneTypes = new ArrayList<>();
+
+    public FabutCopyOnWriteSnapshotTest() {
+        entityTypes.add(EntityTierOneType.class);
+        snapshotMode = SnapshotMode.COPY_ON_WRITE;
+    }
+
+    @Override
+    protected List<?> findAll(Class<?> entityClass) {
+        if (entityClass == EntityTierOneType.class) {
+            return entityTierOneTypes;
+        }
+        return List.of();
+    }
+
+    @Override
+    protected Object findById(Class<?> entityClass, Object id) {
+        if (entityClass == EntityTierOneType.class) {
+            for (Object entity : entityTierOneTypes) {
+                if (((EntityTierOneType) entity).getId().equals(id)) {
+                    return entity;
+                }
+            }
+        }
+        return null;
+    }
+
+    @Test
+    void copyOnWrite_unchangedEntitiesPass() {
+        entityTierOneTypes.add(new EntityTierOneType("first", 1));
+        entityTierOneTypes.add(new EntityTierOneType("second", 2));
+
+        takeSnapshot();
+    }
+
+    @Test
+    void copyOnWrite_assertEntityWithSnapshotSeesStateBeforeFirstWrite() {
+        EntityTierOneType entity = new EntityTierOneType("test", 1);
+        entityTierOneTypes.add(entity);
+
+        takeSnapshot();
+
+        entity.setProperty("updated");
+        entity.setProperty("updated twice");
+
+        assertEntityWithSnapshot(entity, value("property", "updated twice"));
+    }
+
+    @Test
+    void copyOnWrite_unassertedWriteIsReported() {
+        EntityTierOneType entity = new EntityTierOneType("test", 1);
+        entityTierOneTypes.add(entity);
+        entityTierOneTypes.add(new EntityTierOneType("untouched", 2));
+
+        takeSnapshot();
+        entity.setProperty("updated");
+
+        FabutReport report = new FabutReport();
+        assertDbSnapshot(report);
+
+        assertFalse(report.isSuccess());
+        assertTrue(report.getMessage().contains("property: expected: test but was: updated"), report.getMessage());
+
+        ignoreEntity(entity);
+    }
+
+    @Test
+    void copyOnWrite_deletedEntityIsReported() {
+        EntityTierOneType entity = new EntityTierOneType("test", 1);
+        entityTierOneTypes.add(entity);
+
+        takeSnapshot();
+        entityTierOneTypes.clear();
+
+        FabutReport report = new FabutReport();
+        assertDbSnapshot(report);
+
+        assertFalse(report.isSuccess());
+        assertTrue(report.getMessage().contains("DELETED"), report.getMessage());
+
+        ignoreEntity(entity);
+    }
+
+    @Test
+    void copyOnWrite_writesAfterTestEndAreNotTracked() {
+        EntityTierOneType entity = new EntityTierOneType("test", 1);
+        entityTierOneTypes.add(entity);
+
+        takeSnapshot();
+        after();
+        before();
+        entityTierOneTypes.clear();
+
+        // Tracker from the finished test is gone, so this write must not fail anything
+        entity.setProperty("updated");
+        assertEquals("updated", entity.getProperty());
+    }
+}
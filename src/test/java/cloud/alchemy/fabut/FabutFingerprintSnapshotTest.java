@@ -0,0 +1,113 @@
+package cloud.alchemy.fabut;
+
+import cloud.alchemy.fabut.enums.SnapshotMode;
+import cloud.alchemy.fabut.model.EntityTierOneType;
+import cloud.alchemy.fabut.model.EntityTierTwoType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FabutFingerprintSnapshotTest extends Fabut {
+
+    private final List<Object> entityTierOneTypes = new ArrayList<>();
+    private final List<Object> entityTierTwoTypes = new ArrayList<>();
+
+    public FabutFingerprintSnapshotTest() {
+        entityTypes.add(EntityTierOneType.class);
+        entityTypes.add(EntityTierTwoType.class);
+        snapshotMode = SnapshotMode.FINGERPRINT;
+    }
+
+    @Override
+    protected List<?> findAll(Class<?> entityClass) {
+        if (entityClass == EntityTierOneType.class) {
+            return entityTierOneTypes;
+        }
+        return entityTierTwoTypes;
+    }
+
+    @Override
+    protected Object findById(Class<?> entityClass, Object id) {
+        for (Object entity : findAll(entityClass)) {
+            if (ReflectionUtil.getIdValue(entity).equals(id)) {
+                return entity;
+            }
+        }
+        return null;
+    }
+
+    @Test
+    void fingerprint_unchangedEntitiesPass() {
+        entityTierOneTypes.add(new EntityTierOneType("first", 1));
+        entityTierOneTypes.add(new EntityTierOneType("second", 2));
+
+        takeSnapshot();
+    }
+
+    @Test
+    void fingerprint_changedEntityIsComparedAgainstEncodedValues() {
+        EntityTierOneType entity = new EntityTierOneType("before", 1);
+        entityTierOneTypes.add(entity);
+        entityTierOneTypes.add(new EntityTierOneType("untouched", 2));
+
+        takeSnapshot();
+        entity.setProperty("after");
+
+        FabutReport report = new FabutReport();
+        assertDbSnapshot(report);
+
+        assertFalse(report.isSuccess());
+        assertTrue(report.getMessage().contains("property: expected: before but was: after"), report.getMessage());
+        assertFalse(report.getMessage().contains("untouched"), report.getMessage());
+
+        ignoreEntity(entity);
+    }
+
+    @Test
+    void fingerprint_assertEntityWithSnapshotUsesRebuiltCopy() {
+        EntityTierOneType entity = new EntityTierOneType("before", 1);
+        entityTierOneTypes.add(entity);
+
+        takeSnapshot();
+        entity.setProperty("after");
+
+        assertEntityWithSnapshot(entity, value("property", "after"));
+    }
+
+    @Test
+    void fingerprint_entityReferenceWithSameIdIsUnchanged() {
+        EntityTierOneType child = new EntityTierOneType("child", 1);
+        EntityTierTwoType parent = new EntityTierTwoType("parent", 10, child);
+        entityTierOneTypes.add(child);
+        entityTierTwoTypes.add(parent);
+
+        takeSnapshot();
+
+        // reloaded reference: another instance of the same row
+        parent.setSubProperty(new EntityTierOneType("child", 1));
+    }
+
+    @Test
+    void fingerprint_changedEntityReferenceIsReported() {
+        EntityTierOneType child = new EntityTierOneType("child", 1);
+        EntityTierOneType other = new EntityTierOneType("other", 2);
+        EntityTierTwoType parent = new EntityTierTwoType("parent", 10, child);
+        entityTierOneTypes.add(child);
+        entityTierOneTypes.add(other);
+        entityTierTwoTypes.add(parent);
+
+        takeSnapshot();
+        parent.setSubProperty(other);
+
+        FabutReport report = new FabutReport();
+        assertDbSnapshot(report);
+
+        assertFalse(report.isSuccess());
+        assertTrue(report.getMessage().contains("UPDATED"), report.getMessage());
+
+        ignoreEntity(parent);
+    }
+}
@@ -0,0 +1,83 @@
+package cloud.alchemy.fabut;
+
+import cloud.alchemy.fabut.model.TierOneType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FabutMetadataTest {
+
+    private static class ComplexFabut extends Fabut {
+        ComplexFabut() {
+            complexTypes.add(TierOneType.class);
+        }
+    }
+
+    private static class IgnoredFieldFabut extends ComplexFabut {
+        IgnoredFieldFabut() {
+            ignoredFields.put(TierOneType.class, List.of("property"));
+        }
+    }
+
+    private static class ClassifyingFabut extends ComplexFabut {
+        @Override
+        protected boolean isComplexType(final Class<?> clazz) {
+            return super.isComplexType(clazz);
+        }
+    }
+
+    @Test
+    public void testMetadata_sameRegistrationShared() {
+        // setup
+        final ComplexFabut first = new ComplexFabut();
+        final ComplexFabut second = new ComplexFabut();
+
+        // method
+        final FabutReport report = new FabutReport();
+        first.assertObjects(report, new TierOneType("a"), new TierOneType("a"), List.of());
+
+        // assert
+        assertTrue(report.isSuccess());
+        assertSame(first.metadata(), second.metadata());
+        assertNotNull(second.metadata().comparisonPlans.getIfPresent(TierOneType.class));
+    }
+
+    @Test
+    public void testMetadata_differentFieldsNotShared() {
+        // method
+        final FabutMetadata complex = new ComplexFabut().metadata();
+        final FabutMetadata ignoredField = new IgnoredFieldFabut().metadata();
+
+        // assert
+        assertNotSame(complex, ignoredField);
+    }
+
+    @Test
+    public void testMetadata_overriddenTypeCheckNotShared() {
+        // method
+        final FabutMetadata complex = new ComplexFabut().metadata();
+        final FabutMetadata classifying = new ClassifyingFabut().metadata();
+
+        // assert
+        assertNotSame(complex, classifying);
+        assertSame(classifying, new ClassifyingFabut().metadata());
+    }
+
+    @Test
+    public void testMetadata_resolvedOncePerInstance() {
+        // setup
+        final ComplexFabut fabut = new ComplexFabut();
+        final FabutMetadata metadata = fabut.metadata();
+
+        // method
+        fabut.ignoredTypes.add(String.class);
+
+        // assert
+        assertSame(metadata, fabut.metadata());
+    }
+}
@@ -278,7 +278,9 @@ public class FabutObjectAssertTest extends AbstractFabutTest {
         assertObjectWithProperties(report, tierTwoTypeWithListProperty, properties);
 
         // assert
-        assertFabutReportFailure(report, "❌ LIST SIZE MISMATCH: property expected size: 1, but was: 0");
+        assertFabutReportFailure(report, """
+                ❌ LIST SIZE MISMATCH: property expected size: 1, but was: 0
+                ❌ REMOVED ELEMENT: property expected test at index [0], but it was not found""");
     }
 
     /**
@@ -703,7 +705,32 @@ value(TierFiveType.PROPERTY.chain(TierFourType.PROPERTY.chain(TierThreeType.PROP
         assertList(report, Collections.emptyList(), expected, actual, new ArrayList<>());
 
         // assert
-        assertFabutReportFailure(report, "❌ LIST SIZE MISMATCH:  expected size: 1, but was: 2");
+        assertFabutReportFailure(report, """
+                ❌ LIST SIZE MISMATCH:  expected size: 1, but was: 2
+                📋 Asserting object at index [0] of list .
+                ❌ INSERTED ELEMENT:  contains unexpected test at index [1]""");
+    }
+
+    @Test
+    public void testAssertListNotEqualSizeReportsChangedElements() {
+        // setup
+        final List<TierOneType> expected = List.of(new TierOneType("a"), new TierOneType("b"), new TierOneType("c"));
+        final List<TierOneType> actual = List.of(new TierOneType("a"), new TierOneType("x"), new TierOneType("y"), new TierOneType("c"));
+
+        // method
+        final FabutReport report = new FabutReport();
+        assertList(report, Collections.emptyList(), expected, actual, new ArrayList<>());
+
+        // assert
+        assertFalse(report.isSuccess());
+        assertTrue(report.getMessage().startsWith("""
+                ❌ LIST SIZE MISMATCH:  expected size: 3, but was: 4
+                📋 Asserting object at index [0] of list .
+                📋 Asserting object at index [1] of list .
+                ❌ property: expected: b but was: x
+                ❌ INSERTED ELEMENT:  contains unexpected TierOneType{property='y'} at index [2]
+                📋 Asserting object at index [3] of list .
+                """), report.getMessage());
     }
 
     @Test
@@ -806,7 +833,7 @@ value(TierFiveType.PROPERTY.chain(TierFourType.PROPERTY.chain(TierThreeType.PROP
     }
 
     @Test
-    public void testRemoveParentQualificationForProperty() {
+    public void testInnerPropertiesRelativeToParent() {
         // setup
         final List<ISingleProperty> properties = new ArrayList<>();
 
@@ -815,68 +842,62 @@ value(TierFiveType.PROPERTY.chain(TierFourType.PROPERTY.chain(TierThreeType.PROP
         properties.add(notNull("parent.lastname"));
 
         // method
-        final List<ISingleProperty> unqualifiedProperties = removeParentQualification("parent", properties);
+        final ExpectedProperties inner = ExpectedProperties.of(properties).inner("parent");
 
         // assert
-        assertEquals("id", unqualifiedProperties.get(0).getPath());
-        assertEquals("name", unqualifiedProperties.get(1).getPath());
-        assertEquals("lastname", unqualifiedProperties.get(2).getPath());
+        assertEquals("parent.id", inner.take("id").getPath());
+        assertEquals("parent.name", inner.take("name").getPath());
+        assertEquals("parent.lastname", inner.take("lastname").getPath());
+        assertTrue(inner.isEmpty());
     }
 
     @Test
-    public void testGeneratePropertyFromListOfExcluded() {
+    public void testTakePropertyOfField() {
         // setup
-        final TierOneType tierOneType = new TierOneType(TEST);
-        final List<ISingleProperty> properties = new ArrayList<>();
-        properties.add(notNull("property"));
-        final int numProperties = properties.size();
+        final ISingleProperty notNull = notNull("property");
+        final ExpectedProperties properties = ExpectedProperties.of(List.of(notNull));
 
         // method
-        final ISingleProperty property = obtainProperty(tierOneType, "property", properties);
+        final ISingleProperty property = properties.take("property");
 
         // assert
-        assertEquals("property", property.getPath());
-        assertEquals(numProperties - 1, properties.size());
+        assertSame(notNull, property);
+        assertFalse(properties.contains("property"));
     }
 
     @Test
-    public void testGeneratePropertyCreateNew() {
+    public void testTakePropertyOfOtherField() {
         // setup
-        final TierOneType tierOneType = new TierOneType(TEST);
-        final List<ISingleProperty> properties = new ArrayList<>();
-        properties.add(notNull(TEST));
-        final int numProperties = properties.size();
+        final ExpectedProperties properties = ExpectedProperties.of(List.of(notNull(TEST)));
 
         // method
-        final Property property = (Property) obtainProperty(tierOneType, "property", properties);
+        final ISingleProperty property = properties.take("property");
 
         // assert
-        assertEquals("property", property.getPath());
-        assertEquals(tierOneType, property.getValue());
-        assertEquals(numProperties, properties.size());
+        assertNull(property);
+        assertTrue(properties.contains(TEST));
     }
 
     @Test
     public void testPopPropertyEqualPath() {
         // setup
-        final List<ISingleProperty> properties = new LinkedList<>();
-        properties.add(isNull(TEST));
+        final ExpectedProperties properties = ExpectedProperties.of(List.of(isNull(TEST)));
 
         // method
-        final ISingleProperty property = getPropertyFromList(TEST, properties);
+        final ISingleProperty property = properties.take(TEST);
 
         // assert
         assertEquals(TEST, property.getPath());
-        assertEquals(0, properties.size());
+        assertTrue(properties.isEmpty());
     }
 
     @Test
     public void testPopPropertyNoProperties() {
         // setup
-        final List<ISingleProperty> properties = new LinkedList<>();
+        final ExpectedProperties properties = ExpectedProperties.of(List.of());
 
         // method
-        final ISingleProperty property = getPropertyFromList(TEST, properties);
+        final ISingleProperty property = properties.take(TEST);
 
         // assert
         assertNull(property);
@@ -885,14 +906,14 @@ value(TierFiveType.PROPERTY.chain(TierFourType.PROPERTY.chain(TierThreeType.PROP
     @Test
     public void testPopPropertyNotEqualPath() {
         // setup
-        final List<ISingleProperty> properties = new LinkedList<>();
-        properties.add(isNull(TEST));
+        final ExpectedProperties properties = ExpectedProperties.of(List.of(isNull(TEST)));
 
         // method
-        final ISingleProperty property = getPropertyFromList(TEST + TEST, properties);
+        final ISingleProperty property = properties.take(TEST + TEST);
 
         // assert
         assertNull(property);
+        assertFalse(properties.isEmpty());
     }
 
     @Test
@@ -1032,17 +1053,14 @@ value(TierFiveType.PROPERTY.chain(TierFourType.PROPERTY.chain(TierThreeType.PROP
         properties.add(value("parents", "parents"));
         properties.add(value("parent.lastName", "lastName"));
         properties.add(value("parent.address.city", "city"));
+        final ExpectedProperties expected = ExpectedProperties.of(properties);
 
         // method
-        final List<ISingleProperty> extracted = extractPropertiesWithMatchingParent(parent, properties);
+        final List<String> extracted = expected.inner(parent).takeRemainingPaths();
 
         // assert
-        assertEquals(1, properties.size());
-        assertEquals("parents", properties.get(0).getPath());
-        assertEquals(3, extracted.size());
-        assertEquals("parent.name", extracted.get(0).getPath());
-        assertEquals("parent.lastName", extracted.get(1).getPath());
-        assertEquals("parent.address.city", extracted.get(2).getPath());
+        assertEquals(List.of("name", "lastName", "address.city"), extracted);
+        assertEquals(List.of("parents"), expected.takeRemainingPaths());
     }
 
     @Test
@@ -1053,7 +1071,7 @@ value(TierFiveType.PROPERTY.chain(TierFourType.PROPERTY.chain(TierThreeType.PROP
         properties.add(value("parent.name", "name"));
 
         // method
-        final boolean hasInnerProperties = hasInnerProperties(parent, properties);
+        final boolean hasInnerProperties = ExpectedProperties.of(properties).hasInner(parent);
 
         // assert
         assertTrue(hasInnerProperties);
@@ -1067,7 +1085,7 @@ value(TierFiveType.PROPERTY.chain(TierFourType.PROPERTY.chain(TierThreeType.PROP
         properties.add(value("parents", "name"));
 
         // method
-        final boolean hasInnerProperties = hasInnerProperties(parent, properties);
+        final boolean hasInnerProperties = ExpectedProperties.of(properties).hasInner(parent);
 
         // assert
         assertFalse(hasInnerProperties);
@@ -1085,6 +1103,21 @@ value(TierFiveType.PROPERTY.chain(TierFourType.PROPERTY.chain(TierThreeType.PROP
         assertFabutReportSuccess(report);
     }
 
+    @Test
+    public void testAssertObjectWithProperties_NestedPropertiesAreNotModified() {
+        // setup
+        final TierTwoType actual = new TierTwoType(new TierOneType(TEST));
+        final ISingleProperty nested = value("property.property", TEST);
+        final FabutReport report = new FabutReport();
+
+        // assert
+        assertObjectWithProperties(report, actual, List.of(nested));
+        assertObjectWithProperties(report, actual, List.of(nested));
+
+        assertFabutReportSuccess(report);
+        assertEquals("property.property", nested.getPath());
+    }
+
     @Test
     public void testAssertInnerObject() {
         // setup
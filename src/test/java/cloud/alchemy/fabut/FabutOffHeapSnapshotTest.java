@@ -0,0 +1,82 @@
+package cloud.alchemy.fabut;
+
+import cloud.alchemy.fabut.enums.SnapshotMode;
+import cloud.alchemy.fabut.model.EntityTierOneType;
+import cloud.alchemy.fabut.snapshot.OffHeapSnapshotArena;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FabutOffHeapSnapshotTest extends Fabut {
+
+    private final List<Object> entityTierOneTypes = new ArrayList<>();
+
+    public FabutOffHeapSnapshotTest() {
+        entityTypes.add(EntityTierOneType.class);
+        snapshotMode = SnapshotMode.OFF_HEAP;
+    }
+
+    @Override
+    protected List<?> findAll(Class<?> entityClass) {
+        return entityTierOneTypes;
+    }
+
+    @Override
+    protected Object findById(Class<?> entityClass, Object id) {
+        for (Object entity : entityTierOneTypes) {
+            if (((EntityTierOneType) entity).getId().equals(id)) {
+                return entity;
+            }
+        }
+        return null;
+    }
+
+    @Test
+    void offHeap_changedEntityIsReportedWithBeforeValue() {
+        EntityTierOneType entity = new EntityTierOneType("before", 1);
+        entityTierOneTypes.add(entity);
+        entityTierOneTypes.add(new EntityTierOneType("untouched", 2));
+
+        takeSnapshot();
+        entity.setProperty("after");
+
+        FabutReport report = new FabutReport();
+        assertDbSnapshot(report);
+
+        assertFalse(report.isSuccess());
+        assertTrue(report.getMessage().contains("property: expected: before but was: after"), report.getMessage());
+
+        ignoreEntity(entity);
+    }
+
+    @Test
+    void offHeap_assertEntityWithSnapshot() {
+        EntityTierOneType entity = new EntityTierOneType("before", 1);
+        entityTierOneTypes.add(entity);
+
+        takeSnapshot();
+        entity.setProperty("after");
+
+        assertEntityWithSnapshot(entity, value("property", "after"));
+    }
+
+    @Test
+    void offHeap_memoryIsReleasedAfterTest() {
+        entityTierOneTypes.add(new EntityTierOneType("first", 1));
+
+        takeSnapshot();
+        OffHeapSnapshotArena arena = currentOffHeapArena();
+        assertNotNull(arena);
+        assertTrue(arena.isOpen());
+
+        after();
+
+        assertFalse(arena.isOpen());
+        assertNull(currentOffHeapArena());
+        before();
+        entityTierOneTypes.clear();
+    }
+}
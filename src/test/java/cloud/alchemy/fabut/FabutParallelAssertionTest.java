@@ -0,0 +1,123 @@
+package cloud.alchemy.fabut;
+
+import cloud.alchemy.fabut.model.EntityTierOneType;
+import cloud.alchemy.fabut.model.TierOneType;
+import cloud.alchemy.fabut.model.TierTwoTypeWithCollections;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+public class FabutParallelAssertionTest extends AbstractFabutTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    public FabutParallelAssertionTest() {
+        complexTypes.add(TierOneType.class);
+        complexTypes.add(TierTwoTypeWithCollections.class);
+        entityTypes.add(EntityTierOneType.class);
+        unorderedFields.put(TierTwoTypeWithCollections.class, List.of("items"));
+        parallelAssertionThreshold = 10;
+    }
+
+    @Override
+    protected List<?> findAll(final Class<?> entityClass) {
+        return List.of();
+    }
+
+    @AfterEach
+    public void shutDownPool() {
+        pool.shutdown();
+    }
+
+    private static List<TierOneType> items(final int size, final int changedEvery) {
+        return IntStream.range(0, size)
+                .mapToObj(i -> new TierOneType(i % changedEvery == changedEvery - 1 ? "changed" + i : "item" + i))
+                .toList();
+    }
+
+    /**
+     * Runs the assertion sequentially and on the pool, and checks both give the same report.
+     */
+    private void assertSameReport(final Supplier<Object> expected, final Supplier<Object> actual) {
+        assertionPool = null;
+        final FabutReport sequential = new FabutReport();
+        assertObjects(sequential, expected.get(), actual.get(), List.of());
+
+        assertionPool = pool;
+        final FabutReport parallel = new FabutReport();
+        assertObjects(parallel, expected.get(), actual.get(), List.of());
+
+        assertEquals(sequential.isSuccess(), parallel.isSuccess());
+        assertEquals(sequential.getMessage(), parallel.getMessage());
+    }
+
+    @Test
+    public void testEqualSizeList_sameReportAsSequential() {
+        assertSameReport(() -> items(2000, 1000), () -> items(2000, 97));
+    }
+
+    @Test
+    public void testDifferentSizeList_sameReportAsSequential() {
+        assertSameReport(() -> items(2000, 1000), () -> {
+            final List<TierOneType> actual = new ArrayList<>(items(2000, 1000));
+            actual.add(700, new TierOneType("inserted"));
+            actual.remove(1500);
+            actual.add(new TierOneType("appended"));
+            return actual;
+        });
+    }
+
+    @Test
+    public void testUnorderedCollections_sameReportAsSequential() {
+        assertSameReport(
+                () -> new TierTwoTypeWithCollections(items(500, 1000), new LinkedHashSet<>(List.of("a", "b")), List.of()),
+                () -> new TierTwoTypeWithCollections(items(500, 50).reversed(), Set.of("b", "c"), List.of()));
+    }
+
+    @Test
+    public void testEqualLists_success() {
+        // setup
+        assertionPool = pool;
+        final FabutReport report = new FabutReport();
+
+        // method
+        assertObjects(report, items(2000, 5000), items(2000, 5000), List.of());
+
+        // assert
+        assertFabutReportSuccess(report);
+    }
+
+    @Test
+    public void testComplexElements_assertedOnPool() {
+        // setup
+        assertionPool = pool;
+
+        // method
+        assertObjects(new FabutReport(), items(2000, 5000), items(2000, 5000), List.of());
+
+        // assert
+        assertTrue(pool.getPoolSize() > 0);
+    }
+
+    @Test
+    public void testEntityElements_assertedOnTestThread() {
+        // setup
+        assertionPool = pool;
+        final List<EntityTierOneType> entities = IntStream.range(0, 100).mapToObj(i -> new EntityTierOneType("entity" + i, i)).toList();
+        final FabutReport report = new FabutReport();
+
+        // method
+        assertObjects(report, entities, entities, List.of());
+
+        // assert
+        assertFabutReportSuccess(report);
+        assertEquals(0, pool.getPoolSize());
+    }
+}
@@ -0,0 +1,82 @@
+package cloud.alchemy.fabut;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class FabutPrimitiveComparisonTest extends AbstractFabutTest {
+
+    public static class Reading {
+        private final int count;
+        private final double value;
+
+        public Reading(final int count, final double value) {
+            this.count = count;
+            this.value = value;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public double getValue() {
+            return value;
+        }
+    }
+
+    private double tolerance;
+
+    public FabutPrimitiveComparisonTest() {
+        complexTypes.add(Reading.class);
+    }
+
+    @Override
+    protected void customAssertEquals(final Object expected, final Object actual) {
+        if (expected instanceof Double e && actual instanceof Double a) {
+            assertEquals(e, a, tolerance);
+        } else {
+            super.customAssertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void testPrimitiveFields_equal() {
+        // setup
+        final FabutReport report = new FabutReport();
+
+        // method
+        assertObjects(report, new Reading(1, 2.5), new Reading(1, 2.5), List.of());
+
+        // assert
+        assertFabutReportSuccess(report);
+    }
+
+    @Test
+    public void testPrimitiveFields_differentValueReported() {
+        // setup
+        final FabutReport report = new FabutReport();
+
+        // method
+        assertObjects(report, new Reading(1, 2.5), new Reading(2, 2.5), List.of());
+
+        // assert
+        assertFalse(report.isSuccess());
+        final String message = report.getMessage();
+        assertTrue(message.startsWith("❌ count: expected: 1 but was: 2\nCODE:"), message);
+        assertTrue(message.contains("value(Reading.COUNT, 1)"), message);
+        assertTrue(message.contains("value(Reading.VALUE, 2.5)"), message);
+    }
+
+    @Test
+    public void testPrimitiveFields_overriddenCustomAssertEqualsIsUsed() {
+        // setup
+        tolerance = 0.1;
+        final FabutReport report = new FabutReport();
+
+        // method
+        assertObjects(report, new Reading(1, 2.5), new Reading(1, 2.55), List.of());
+
+        // assert
+        assertFabutReportSuccess(report);
+    }
+}
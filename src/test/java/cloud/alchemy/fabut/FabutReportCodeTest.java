@@ -0,0 +1,57 @@
+package cloud.alchemy.fabut;
+
+import cloud.alchemy.fabut.model.TierOneType;
+import cloud.alchemy.fabut.model.TierTwoType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class FabutReportCodeTest extends AbstractFabutTest {
+
+    private final List<Object> refreshed = new ArrayList<>();
+
+    public FabutReportCodeTest() {
+        complexTypes.add(TierOneType.class);
+        complexTypes.add(TierTwoType.class);
+    }
+
+    @Override
+    protected Object refreshIfProxy(final Object value) {
+        refreshed.add(value);
+        return value;
+    }
+
+    @Test
+    public void testSuccessfulAssert_codeIsNotBuilt() {
+        // setup
+        final FabutReport report = new FabutReport();
+
+        // method
+        assertObjects(report, new TierTwoType(new TierOneType("a")), new TierTwoType(new TierOneType("a")), List.of());
+
+        // assert
+        assertTrue(report.isSuccess());
+        assertTrue(refreshed.isEmpty());
+    }
+
+    @Test
+    public void testFailedAssert_codeIsBuiltWhenRendered() {
+        // setup
+        final FabutReport report = new FabutReport();
+        assertObjects(report, new TierTwoType(new TierOneType("a")), new TierTwoType(new TierOneType("b")), List.of());
+        assertTrue(refreshed.isEmpty());
+
+        // method
+        final String message = report.getMessage();
+
+        // assert
+        assertEquals("""
+                ❌ property: expected: a but was: b
+                CODE:
+                assertObject(object,
+                value(TierTwoType.PROPERTY, TierOneType{property='a'}),
+                value(TierOneType.PROPERTY.chain(TierOneType.PROPERTY), "a"));""", message);
+        assertFalse(refreshed.isEmpty());
+    }
+}
@@ -72,6 +72,45 @@ class FabutReportTest {
         assertThrows(NullPointerException.class, () -> report.getSubReport(null));
     }
 
+    // ==================== fork() / append() Tests ====================
+
+    @Test
+    void fork_keepsAssertionContext() {
+        FabutReport report = new FabutReport();
+        report.setAssertionContext(AssertionContext.ENTITY_WITH_SNAPSHOT);
+
+        FabutReport forked = report.fork();
+
+        assertEquals(AssertionContext.ENTITY_WITH_SNAPSHOT, forked.getAssertionContext());
+        assertEquals(0, report.getSubreportCount());
+    }
+
+    @Test
+    void append_readsLikeSequentialReport() {
+        FabutReport sequential = new FabutReport();
+        sequential.assertingListElement("list", 0);
+        sequential.excessActualMap("a");
+        sequential.addCode(() -> "\nfirst");
+        sequential.assertingListElement("list", 1);
+        sequential.excessActualMap("b");
+        sequential.addCode(() -> "\nsecond");
+
+        FabutReport joined = new FabutReport();
+        FabutReport first = joined.fork();
+        first.assertingListElement("list", 0);
+        first.excessActualMap("a");
+        first.addCode(() -> "\nfirst");
+        FabutReport second = joined.fork();
+        second.assertingListElement("list", 1);
+        second.excessActualMap("b");
+        second.addCode(() -> "\nsecond");
+        joined.append(first);
+        joined.append(second);
+
+        assertFalse(joined.isSuccess());
+        assertEquals(sequential.getMessage(), joined.getMessage());
+    }
+
     // ==================== Comment Methods Tests ====================
 
     @Test
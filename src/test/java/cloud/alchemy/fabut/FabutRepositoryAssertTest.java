@@ -611,6 +611,35 @@ assertEntityWithSnapshot(object,
 value(EntityTierOneType.PROPERTY, "test"));""");
     }
 
+    @Test
+    public void testAssertDbSnapshotWithAfterState_onlyChangedEntitiesGetSubreports() {
+        // setup
+        final Set<Object> ids = new LinkedHashSet<>(List.of(1, 3, 4));
+
+        final Map<Object, Object> afterEntities = new HashMap<>();
+        afterEntities.put(1, new EntityTierOneType(TEST, 1));
+        afterEntities.put(3, new EntityTierOneType(TEST + TEST, 3));
+        afterEntities.put(4, new EntityTierOneType(TEST, 4));
+
+        final Map<Object, CopyAssert> beforeEntities = new HashMap<>();
+        beforeEntities.put(1, new CopyAssert(new EntityTierOneType(TEST, 1)));
+        beforeEntities.put(3, new CopyAssert(new EntityTierOneType(TEST, 3)));
+        beforeEntities.put(4, new CopyAssert(new EntityTierOneType(TEST, 4)));
+
+        // method
+        final FabutReport report = new FabutReport();
+        assertDbSnapshotWithAfterState(ids, ids, beforeEntities, afterEntities, report);
+
+        // assert
+        assertEquals(1, report.getSubreportCount());
+        assertFabutReportFailure(report, """
+UPDATED: EntityTierOneType[id=3]
+--❌ property: expected: test but was: testtest
+CODE:
+assertEntityWithSnapshot(object,
+value(EntityTierOneType.PROPERTY, "test"));""");
+    }
+
     @Test
     public void testAssertEntityWithSnapshotTrue() {
         // setup
@@ -671,6 +700,62 @@ value(EntityTierOneType.PROPERTY, "test"));""");
                         + "value(EntityTierOneType.ID, 1));");
     }
 
+    @Test
+    public void testAssertEntityWithSnapshotFalse_failedAssertIsNotUnnecessary() {
+        // setup
+        final List<Object> list1 = new ArrayList<>();
+        list1.add(new EntityTierOneType(TEST, 1));
+        setEntityTierOneTypes(list1);
+
+        // method
+        takeSnapshot();
+
+        final EntityTierOneType entity = new EntityTierOneType(TEST + TEST, 1);
+        final List<ISingleProperty> properties = new LinkedList<>();
+
+        final List<Object> list2 = new ArrayList<>();
+        list2.add(entity);
+        setEntityTierOneTypes(list2);
+
+        properties.add(value("property", TEST + TEST));
+        properties.add(value("id", 2));
+
+        final FabutReport fabutReport = new FabutReport();
+        assertEntityWithSnapshot(fabutReport, entity, properties);
+
+        // assert
+        assertFalse(fabutReport.isSuccess());
+        assertFalse(fabutReport.getMessage().contains("UNNECESSARY ASSERT"), fabutReport.getMessage());
+    }
+
+    @Test
+    public void testAssertEntityWithSnapshot_redundantAssertCheckDisabled() {
+        // setup
+        checkRedundantAsserts = false;
+        final List<Object> list1 = new ArrayList<>();
+        list1.add(new EntityTierOneType(TEST, 1));
+        setEntityTierOneTypes(list1);
+
+        // method
+        takeSnapshot();
+
+        final EntityTierOneType entity = new EntityTierOneType(TEST + TEST, 1);
+        final List<ISingleProperty> properties = new LinkedList<>();
+
+        final List<Object> list2 = new ArrayList<>();
+        list2.add(entity);
+        setEntityTierOneTypes(list2);
+
+        properties.add(value("property", TEST + TEST));
+        properties.add(value("id", 1));
+
+        final FabutReport fabutReport = new FabutReport();
+        assertEntityWithSnapshot(fabutReport, entity, properties);
+
+        // assert
+        assertFabutReportSuccess(fabutReport);
+    }
+
     @Test
     public void testAssertEntityWithSnapshotFalse() {
         // setup
@@ -0,0 +1,143 @@
+package cloud.alchemy.fabut;
+
+import cloud.alchemy.fabut.enums.SnapshotMode;
+import cloud.alchemy.fabut.model.EntityTierOneType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FabutSnapshotBaselineTest extends Fabut {
+
+    private final List<Object> entityTierOneTypes = new ArrayList<>();
+    private Object fixtureVersion = new Object();
+    private int findAllCalls;
+
+    public FabutSnapshotBaselineTest() {
+        entityTypes.add(EntityTierOneType.class);
+        entityTierOneTypes.add(new EntityTierOneType("first", 1));
+        entityTierOneTypes.add(new EntityTierOneType("second", 2));
+    }
+
+    @Override
+    protected Object snapshotBaselineKey() {
+        return fixtureVersion;
+    }
+
+    @Override
+    protected List<?> findAll(Class<?> entityClass) {
+        findAllCalls++;
+        return entityTierOneTypes;
+    }
+
+    @Override
+    protected Object findById(Class<?> entityClass, Object id) {
+        for (Object entity : entityTierOneTypes) {
+            if (((EntityTierOneType) entity).getId().equals(id)) {
+                return entity;
+            }
+        }
+        return null;
+    }
+
+    @Test
+    void baseline_isReusedForEqualKey() {
+        takeSnapshot();
+        after();
+
+        before();
+        takeSnapshot();
+
+        // One read for the baseline, one for the after check of the first test
+        assertEquals(2, findAllCalls);
+    }
+
+    @Test
+    void baseline_isRetakenWhenKeyChanges() {
+        takeSnapshot();
+        after();
+
+        fixtureVersion = new Object();
+        before();
+        takeSnapshot();
+
+        assertEquals(3, findAllCalls);
+    }
+
+    @Test
+    void baseline_assertionStateDoesNotLeakBetweenTests() {
+        EntityTierOneType first = (EntityTierOneType) entityTierOneTypes.getFirst();
+
+        takeSnapshot();
+        first.setProperty("changed");
+        assertEntityWithSnapshot(first, value("property", "changed"));
+        after();
+
+        // Fixture restored, as a rolled back transaction would
+        first.setProperty("first");
+        before();
+        takeSnapshot();
+        first.setProperty("changed again");
+
+        FabutReport report = new FabutReport();
+        assertDbSnapshot(report);
+
+        assertFalse(report.isSuccess());
+        assertTrue(report.getMessage().contains("property: expected: first but was: changed again"), report.getMessage());
+
+        ignoreEntity(first);
+    }
+
+    @Test
+    void baseline_detectsCreatedAndDeletedEntities() {
+        takeSnapshot();
+        Object deleted = entityTierOneTypes.removeFirst();
+        EntityTierOneType created = new EntityTierOneType("third", 3);
+        entityTierOneTypes.add(created);
+
+        FabutReport report = new FabutReport();
+        assertDbSnapshot(report);
+
+        assertFalse(report.isSuccess());
+        assertTrue(report.getMessage().contains("DELETED"), report.getMessage());
+        assertTrue(report.getMessage().contains("CREATED"), report.getMessage());
+
+        assertEntityAsDeleted(deleted);
+        ignoreEntity(created);
+    }
+
+    @Test
+    void baseline_isTakenInSelectedSnapshotMode() {
+        snapshotMode = SnapshotMode.OFF_HEAP;
+        fixtureVersion = new Object();
+        EntityTierOneType first = (EntityTierOneType) entityTierOneTypes.getFirst();
+
+        takeSnapshot();
+        after();
+
+        before();
+        takeSnapshot();
+        assertNull(currentOffHeapArena());
+        first.setProperty("changed");
+
+        FabutReport report = new FabutReport();
+        assertDbSnapshot(report);
+
+        assertFalse(report.isSuccess());
+        assertTrue(report.getMessage().contains("property: expected: first but was: changed"), report.getMessage());
+        assertFalse(report.getMessage().contains("second"), report.getMessage());
+
+        first.setProperty("first");
+    }
+
+    @Test
+    void baseline_leavesOutEntitiesWithoutId() {
+        entityTierOneTypes.add(new EntityTierOneType("no id", null));
+        fixtureVersion = new Object();
+
+        takeSnapshot();
+        entityTierOneTypes.removeLast();
+    }
+}
@@ -0,0 +1,109 @@
+package cloud.alchemy.fabut;
+
+import cloud.alchemy.fabut.model.EntityTierOneType;
+import cloud.alchemy.fabut.model.EntityTierTwoType;
+import cloud.alchemy.fabut.model.NoDefaultConstructorEntity;
+import cloud.alchemy.fabut.snapshot.SnapshotExecutor;
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FabutSnapshotExecutorTest extends Fabut {
+
+    private final List<Object> entityTierOneTypes = new ArrayList<>();
+    private final List<Object> entityTierTwoTypes = new ArrayList<>();
+    private final List<Object> noDefaultConstructorEntities = new ArrayList<>();
+    private CountDownLatch fetchLatch;
+    private List<Thread> snapshotSourceThreads;
+
+    public FabutSnapshotExecutorTest() {
+        entityTypes.add(EntityTierOneType.class);
+        entityTypes.add(EntityTierTwoType.class);
+        entityTypes.add(NoDefaultConstructorEntity.class);
+    }
+
+    @Override
+    protected List<?> findAll(Class<?> entityClass) {
+        if (snapshotSourceThreads != null) {
+            snapshotSourceThreads.add(Thread.currentThread());
+        }
+        if (fetchLatch != null) {
+            // every entity type has to be fetched at the same time to get past this point
+            fetchLatch.countDown();
+            try {
+                assertTrue(fetchLatch.await(10, TimeUnit.SECONDS), "entity types were not fetched concurrently");
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            fetchLatch = null;
+        }
+        if (entityClass == EntityTierOneType.class) {
+            return entityTierOneTypes;
+        }
+        if (entityClass == EntityTierTwoType.class) {
+            return entityTierTwoTypes;
+        }
+        return noDefaultConstructorEntities;
+    }
+
+    @Override
+    protected Object findById(Class<?> entityClass, Object id) {
+        for (Object entity : findAll(entityClass)) {
+            if (ReflectionUtil.getIdValue(entity).equals(id)) {
+                return entity;
+            }
+        }
+        return null;
+    }
+
+    @Test
+    void snapshotExecutor_virtualThreadsFetchEntityTypesConcurrently() {
+        snapshotExecutor = SnapshotExecutor.virtualThreads();
+        fetchLatch = new CountDownLatch(3);
+        EntityTierOneType entity = new EntityTierOneType("before", 1);
+        entityTierOneTypes.add(entity);
+
+        takeSnapshot();
+        entity.setProperty("after");
+
+        assertEntityWithSnapshot(entity, value("property", "after"));
+    }
+
+    @Test
+    void snapshotExecutor_reportsCopyFailuresInTypeOrder() {
+        snapshotExecutor = SnapshotExecutor.virtualThreads();
+        entityTierOneTypes.add(new EntityTierOneType("first", 1));
+        for (int id = 1; id <= 3; id++) {
+            noDefaultConstructorEntities.add(new NoDefaultConstructorEntity("entity" + id, id));
+        }
+
+        AssertionFailedError error = assertThrows(AssertionFailedError.class, () -> takeSnapshot());
+
+        String message = error.getMessage();
+        assertTrue(message.indexOf("id=1") < message.indexOf("id=2") && message.indexOf("id=2") < message.indexOf("id=3"), message);
+
+        noDefaultConstructorEntities.forEach(this::ignoreEntity);
+    }
+
+    @Test
+    void snapshotExecutor_defaultRunsOnTestThread() {
+        Thread testThread = Thread.currentThread();
+        snapshotSourceThreads = new ArrayList<>();
+        EntityTierOneType entity = new EntityTierOneType("before", 1);
+        entityTierOneTypes.add(entity);
+        entityTierTwoTypes.add(new EntityTierTwoType("parent", 10, entity));
+
+        takeSnapshot();
+        entity.setProperty("after");
+
+        assertEquals(List.of(testThread, testThread, testThread), snapshotSourceThreads);
+        snapshotSourceThreads = null;
+        assertEntityWithSnapshot(entity, value("property", "after"));
+    }
+}
@@ -0,0 +1,107 @@
+package cloud.alchemy.fabut;
+
+import cloud.alchemy.fabut.model.EntityTierOneType;
+import cloud.alchemy.fabut.snapshot.SnapshotSource;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FabutSnapshotSourceTest extends Fabut {
+
+    private static final int PAGE_SIZE = 2;
+
+    private final List<EntityTierOneType> entityTierOneTypes = new ArrayList<>();
+    private int pagesLoaded;
+
+    public FabutSnapshotSourceTest() {
+        entityTypes.add(EntityTierOneType.class);
+    }
+
+    @Override
+    protected List<?> findAll(Class<?> entityClass) {
+        throw new IllegalStateException("Snapshot must read through snapshotSource");
+    }
+
+    @Override
+    protected Object findById(Class<?> entityClass, Object id) {
+        for (EntityTierOneType entity : entityTierOneTypes) {
+            if (entity.getId().equals(id)) {
+                return entity;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    protected SnapshotSource snapshotSource(Class<?> entityClass) {
+        return SnapshotSource.keysetPaged(
+                (Integer lastId, Integer size) -> {
+                    pagesLoaded++;
+                    return entityTierOneTypes.stream()
+                            .filter(entity -> lastId == null || entity.getId() > lastId)
+                            .sorted(Comparator.comparing(EntityTierOneType::getId))
+                            .limit(size)
+                            .toList();
+                },
+                entity -> ((EntityTierOneType) entity).getId(),
+                PAGE_SIZE);
+    }
+
+    @Test
+    void snapshotSource_readsAllPages() {
+        for (int id = 1; id <= 5; id++) {
+            entityTierOneTypes.add(new EntityTierOneType("entity" + id, id));
+        }
+
+        takeSnapshot();
+
+        assertEquals(3, pagesLoaded);
+    }
+
+    @Test
+    void snapshotSource_detectsUpdateCreateAndDelete() {
+        EntityTierOneType updated = new EntityTierOneType("before", 1);
+        EntityTierOneType deleted = new EntityTierOneType("deleted", 2);
+        entityTierOneTypes.add(updated);
+        entityTierOneTypes.add(deleted);
+        entityTierOneTypes.add(new EntityTierOneType("unchanged", 3));
+
+        takeSnapshot();
+
+        updated.setProperty("after");
+        entityTierOneTypes.remove(deleted);
+        EntityTierOneType created = new EntityTierOneType("created", 4);
+        entityTierOneTypes.add(created);
+
+        FabutReport report = new FabutReport();
+        assertDbSnapshot(report);
+
+        assertFalse(report.isSuccess());
+        String message = report.getMessage();
+        assertTrue(message.contains("property: expected: before but was: after"), message);
+        assertTrue(message.contains("DELETED"), message);
+        assertTrue(message.contains("CREATED"), message);
+        assertFalse(message.contains("unchanged"), message);
+        assertTrue(message.indexOf("DELETED") < message.indexOf("UPDATED"), message);
+        assertTrue(message.indexOf("CREATED") < message.indexOf("UPDATED"), message);
+
+        assertEntityWithSnapshot(updated, value("property", "after"));
+        assertEntityAsDeleted(deleted);
+        ignoreEntity(created);
+    }
+
+    @Test
+    void snapshotSource_assertedEntitiesPass() {
+        EntityTierOneType entity = new EntityTierOneType("before", 1);
+        entityTierOneTypes.add(entity);
+
+        takeSnapshot();
+        entity.setProperty("after");
+
+        assertEntityWithSnapshot(entity, value("property", "after"));
+    }
+}
@@ -0,0 +1,197 @@
+package cloud.alchemy.fabut;
+
+import cloud.alchemy.fabut.model.EntityTierOneType;
+import cloud.alchemy.fabut.model.TierOneType;
+import cloud.alchemy.fabut.model.TierTwoTypeWithCollections;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+public class FabutUnorderedCollectionTest extends AbstractFabutTest {
+
+    private final List<Object> repository = new ArrayList<>();
+
+    public FabutUnorderedCollectionTest() {
+        complexTypes.add(TierOneType.class);
+        complexTypes.add(TierTwoTypeWithCollections.class);
+        entityTypes.add(EntityTierOneType.class);
+        unorderedFields.put(TierTwoTypeWithCollections.class, List.of("items", "entities"));
+    }
+
+    @Override
+    protected List<?> findAll(final Class<?> entityClass) {
+        return repository;
+    }
+
+    @Override
+    protected Object findById(final Class<?> entityClass, final Object id) {
+        return repository.stream().filter(entity -> ((EntityTierOneType) entity).getId().equals(id)).findFirst().orElse(null);
+    }
+
+    private static TierTwoTypeWithCollections collections(final List<TierOneType> items, final Set<String> tags, final List<EntityTierOneType> entities) {
+        return new TierTwoTypeWithCollections(items, tags, entities);
+    }
+
+    @Test
+    public void testUnorderedField_sameElementsInDifferentOrder() {
+        // setup
+        final TierTwoTypeWithCollections expected = collections(
+                List.of(new TierOneType("a"), new TierOneType("b"), new TierOneType("a")), Set.of(), List.of());
+        final TierTwoTypeWithCollections actual = collections(
+                List.of(new TierOneType("b"), new TierOneType("a"), new TierOneType("a")), Set.of(), List.of());
+        final FabutReport report = new FabutReport();
+
+        // method
+        assertObjects(report, expected, actual, List.of());
+
+        // assert
+        assertFabutReportSuccess(report);
+    }
+
+    @Test
+    public void testUnorderedField_changedComplexElementPairedBeforeExcess() {
+        // setup
+        final TierTwoTypeWithCollections expected = collections(
+                List.of(new TierOneType("a"), new TierOneType("b")), Set.of(), List.of());
+        final TierTwoTypeWithCollections actual = collections(
+                List.of(new TierOneType("c"), new TierOneType("a"), new TierOneType("d")), Set.of(), List.of());
+        final FabutReport report = new FabutReport();
+
+        // method
+        assertObjects(report, expected, actual, List.of());
+
+        // assert
+        assertFalse(report.isSuccess());
+        final String message = report.getMessage();
+        assertTrue(message.contains("Asserting element TierOneType{property='c'} of collection items."), message);
+        assertTrue(message.contains("property: expected: b but was: c"), message);
+        assertTrue(message.contains("EXCESS ELEMENT: items contains unexpected TierOneType{property='d'}"), message);
+        assertFalse(message.contains("MISSING ELEMENT"), message);
+    }
+
+    @Test
+    public void testUnorderedField_missingElement() {
+        // setup
+        final TierTwoTypeWithCollections expected = collections(
+                List.of(new TierOneType("a"), new TierOneType("b")), Set.of(), List.of());
+        final TierTwoTypeWithCollections actual = collections(
+                List.of(new TierOneType("a")), Set.of(), List.of());
+        final FabutReport report = new FabutReport();
+
+        // method
+        assertObjects(report, expected, actual, List.of());
+
+        // assert
+        assertFalse(report.isSuccess());
+        assertTrue(report.getMessage().contains(
+                "MISSING ELEMENT: items expected to contain TierOneType{property='b'}, but it was not found"), report.getMessage());
+    }
+
+    @Test
+    public void testUnorderedField_entitiesJoinedById() {
+        // setup
+        final TierTwoTypeWithCollections expected = collections(List.of(), Set.of(),
+                List.of(new EntityTierOneType("one", 1), new EntityTierOneType("two", 2)));
+        final TierTwoTypeWithCollections actual = collections(List.of(), Set.of(),
+                List.of(new EntityTierOneType("two", 2), new EntityTierOneType("changed", 1), new EntityTierOneType("three", 3)));
+        repository.addAll(actual.getEntities());
+        takeSnapshot();
+        final FabutReport report = new FabutReport();
+
+        // method
+        assertObjects(report, expected, actual, List.of());
+
+        // assert
+        assertFalse(report.isSuccess());
+        final String message = report.getMessage();
+        assertTrue(message.contains("property: expected: one but was: changed"), message);
+        assertTrue(message.contains("EXCESS ELEMENT: entities contains unexpected EntityTierOneType[id=3]"), message);
+        assertFalse(message.contains("MISSING ELEMENT"), message);
+    }
+
+    @Test
+    public void testSet_comparedByEqualsByDefault() {
+        // setup
+        final TierTwoTypeWithCollections expected = collections(List.of(), new LinkedHashSet<>(List.of("x", "y")), List.of());
+        final TierTwoTypeWithCollections sameElements = collections(List.of(), new LinkedHashSet<>(List.of("y", "x")), List.of());
+        final TierTwoTypeWithCollections actual = collections(List.of(), new LinkedHashSet<>(List.of("y", "z")), List.of());
+        final FabutReport sameReport = new FabutReport();
+        final FabutReport report = new FabutReport();
+
+        // method
+        assertObjects(sameReport, expected, sameElements, List.of());
+        assertObjects(report, expected, actual, List.of());
+
+        // assert
+        assertFabutReportSuccess(sameReport);
+        assertFalse(report.isSuccess());
+        assertFalse(report.getMessage().contains("MISSING ELEMENT"), report.getMessage());
+    }
+
+    @Test
+    public void testUnorderedSetField_comparedByElements() {
+        // setup
+        unorderedFields.put(TierTwoTypeWithCollections.class, List.of("items", "tags", "entities"));
+        final TierTwoTypeWithCollections expected = collections(List.of(), new LinkedHashSet<>(List.of("x", "y")), List.of());
+        final TierTwoTypeWithCollections actual = collections(List.of(), new LinkedHashSet<>(List.of("y", "z")), List.of());
+        final FabutReport report = new FabutReport();
+
+        // method
+        assertObjects(report, expected, actual, List.of());
+
+        // assert
+        assertFalse(report.isSuccess());
+        assertTrue(report.getMessage().startsWith("""
+                ❌ MISSING ELEMENT: tags expected to contain x, but it was not found
+                📋 Asserting element y of collection tags.
+                ❌ EXCESS ELEMENT: tags contains unexpected z
+                """), report.getMessage());
+    }
+
+    @Test
+    public void testUnorderedTypes_appliesToPlainLists() {
+        // setup
+        unorderedTypes.add(TierOneType.class);
+        final List<TierOneType> expected = List.of(new TierOneType("a"), new TierOneType("b"));
+        final List<TierOneType> actual = List.of(new TierOneType("b"), new TierOneType("a"));
+        final FabutReport report = new FabutReport();
+
+        // method
+        assertObjects(report, expected, actual, List.of());
+
+        // assert
+        assertFabutReportSuccess(report);
+    }
+
+    @Test
+    public void testUnorderedTypes_appliesWhenFirstElementIsOfAnotherType() {
+        // setup
+        unorderedTypes.add(TierOneType.class);
+        final List<Object> expected = List.of("x", new TierOneType("a"), new TierOneType("b"));
+        final List<Object> actual = List.of(new TierOneType("b"), "x", new TierOneType("a"));
+        final FabutReport report = new FabutReport();
+
+        // method
+        assertObjects(report, expected, actual, List.of());
+
+        // assert
+        assertFabutReportSuccess(report);
+    }
+
+    @Test
+    public void testOrderedList_stillComparedByIndex() {
+        // setup
+        final List<TierOneType> expected = List.of(new TierOneType("a"), new TierOneType("b"));
+        final List<TierOneType> actual = List.of(new TierOneType("b"), new TierOneType("a"));
+        final FabutReport report = new FabutReport();
+
+        // method
+        assertObjects(report, expected, actual, List.of());
+
+        // assert
+        assertFalse(report.isSuccess());
+    }
+}
@@ -0,0 +1,116 @@
+package cloud.alchemy.fabut;
+
+import cloud.alchemy.fabut.ListDiff.Edit;
+import cloud.alchemy.fabut.ListDiff.EditType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ListDiffTest {
+
+    private static List<Edit> diff(Object[] expected, Object[] actual) {
+        return ListDiff.diff(expected, actual);
+    }
+
+    private static Object[] keys(String chars) {
+        return chars.chars().mapToObj(c -> (char) c).toArray();
+    }
+
+    private static long count(List<Edit> edits, EditType type) {
+        return edits.stream().filter(edit -> edit.type() == type).count();
+    }
+
+    @Test
+    void insertedElementInLargeList_isTheOnlyEdit() {
+        Object[] expected = IntStream.range(0, 5000).boxed().toArray();
+        Object[] actual = IntStream.range(0, 5001).map(i -> i < 2500 ? i : i == 2500 ? -1 : i - 1).boxed().toArray();
+
+        List<Edit> edits = diff(expected, actual);
+
+        assertEquals(5001, edits.size());
+        assertEquals(5000, count(edits, EditType.MATCHED));
+        assertEquals(new Edit(EditType.INSERTED, -1, 2500), edits.get(2500));
+    }
+
+    @Test
+    void removedElement_reportsExpectedIndex() {
+        List<Edit> edits = diff(keys("abcd"), keys("abd"));
+
+        assertEquals(List.of(
+                new Edit(EditType.MATCHED, 0, 0),
+                new Edit(EditType.MATCHED, 1, 1),
+                new Edit(EditType.REMOVED, 2, -1),
+                new Edit(EditType.MATCHED, 3, 2)), edits);
+    }
+
+    @Test
+    void replacedElements_arePairedAsModified() {
+        List<Edit> edits = diff(keys("axyd"), keys("azd"));
+
+        assertEquals(List.of(
+                new Edit(EditType.MATCHED, 0, 0),
+                new Edit(EditType.MODIFIED, 1, 1),
+                new Edit(EditType.REMOVED, 2, -1),
+                new Edit(EditType.MATCHED, 3, 2)), edits);
+    }
+
+    @Test
+    void emptyLists() {
+        assertEquals(List.of(new Edit(EditType.INSERTED, -1, 0)), diff(keys(""), keys("a")));
+        assertEquals(List.of(new Edit(EditType.REMOVED, 0, -1)), diff(keys("a"), keys("")));
+        assertEquals(List.of(), diff(keys(""), keys("")));
+    }
+
+    @Test
+    void editDistanceAboveLimit_pairsByPosition() {
+        Object[] expected = IntStream.range(0, ListDiff.MAX_EDIT_DISTANCE).boxed().toArray();
+        Object[] actual = IntStream.range(0, ListDiff.MAX_EDIT_DISTANCE + 1).map(i -> -i - 1).boxed().toArray();
+
+        List<Edit> edits = diff(expected, actual);
+
+        assertEquals(ListDiff.MAX_EDIT_DISTANCE, count(edits, EditType.MODIFIED));
+        assertEquals(new Edit(EditType.INSERTED, -1, ListDiff.MAX_EDIT_DISTANCE), edits.getLast());
+    }
+
+    @Test
+    void randomLists_matchLongestCommonSubsequence() {
+        Random random = new Random(7);
+        for (int run = 0; run < 200; run++) {
+            Object[] expected = random.ints(random.nextInt(30), 0, 4).boxed().toArray();
+            Object[] actual = random.ints(random.nextInt(30), 0, 4).boxed().toArray();
+
+            List<Edit> edits = diff(expected, actual);
+
+            assertEquals(lcs(expected, actual), count(edits, EditType.MATCHED));
+            int nextExpected = 0;
+            int nextActual = 0;
+            for (Edit edit : edits) {
+                if (edit.expectedIndex() >= 0) {
+                    assertEquals(nextExpected++, edit.expectedIndex());
+                }
+                if (edit.actualIndex() >= 0) {
+                    assertEquals(nextActual++, edit.actualIndex());
+                }
+                if (edit.type() == EditType.MATCHED) {
+                    assertEquals(expected[edit.expectedIndex()], actual[edit.actualIndex()]);
+                }
+            }
+            assertEquals(expected.length, nextExpected);
+            assertEquals(actual.length, nextActual);
+        }
+    }
+
+    private static long lcs(Object[] a, Object[] b) {
+        int[][] table = new int[a.length + 1][b.length + 1];
+        for (int i = 1; i <= a.length; i++) {
+            for (int j = 1; j <= b.length; j++) {
+                table[i][j] = a[i - 1].equals(b[j - 1]) ? table[i - 1][j - 1] + 1 : Math.max(table[i - 1][j], table[i][j - 1]);
+            }
+        }
+        return table[a.length][b.length];
+    }
+}
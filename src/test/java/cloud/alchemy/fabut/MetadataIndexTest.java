@@ -0,0 +1,130 @@
+package cloud.alchemy.fabut;
+
+import cloud.alchemy.fabut.model.AssertableEntity;
+import cloud.alchemy.fabut.model.EntityTierOneType;
+import cloud.alchemy.fabut.model.TierOneType;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link MetadataIndex}.
+ */
+class MetadataIndexTest {
+
+    public static class Indexed {
+        private String name;
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+    }
+
+    @Test
+    void find_assertableClassIsIndexed() {
+        MetadataIndex.Entry entry = MetadataIndex.find(AssertableEntity.class);
+
+        assertNotNull(entry);
+        assertEquals(AssertableEntity.class.getName(), entry.type());
+        assertTrue(entry.fields().contains("version"));
+        assertEquals("getId", entry.idGetter());
+    }
+
+    @Test
+    void find_indexMatchesReflectiveScan() {
+        MetadataIndex.Entry entry = MetadataIndex.find(AssertableEntity.class);
+
+        Set<String> getters = Arrays.stream(AssertableEntity.class.getMethods())
+                .filter(method -> ReflectionUtil.isGetMethod(AssertableEntity.class, method))
+                .map(Method::getName)
+                .collect(Collectors.toSet());
+        Set<String> setters = Arrays.stream(AssertableEntity.class.getMethods())
+                .filter(method -> ReflectionUtil.isSetMethod(AssertableEntity.class, method))
+                .map(Method::getName)
+                .collect(Collectors.toSet());
+
+        assertEquals(getters, entry.getters());
+        assertEquals(setters, entry.setters());
+        assertEquals(getters, ReflectionUtil.getMethods(AssertableEntity.class).keySet());
+    }
+
+    @Test
+    void methods_currentEntryPicksMethodsByName() {
+        MetadataIndex.Entry entry = new MetadataIndex.Entry(Indexed.class.getName(), Set.of("name"), Set.of("getName"), Set.of("setName"), null);
+
+        assertEquals(Set.of("getName"), MetadataIndex.methods(entry, Indexed.class, true).keySet());
+        assertEquals(Set.of("setName"), MetadataIndex.methods(entry, Indexed.class, false).keySet());
+    }
+
+    @Test
+    void methods_unlistedGetterMakesEntryStale() {
+        MetadataIndex.Entry entry = new MetadataIndex.Entry(Indexed.class.getName(), Set.of("name"), Set.of(), Set.of("setName"), null);
+
+        assertNull(MetadataIndex.methods(entry, Indexed.class, true));
+    }
+
+    @Test
+    void methods_missingGetterMakesEntryStale() {
+        MetadataIndex.Entry entry = new MetadataIndex.Entry(Indexed.class.getName(), Set.of("name"), Set.of("getName", "getCode"), Set.of("setName"), null);
+
+        assertNull(MetadataIndex.methods(entry, Indexed.class, true));
+    }
+
+    @Test
+    void methods_changedFieldsMakeEntryStale() {
+        MetadataIndex.Entry entry = new MetadataIndex.Entry(Indexed.class.getName(), Set.of("name", "code"), Set.of("getName"), Set.of("setName"), null);
+
+        assertNull(MetadataIndex.methods(entry, Indexed.class, true));
+    }
+
+    @Test
+    void find_notAnnotatedClassIsNotIndexed() {
+        assertNull(MetadataIndex.find(TierOneType.class));
+        assertNull(MetadataIndex.find(String.class));
+    }
+
+    @Test
+    void hasField_indexedAndScannedClasses() {
+        assertTrue(MetadataIndex.hasField(AssertableEntity.class, "name"));
+        assertFalse(MetadataIndex.hasField(AssertableEntity.class, "missing"));
+        assertTrue(MetadataIndex.hasField(EntityTierOneType.class, "id"));
+        assertFalse(MetadataIndex.hasField(EntityTierOneType.class, "missing"));
+    }
+
+    @Test
+    void parse_readsEntriesSkippingComments() throws Exception {
+        String index = """
+                # generated
+                [com.example.Order]
+                fields=id,name
+                getters=getId,getName
+                setters=setId,setName
+                id=getId
+
+                [com.example.Order$Line]
+                fields=amount
+                getters=getAmount
+                setters=
+                id=
+                """;
+        Map<String, MetadataIndex.Entry> entries = new HashMap<>();
+
+        MetadataIndex.parse(new BufferedReader(new StringReader(index)), entries);
+
+        assertEquals(2, entries.size());
+        MetadataIndex.Entry order = entries.get("com.example.Order");
+        assertEquals(Set.of("getId", "getName"), order.getters());
+        assertEquals("getId", order.idGetter());
+        MetadataIndex.Entry line = entries.get("com.example.Order$Line");
+        assertTrue(line.setters().isEmpty());
+        assertNull(line.idGetter());
+    }
+}
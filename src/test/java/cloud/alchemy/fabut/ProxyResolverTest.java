@@ -0,0 +1,102 @@
+package cloud.alchemy.fabut;
+
+import cloud.alchemy.fabut.model.EntityTierOneType;
+import cloud.alchemy.fabut.model.TierOneType;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link ProxyResolver} and the built-in proxy detectors.
+ */
+class ProxyResolverTest {
+
+    interface Marked {
+    }
+
+    /**
+     * Registered in META-INF/services: resolves classes implementing {@link Marked} to their superclass.
+     */
+    public static class MarkedProxyResolver implements ProxyResolver {
+        @Override
+        public Class<?> resolve(Class<?> type) {
+            return Marked.class.isAssignableFrom(type) && type.getSuperclass() != Object.class ? type.getSuperclass() : null;
+        }
+    }
+
+    static class TierOneType$HibernateProxy$abc extends TierOneType {
+    }
+
+    static class TierOneType$$EnhancerBySpringCGLIB$$1 extends TierOneType {
+    }
+
+    static class TierOneType$$Enhanced extends TierOneType {
+    }
+
+    static class EnhancedOfEnhanced$$Enhanced extends TierOneType$$Enhanced {
+    }
+
+    static class MarkedEntity extends EntityTierOneType implements Marked {
+    }
+
+    static class BrokenResolverTarget implements Marked {
+    }
+
+    static class ProxySettings extends TierOneType {
+    }
+
+    static class ObjectProxy$$Enhanced {
+    }
+
+    private static class ComplexFabut extends Fabut {
+        ComplexFabut() {
+            complexTypes.add(TierOneType.class);
+        }
+    }
+
+    @Test
+    void realClass_builtInNamingConventions() {
+        assertEquals(TierOneType.class, ReflectionUtil.getRealClass(TierOneType$HibernateProxy$abc.class));
+        assertEquals(TierOneType.class, ReflectionUtil.getRealClass(TierOneType$$EnhancerBySpringCGLIB$$1.class));
+        assertEquals(TierOneType.class, ReflectionUtil.getRealClass(TierOneType$$Enhanced.class));
+    }
+
+    @Test
+    void realClass_proxyOfProxy() {
+        assertEquals(TierOneType.class, ReflectionUtil.getRealClass(EnhancedOfEnhanced$$Enhanced.class));
+    }
+
+    @Test
+    void realClass_registeredResolver() {
+        assertEquals(EntityTierOneType.class, ReflectionUtil.getRealClass(MarkedEntity.class));
+    }
+
+    @Test
+    void realClass_plainClassIsItsOwnRealClass() {
+        assertEquals(TierOneType.class, ReflectionUtil.getRealClass(TierOneType.class));
+        assertEquals(BrokenResolverTarget.class, ReflectionUtil.getRealClass(BrokenResolverTarget.class));
+    }
+
+    @Test
+    void realClass_nameContainingProxyIsNotAProxy() {
+        assertEquals(ProxySettings.class, ReflectionUtil.getRealClass(ProxySettings.class));
+    }
+
+    @Test
+    void realClass_neverResolvedToObjectOrJdkProxy() {
+        Object jdkProxy = Proxy.newProxyInstance(Marked.class.getClassLoader(), new Class<?>[]{Marked.class}, (proxy, method, args) -> null);
+
+        assertEquals(jdkProxy.getClass(), ReflectionUtil.getRealClass(jdkProxy.getClass()));
+        assertEquals(ObjectProxy$$Enhanced.class, ReflectionUtil.getRealClass(ObjectProxy$$Enhanced.class));
+    }
+
+    @Test
+    void typeCategories_proxyClassifiedAsRealClass() {
+        ComplexFabut fabut = new ComplexFabut();
+
+        assertTrue(fabut.isComplexType(TierOneType$HibernateProxy$abc.class));
+        assertTrue(fabut.isComplexType(TierOneType$$EnhancerBySpringCGLIB$$1.class));
+    }
+}
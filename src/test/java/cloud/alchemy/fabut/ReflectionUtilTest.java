@@ -17,6 +17,9 @@ public class ReflectionUtilTest {
     private static final String TEST = "test";
     private static final String PROPERTY = "property";
 
+    static class TierOneType$HibernateProxy$1 extends TierOneType {
+    }
+
     // ==================== getRealClass tests ====================
 
     @Test
@@ -33,6 +36,11 @@ public class ReflectionUtilTest {
         assertSame(result1, result2);
     }
 
+    @Test
+    void testGetRealClassProxy() {
+        assertEquals(TierOneType.class, ReflectionUtil.getRealClass(TierOneType$HibernateProxy$1.class));
+    }
+
     // ==================== findGetMethod tests ====================
 
     @Test
@@ -167,6 +175,14 @@ public class ReflectionUtilTest {
         assertTrue(field.canAccess(new TierOneType(TEST)) || field.trySetAccessible());
     }
 
+    @Test
+    void testGetFieldsCaching() {
+        Map<String, Field> fields1 = ReflectionUtil.getFields(TierOneType.class);
+        Map<String, Field> fields2 = ReflectionUtil.getFields(TierOneType.class);
+        assertSame(fields1, fields2);
+        assertTrue(fields1.containsKey(PROPERTY));
+    }
+
     // ==================== getFieldNameOfGet tests ====================
 
     @Test
@@ -223,6 +239,11 @@ public class ReflectionUtilTest {
         assertTrue(ReflectionUtil.hasIdMethod(entity));
     }
 
+    @Test
+    void testHasIdMethodProxy() {
+        assertFalse(ReflectionUtil.hasIdMethod(new TierOneType$HibernateProxy$1()));
+    }
+
     @Test
     void testHasIdMethodFalse() {
         TierOneType obj = new TierOneType(TEST);
@@ -363,4 +363,45 @@ public class NodesListTest extends Assertions {
         // assert new pair case - completely new objects
         assertEquals(NodeCheckType.NEW_PAIR, nodesList.nodeCheck(new Object(), new Object()));
     }
+
+    @Test
+    public void testPairsBeyondInlineCapacity() {
+        // setup
+        final NodesList nodesList = new NodesList();
+        final Object[] expected = new Object[10];
+        final Object[] actual = new Object[10];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = new Object();
+            actual[i] = new Object();
+        }
+
+        for (int i = 0; i < expected.length; i++) {
+            // method
+            nodesList.addPair(expected[i], actual[i]);
+
+            // assert every pair added so far is still found, before and after the switch to maps
+            for (int j = 0; j <= i; j++) {
+                assertEquals(NodeCheckType.CONTAINS_PAIR, nodesList.nodeCheck(expected[j], actual[j]));
+                assertSame(expected[j], nodesList.getExpected(actual[j]));
+            }
+            assertEquals(NodeCheckType.SINGLE_NODE, nodesList.nodeCheck(actual[i], new Object()));
+        }
+    }
+
+    @Test
+    public void testLatestPairOfActualWins() {
+        // setup
+        final NodesList nodesList = new NodesList();
+        final Object first = new Object();
+        final Object second = new Object();
+        final Object actual = new Object();
+
+        // method
+        nodesList.addPair(first, actual);
+        nodesList.addPair(second, actual);
+
+        // assert
+        assertSame(second, nodesList.getExpected(actual));
+        assertTrue(nodesList.containsExpected(first));
+    }
 }
@@ -0,0 +1,40 @@
+package cloud.alchemy.fabut.model;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tier two type with list, set and entity list properties.
+ */
+public class TierTwoTypeWithCollections extends Type {
+    private final List<TierOneType> items;
+    private final Set<String> tags;
+    private final List<EntityTierOneType> entities;
+
+    public TierTwoTypeWithCollections(final List<TierOneType> items, final Set<String> tags, final List<EntityTierOneType> entities) {
+        this.items = items;
+        this.tags = tags;
+        this.entities = entities;
+    }
+
+    public List<TierOneType> getItems() {
+        return items;
+    }
+
+    public Set<String> getTags() {
+        return tags;
+    }
+
+    public List<EntityTierOneType> getEntities() {
+        return entities;
+    }
+
+    @Override
+    public String toString() {
+        return "TierTwoTypeWithCollections{" +
+               "items=" + items +
+               ", tags=" + tags +
+               ", entities=" + entities +
+               '}';
+    }
+}
@@ -1,13 +1,18 @@
 package cloud.alchemy.fabut.processor;
 
 import cloud.alchemy.fabut.Fabut;
+import cloud.alchemy.fabut.copy.Copier;
+import cloud.alchemy.fabut.copy.Copiers;
 import cloud.alchemy.fabut.diff.Diff;
+import cloud.alchemy.fabut.graph.NodesList;
 import cloud.alchemy.fabut.model.AssertableEntity;
 import cloud.alchemy.fabut.model.AssertableEntityAssert;
+import cloud.alchemy.fabut.model.AssertableEntityCopier;
 import cloud.alchemy.fabut.model.AssertableEntityDiff;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.lang.invoke.VarHandle;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
@@ -169,6 +174,66 @@ public class AssertableProcessorTest extends Fabut {
         assertTrue(Modifier.isPrivate(constructors[0].getModifiers()));
     }
 
+    // ==================== Copier Class Generation Tests ====================
+
+    @Test
+    public void testGeneratedCopierClassExists() {
+        assertTrue(Copier.class.isAssignableFrom(AssertableEntityCopier.class));
+        assertTrue(Modifier.isPublic(AssertableEntityCopier.class.getModifiers()));
+        assertTrue(Modifier.isFinal(AssertableEntityCopier.class.getModifiers()));
+        assertEquals("cloud.alchemy.fabut.model", AssertableEntityCopier.class.getPackageName());
+    }
+
+    @Test
+    public void testGeneratedCopierCopiesAllFieldsIncludingIgnored() {
+        AssertableEntity source = new AssertableEntity(1L, "name", 42, Optional.of("desc"), Optional.of(7));
+        source.setVersion(3L);
+        source.setActive(true);
+        source.setCategory(Optional.of("cat"));
+
+        AssertableEntity copy = new AssertableEntityCopier().copy(source, true);
+
+        assertNotSame(source, copy);
+        assertEquals(1L, copy.getId());
+        assertEquals("name", copy.getName());
+        assertEquals(42, copy.getCount());
+        assertEquals(Optional.of("desc"), copy.getDescription());
+        assertEquals(Optional.of(7), copy.getScore());
+        assertEquals(3L, copy.getVersion());
+        assertEquals(true, copy.getActive());
+        assertEquals(Optional.of(true), copy.getVisible());
+        assertEquals(Optional.of("cat"), copy.getCategory());
+    }
+
+    @Test
+    public void testGeneratedCopierWritesFieldsExceptIdDirectly() {
+        Set<String> handles = Arrays.stream(AssertableEntityCopier.class.getDeclaredFields())
+                .filter(field -> field.getType() == VarHandle.class)
+                .map(Field::getName)
+                .collect(Collectors.toSet());
+
+        assertEquals(Set.of("NAME", "COUNT", "DESCRIPTION", "SCORE", "VERSION", "ACTIVE", "VISIBLE", "CATEGORY"), handles);
+    }
+
+    @Test
+    public void testCopiersFindsGeneratedCopierOnlyForAnnotatedTypes() {
+        assertInstanceOf(AssertableEntityCopier.class, Copiers.find(AssertableEntity.class));
+        assertNull(Copiers.find(String.class));
+        assertNull(Copiers.find(cloud.alchemy.fabut.model.TierOneType.class));
+    }
+
+    @Test
+    public void testCreateCopyObjectDispatchesToGeneratedCopier() throws Exception {
+        AssertableEntity source = new AssertableEntity(1L, "name", 42, Optional.empty(), Optional.empty());
+
+        Object copy = createCopyObject(source, new NodesList());
+
+        assertInstanceOf(AssertableEntity.class, copy);
+        assertNotSame(source, copy);
+        assertEquals("name", ((AssertableEntity) copy).getName());
+        assertEquals(42, ((AssertableEntity) copy).getCount());
+    }
+
     // ==================== Generated Code Behavior Tests ====================
 
     @Test
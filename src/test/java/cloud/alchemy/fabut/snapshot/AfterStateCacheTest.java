@@ -0,0 +1,35 @@
+package cloud.alchemy.fabut.snapshot;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AfterStateCacheTest {
+
+    private final AfterStateCache cache = new AfterStateCache();
+
+    @Test
+    void putAll_remembersLoadedAndMissingIds() {
+        cache.putAll(String.class, List.of(1, 2), Map.of(1, "one"));
+
+        assertTrue(cache.contains(String.class, 1));
+        assertEquals("one", cache.get(String.class, 1));
+        assertTrue(cache.contains(String.class, 2));
+        assertNull(cache.get(String.class, 2));
+        assertFalse(cache.contains(String.class, 3));
+        assertFalse(cache.contains(Integer.class, 1));
+    }
+
+    @Test
+    void clear_forgetsEverything() {
+        cache.putAll(String.class, List.of(1), Map.of(1, "one"));
+
+        cache.clear();
+
+        assertFalse(cache.contains(String.class, 1));
+        assertNull(cache.get(String.class, 1));
+    }
+}
@@ -0,0 +1,144 @@
+package cloud.alchemy.fabut.snapshot;
+
+import cloud.alchemy.fabut.property.CopyAssert;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarSnapshotStoreTest {
+
+    enum Color { RED, GREEN }
+
+    public static class Row {
+        private final Long id;
+        private final String name;
+        private final int count;
+        private final Double ratio;
+        private final boolean flag;
+        private final Color color;
+        private final Object tag;
+
+        public Row(Long id, String name, int count, Double ratio, boolean flag, Color color, Object tag) {
+            this.id = id;
+            this.name = name;
+            this.count = count;
+            this.ratio = ratio;
+            this.flag = flag;
+            this.color = color;
+            this.tag = tag;
+        }
+
+        public Long getId() { return id; }
+        public String getName() { return name; }
+        public int getCount() { return count; }
+        public Double getRatio() { return ratio; }
+        public boolean getFlag() { return flag; }
+        public Color getColor() { return color; }
+        public Object getTag() { return tag; }
+    }
+
+    private static final Object TAG = new Object();
+
+    private final ColumnarSnapshotStore store = new ColumnarSnapshotStore(layout());
+
+    private static EntityLayout layout() {
+        try {
+            List<Method> getters = List.of(
+                    Row.class.getMethod("getId"), Row.class.getMethod("getName"), Row.class.getMethod("getCount"),
+                    Row.class.getMethod("getRatio"), Row.class.getMethod("getFlag"), Row.class.getMethod("getColor"),
+                    Row.class.getMethod("getTag"));
+            return new EntityLayout(Row.class, getters, (before, after) -> before == after,
+                    values -> new Row((Long) values[0], (String) values[1], (Integer) values[2], (Double) values[3],
+                            (Boolean) values[4], (Color) values[5], values[6]));
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Row row(long id, String name) {
+        return new Row(id, name, (int) id * 10, id / 2.0, id % 2 == 0, Color.values()[(int) (id % 2)], TAG);
+    }
+
+    @Test
+    void append_rowsAreFoundById() throws Exception {
+        for (long id = 1; id <= 100; id++) {
+            store.append(row(id, "name" + (id % 3)));
+        }
+
+        assertEquals(100, store.size());
+        assertTrue(store.containsKey(42L));
+        assertFalse(store.containsKey(42));
+        assertNull(store.get(101L));
+
+        Row copy = (Row) store.get(42L).getEntity();
+        assertEquals(42L, copy.getId());
+        assertEquals("name0", copy.getName());
+        assertEquals(420, copy.getCount());
+        assertEquals(21.0, copy.getRatio());
+        assertTrue(copy.getFlag());
+        assertEquals(Color.RED, copy.getColor());
+        assertSame(TAG, copy.getTag());
+    }
+
+    @Test
+    void matches_comparesColumnsWithoutRebuilding() throws Exception {
+        store.append(row(1, "first"));
+        LazyCopyAssert entry = (LazyCopyAssert) store.get(1L);
+
+        assertTrue(entry.matches(row(1, "first")));
+        assertFalse(entry.matches(row(1, "changed")));
+        assertFalse(entry.matches(new Row(1L, "first", 10, 0.5, false, Color.GREEN, new Object())));
+        assertFalse(entry.matches(new Row(1L, "first", 10, null, false, Color.GREEN, TAG)));
+    }
+
+    @Test
+    void nullValuesAreRestored() throws Exception {
+        store.append(new Row(5L, null, 0, null, false, null, null));
+
+        Row copy = (Row) store.get(5L).getEntity();
+        assertNull(copy.getName());
+        assertNull(copy.getRatio());
+        assertNull(copy.getColor());
+        assertNull(copy.getTag());
+        assertTrue(((LazyCopyAssert) store.get(5L)).matches(new Row(5L, null, 0, null, false, null, null)));
+    }
+
+    @Test
+    void assertedStateIsKeptPerRow() throws Exception {
+        store.append(row(1, "first"));
+        store.append(row(2, "second"));
+
+        store.get(1L).setAsserted(true);
+
+        assertTrue(store.get(1L).isAsserted());
+        assertFalse(store.get(2L).isAsserted());
+        assertSame(store.get(1L).getEntity(), store.get(1L).getEntity());
+    }
+
+    @Test
+    void put_addsEntriesBesideColumns() throws Exception {
+        store.append(row(1, "first"));
+
+        store.put(2L, new CopyAssert("added"));
+
+        assertEquals(2, store.size());
+        assertEquals(Set.of(1L, 2L), new HashSet<>(store.keySet()));
+        assertEquals("added", store.get(2L).getEntity());
+    }
+
+    @Test
+    void append_sameIdKeepsLatestRow() throws Exception {
+        store.append(row(1, "first"));
+        store.append(row(1, "second"));
+
+        assertEquals(1, store.size());
+        assertEquals("second", ((Row) store.get(1L).getEntity()).getName());
+        assertEquals(1, store.entrySet().stream().map(Map.Entry::getKey).count());
+    }
+}
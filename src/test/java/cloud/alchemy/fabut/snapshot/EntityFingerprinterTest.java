@@ -0,0 +1,69 @@
+package cloud.alchemy.fabut.snapshot;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityFingerprinterTest {
+
+    public static class Parent {
+        private final String name;
+        private final Child child;
+
+        public Parent(String name, Child child) {
+            this.name = name;
+            this.child = child;
+        }
+
+        public String getName() { return name; }
+        public Child getChild() { return child; }
+    }
+
+    public static class Child {
+        private final Long id;
+
+        public Child(Long id) {
+            this.id = id;
+        }
+
+        public Long getId() { return id; }
+    }
+
+    private final EntityFingerprinter fingerprinter = new EntityFingerprinter(layout());
+
+    private static EntityLayout layout() {
+        try {
+            List<Method> getters = List.of(Parent.class.getMethod("getName"), Parent.class.getMethod("getChild"));
+            return new EntityLayout(Parent.class, getters,
+                    (before, after) -> before instanceof Child b && after instanceof Child a && Objects.equals(b.getId(), a.getId()),
+                    values -> new Parent((String) values[0], (Child) values[1]));
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    void matches_reloadedReferenceWithSameIdMatches() throws Exception {
+        FingerprintCopyAssert before = (FingerprintCopyAssert) fingerprinter.snapshot(new Parent("parent", new Child(1L)));
+
+        assertTrue(before.matches(new Parent("parent", new Child(1L))));
+        assertFalse(before.matches(new Parent("parent", new Child(2L))));
+        assertFalse(before.matches(new Parent("other", new Child(1L))));
+    }
+
+    @Test
+    void matches_equalFingerprintWithDifferentValuesDoesNotMatch() throws Exception {
+        Child child = new Child(1L);
+        FingerprintCopyAssert snapshot = (FingerprintCopyAssert) fingerprinter.snapshot(new Parent("parent", child));
+        FingerprintCopyAssert other = (FingerprintCopyAssert) fingerprinter.snapshot(new Parent("other", child));
+
+        // stands in for a fingerprint collision: the fingerprint of "parent" over the encoded values of "other"
+        FingerprintCopyAssert collision = new FingerprintCopyAssert(fingerprinter, snapshot.fingerprint(), other.encoded(), other.references());
+
+        assertFalse(collision.matches(new Parent("parent", child)));
+    }
+}
@@ -0,0 +1,71 @@
+package cloud.alchemy.fabut.snapshot;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FingerprintCodecTest {
+
+    private enum Color { RED }
+
+    @Test
+    void decode_restoresEncodedValues() {
+        LocalDate date = LocalDate.of(2024, 1, 2);
+        Object[] values = {
+                null, (byte) 7, (short) -3, -42, Long.MAX_VALUE, 1.5f, -2.25d, 'x', "čaša", new BigDecimal("10.500"),
+                new BigInteger("123456789012345678901234567890"), new UUID(1L, -2L), Optional.empty(), Optional.of("inner"), Color.RED, date, true
+        };
+
+        FingerprintCodec codec = new FingerprintCodec();
+        for (Object value : values) {
+            codec.write(value);
+        }
+
+        Object[] decoded = FingerprintCodec.decode(codec.toBytes(), codec.toReferences(), values.length);
+
+        assertArrayEquals(values, decoded);
+        assertSame(date, decoded[15]);
+        assertEquals(3, codec.references().size());
+    }
+
+    @Test
+    void fingerprint_changesWithValue() {
+        FingerprintCodec codec = new FingerprintCodec();
+        codec.write("Aa");
+        long first = codec.fingerprint();
+
+        codec.reset();
+        codec.write("BB");
+
+        // same String.hashCode, different bytes
+        assertNotEquals(first, codec.fingerprint());
+    }
+
+    @Test
+    void fingerprint_isStableForEqualValues() {
+        FingerprintCodec codec = new FingerprintCodec();
+        codec.write(1L);
+        codec.write("value");
+        long first = codec.fingerprint();
+
+        codec.reset();
+        codec.write(1L);
+        codec.write("value");
+
+        assertEquals(first, codec.fingerprint());
+    }
+
+    @Test
+    void toReferences_isNullWithoutReferences() {
+        FingerprintCodec codec = new FingerprintCodec();
+        codec.write(1);
+
+        assertNull(codec.toReferences());
+    }
+}
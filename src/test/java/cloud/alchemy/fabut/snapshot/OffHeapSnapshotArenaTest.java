@@ -0,0 +1,59 @@
+package cloud.alchemy.fabut.snapshot;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapSnapshotArenaTest {
+
+    @Test
+    void store_copiesBytesOffHeap() {
+        try (OffHeapSnapshotArena arena = new OffHeapSnapshotArena()) {
+            byte[] bytes = {1, 2, 3, 4, 5};
+
+            long location = arena.store(bytes, 3);
+            bytes[0] = 9;
+
+            assertArrayEquals(new byte[] {1, 2, 3}, arena.load(location, 3));
+        }
+    }
+
+    @Test
+    void store_valuesLargerThanChunkGetTheirOwnChunk() {
+        try (OffHeapSnapshotArena arena = new OffHeapSnapshotArena()) {
+            byte[] small = {7};
+            byte[] large = new byte[(1 << 20) + 1];
+            large[large.length - 1] = 42;
+
+            long first = arena.store(small, 1);
+            long second = arena.store(large, large.length);
+
+            assertArrayEquals(small, arena.load(first, 1));
+            assertEquals(42, arena.load(second, large.length)[large.length - 1]);
+            assertEquals((1L << 20) + large.length, arena.allocatedBytes());
+        }
+    }
+
+    @Test
+    void contentEquals_comparesStoredBytesInPlace() {
+        try (OffHeapSnapshotArena arena = new OffHeapSnapshotArena()) {
+            arena.store(new byte[] {9, 9}, 2);
+            long location = arena.store(new byte[] {1, 2, 3}, 3);
+
+            assertTrue(arena.contentEquals(location, 3, new byte[] {1, 2, 3, 0}, 3));
+            assertFalse(arena.contentEquals(location, 3, new byte[] {1, 2, 4}, 3));
+            assertFalse(arena.contentEquals(location, 3, new byte[] {1, 2}, 2));
+        }
+    }
+
+    @Test
+    void close_releasesStoredValues() {
+        OffHeapSnapshotArena arena = new OffHeapSnapshotArena();
+        long location = arena.store(new byte[] {1}, 1);
+
+        arena.close();
+
+        assertFalse(arena.isOpen());
+        assertThrows(IllegalStateException.class, () -> arena.load(location, 1));
+    }
+}
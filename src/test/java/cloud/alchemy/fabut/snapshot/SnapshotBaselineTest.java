@@ -0,0 +1,89 @@
+package cloud.alchemy.fabut.snapshot;
+
+import cloud.alchemy.fabut.property.CopyAssert;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotBaselineTest {
+
+    private final SnapshotBaseline baseline = new SnapshotBaseline(
+            "v1", Map.of(String.class, Map.of(1, new CopyAssert("one"), 2, new CopyAssert("two"))), List.of());
+
+    @Test
+    void matches_requiresEqualKeyAndEntityTypes() {
+        assertTrue(baseline.matches("v1", List.of(String.class)));
+        assertFalse(baseline.matches("v2", List.of(String.class)));
+        assertFalse(baseline.matches("v1", List.of(String.class, Integer.class)));
+    }
+
+    @Test
+    void newLayer_exposesBaselineCopies() {
+        Map<Object, CopyAssert> layer = baseline.newLayer(String.class);
+
+        assertEquals(2, layer.size());
+        assertEquals(Set.of(1, 2), new HashSet<>(layer.keySet()));
+        assertEquals("one", layer.get(1).getEntity());
+        assertNull(layer.get(3));
+        assertFalse(layer.isEmpty());
+    }
+
+    @Test
+    void newLayer_keepsAssertionStatePerLayer() {
+        Map<Object, CopyAssert> first = baseline.newLayer(String.class);
+        Map<Object, CopyAssert> second = baseline.newLayer(String.class);
+
+        first.get(1).setAsserted(true);
+
+        assertTrue(first.get(1).isAsserted());
+        assertFalse(second.get(1).isAsserted());
+    }
+
+    @Test
+    void newLayer_putAddsOnlyToLayer() {
+        Map<Object, CopyAssert> first = baseline.newLayer(String.class);
+
+        first.put(3, new CopyAssert("three"));
+
+        assertEquals(3, first.size());
+        assertTrue(first.containsKey(3));
+        assertFalse(baseline.newLayer(String.class).containsKey(3));
+    }
+
+    @Test
+    void newLayer_unknownEntityTypeIsEmpty() {
+        assertTrue(baseline.newLayer(Integer.class).isEmpty());
+    }
+
+    @Test
+    void newLayer_compactEntriesKeepMatchingAgainstBaseline() {
+        LazyCopyAssert entry = new LazyCopyAssert() {
+            @Override
+            public boolean matches(Object entity) {
+                return "one".equals(entity);
+            }
+
+            @Override
+            public Object getEntity() {
+                return "one";
+            }
+        };
+        SnapshotBaseline compact = new SnapshotBaseline("v1", Map.of(String.class, Map.of(1, entry)), List.of());
+        Map<Object, CopyAssert> first = compact.newLayer(String.class);
+
+        LazyCopyAssert copyAssert = (LazyCopyAssert) first.get(1);
+        copyAssert.setAsserted(true);
+        copyAssert.setEntity("replaced");
+
+        assertTrue(copyAssert.matches("one"));
+        assertEquals("replaced", copyAssert.getEntity());
+        assertFalse(entry.isAsserted());
+        assertEquals("one", compact.newLayer(String.class).get(1).getEntity());
+        assertFalse(compact.newLayer(String.class).get(1).isAsserted());
+    }
+}
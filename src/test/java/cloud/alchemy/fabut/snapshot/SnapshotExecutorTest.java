@@ -0,0 +1,88 @@
+package cloud.alchemy.fabut.snapshot;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotExecutorTest {
+
+    private static Runnable awaitAll(CountDownLatch latch) {
+        return () -> {
+            latch.countDown();
+            try {
+                assertTrue(latch.await(10, TimeUnit.SECONDS), "tasks did not run concurrently");
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    @Test
+    void virtualThreads_runsTasksConcurrently() {
+        CountDownLatch latch = new CountDownLatch(3);
+
+        SnapshotExecutor.virtualThreads().runAll(List.of(awaitAll(latch), awaitAll(latch), awaitAll(latch)));
+
+        assertEquals(0, latch.getCount());
+    }
+
+    @Test
+    void virtualThreads_rethrowsFirstFailureInTaskOrderAfterAllFinished() {
+        AtomicBoolean slowTaskFinished = new AtomicBoolean();
+        Runnable slow = () -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            slowTaskFinished.set(true);
+        };
+        Runnable first = () -> {
+            throw new IllegalArgumentException("first");
+        };
+        Runnable second = () -> {
+            throw new UnsupportedOperationException("second");
+        };
+
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+                () -> SnapshotExecutor.virtualThreads().runAll(List.of(slow, first, second)));
+
+        assertEquals("first", thrown.getMessage());
+        assertTrue(slowTaskFinished.get());
+    }
+
+    @Test
+    void callerThread_runsTasksInOrderOnCallingThread() {
+        Thread caller = Thread.currentThread();
+        StringBuilder order = new StringBuilder();
+
+        SnapshotExecutor.callerThread().runAll(List.of(
+                () -> order.append(Thread.currentThread() == caller ? "a" : "x"),
+                () -> order.append(Thread.currentThread() == caller ? "b" : "x")));
+
+        assertEquals("ab", order.toString());
+    }
+
+    @Test
+    void using_submitsToGivenExecutorAndLeavesItOpen() {
+        ExecutorService service = Executors.newFixedThreadPool(2);
+        try {
+            AtomicInteger runs = new AtomicInteger();
+
+            SnapshotExecutor.using(service).runAll(List.of(runs::incrementAndGet, runs::incrementAndGet));
+
+            assertEquals(2, runs.get());
+            assertFalse(service.isShutdown());
+        } finally {
+            service.shutdownNow();
+        }
+    }
+}
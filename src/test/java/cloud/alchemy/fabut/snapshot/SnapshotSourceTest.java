@@ -0,0 +1,121 @@
+package cloud.alchemy.fabut.snapshot;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotSourceTest {
+
+    @Test
+    void fromCollection_callsSupplierOnEveryOpen() {
+        AtomicInteger calls = new AtomicInteger();
+        SnapshotSource source = SnapshotSource.fromCollection(() -> {
+            calls.incrementAndGet();
+            return List.of("a", "b");
+        });
+
+        try (Stream<?> stream = source.open()) {
+            assertEquals(List.of("a", "b"), stream.toList());
+        }
+        try (Stream<?> stream = source.open()) {
+            assertEquals(2, stream.count());
+        }
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void fromIterator_closesCloseableIterator() {
+        AtomicBoolean closed = new AtomicBoolean();
+        SnapshotSource source = SnapshotSource.fromIterator(() -> new CloseableIterator(List.of(1, 2, 3).iterator(), closed));
+
+        try (Stream<?> stream = source.open()) {
+            assertEquals(List.of(1, 2, 3), stream.toList());
+            assertFalse(closed.get());
+        }
+
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void keysetPaged_requestsPagesAfterLastKey() {
+        List<Integer> table = IntStream.rangeClosed(1, 7).boxed().toList();
+        List<Integer> requestedKeys = new ArrayList<>();
+        SnapshotSource source = SnapshotSource.keysetPaged(
+                (Integer lastKey, Integer size) -> {
+                    requestedKeys.add(lastKey);
+                    return table.stream().filter(id -> lastKey == null || id > lastKey).limit(size).toList();
+                },
+                entity -> (Integer) entity,
+                3);
+
+        try (Stream<?> stream = source.open()) {
+            assertEquals(table, stream.toList());
+        }
+
+        assertEquals(java.util.Arrays.asList(null, 3, 6), requestedKeys);
+    }
+
+    @Test
+    void keysetPaged_loadsPagesLazily() {
+        AtomicInteger pages = new AtomicInteger();
+        SnapshotSource source = SnapshotSource.keysetPaged(
+                (Integer lastKey, Integer size) -> {
+                    pages.incrementAndGet();
+                    int from = lastKey == null ? 0 : lastKey;
+                    return IntStream.rangeClosed(from + 1, from + size).boxed().toList();
+                },
+                entity -> (Integer) entity,
+                2);
+
+        try (Stream<?> stream = source.open()) {
+            assertEquals(List.of(1, 2, 3), stream.limit(3).toList());
+        }
+
+        assertEquals(2, pages.get());
+    }
+
+    @Test
+    void keysetPaged_exactMultipleOfPageSizeEndsOnEmptyPage() {
+        List<Integer> table = List.of(1, 2, 3, 4);
+        SnapshotSource source = SnapshotSource.keysetPaged(
+                (Integer lastKey, Integer size) -> table.stream().filter(id -> lastKey == null || id > lastKey).limit(size).toList(),
+                entity -> (Integer) entity,
+                2);
+
+        try (Stream<?> stream = source.open()) {
+            assertEquals(table, stream.toList());
+        }
+    }
+
+    @Test
+    void keysetPaged_rejectsNonPositivePageSize() {
+        assertThrows(IllegalArgumentException.class, () -> SnapshotSource.keysetPaged((Object key, Integer size) -> List.of(), entity -> entity, 0));
+    }
+
+    private record CloseableIterator(Iterator<Integer> delegate, AtomicBoolean closed) implements Iterator<Integer>, AutoCloseable {
+
+        @Override
+        public boolean hasNext() {
+            return delegate.hasNext();
+        }
+
+        @Override
+        public Integer next() {
+            return delegate.next();
+        }
+
+        @Override
+        public void close() {
+            closed.set(true);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package cloud.alchemy.fabut.tracking;
+
+import cloud.alchemy.fabut.model.TrackedDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CopyOnWriteTrackerTest {
+
+    private CopyOnWriteTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new CopyOnWriteTracker();
+        UsageInstrumentation.install();
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracker.deactivate();
+    }
+
+    @Test
+    void beforeWrite_runsCopyActionOnce() {
+        Object watched = new Object();
+        AtomicInteger copies = new AtomicInteger();
+        tracker.watch(watched, copies::incrementAndGet);
+        tracker.activate();
+
+        CopyOnWriteTracker.beforeWriteIfActive(watched);
+        CopyOnWriteTracker.beforeWriteIfActive(watched);
+
+        assertEquals(1, copies.get());
+        assertEquals(0, tracker.getPendingCount());
+    }
+
+    @Test
+    void beforeWrite_ignoresUnwatchedObjects() {
+        AtomicInteger copies = new AtomicInteger();
+        tracker.watch(new Object(), copies::incrementAndGet);
+        tracker.activate();
+
+        CopyOnWriteTracker.beforeWriteIfActive(new Object());
+        CopyOnWriteTracker.beforeWriteIfActive(null);
+
+        assertEquals(0, copies.get());
+        assertEquals(1, tracker.getPendingCount());
+    }
+
+    @Test
+    void beforeWrite_doesNothingWhenInactive() {
+        Object watched = new Object();
+        AtomicInteger copies = new AtomicInteger();
+        tracker.watch(watched, copies::incrementAndGet);
+
+        CopyOnWriteTracker.beforeWriteIfActive(watched);
+
+        assertEquals(0, copies.get());
+        assertFalse(tracker.isActive());
+    }
+
+    @Test
+    void deactivate_dropsPendingCopies() {
+        tracker.watch(new Object(), () -> {});
+        tracker.activate();
+
+        tracker.deactivate();
+
+        assertFalse(tracker.isActive());
+        assertEquals(0, tracker.getPendingCount());
+    }
+
+    @Test
+    void instrumentedSetter_runsCopyActionBeforeWrite() {
+        assertTrue(UsageInstrumentation.instrumentSetters(Set.of(TrackedDto.class)));
+        assertTrue(UsageInstrumentation.isSetterInstrumented(TrackedDto.class));
+
+        TrackedDto dto = new TrackedDto(1L, "before", null, 5);
+        StringBuilder seen = new StringBuilder();
+        tracker.watch(dto, () -> seen.append(dto.getName()));
+        tracker.activate();
+
+        dto.setName("after");
+        dto.setName("again");
+
+        assertEquals("before", seen.toString());
+        assertEquals("again", dto.getName());
+    }
+}